@@ -181,6 +181,8 @@ export default function ClubsScreen() {
   const { user, token } = useAuth();
 
   const [publicClubs, setPublicClubs] = useState<BookClubResponse[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [myClubs, setMyClubs] = useState<BookClubResponse[]>([]);
   const [myClubIds, setMyClubIds] = useState<Set<number>>(new Set());
   const [loading, setLoading] = useState(true);
@@ -203,12 +205,13 @@ export default function ClubsScreen() {
         try {
           setLoading(true);
           setError(null);
-          const [clubs, fetchedMyClubs] = await Promise.all([
+          const [firstPage, fetchedMyClubs] = await Promise.all([
             clubsApi.getPublicClubs(token!),
             clubsApi.getMyClubs(token!),
           ]);
           if (cancelled) return;
-          setPublicClubs(clubs);
+          setPublicClubs(firstPage.items);
+          setNextCursor(firstPage.nextCursor);
           setMyClubs(fetchedMyClubs);
           setMyClubIds(new Set(fetchedMyClubs.map(c => c.bookClubId)));
           // Check if user already owns a club
@@ -227,6 +230,24 @@ export default function ClubsScreen() {
     }, [token])
   );
 
+  // Next discovery page; a club that moved between pages (its member count changed) is shown once
+  const loadMore = async () => {
+    if (!nextCursor || loadingMore) return;
+    setLoadingMore(true);
+    try {
+      const page = await clubsApi.getPublicClubs(token!, nextCursor);
+      setPublicClubs(prev => {
+        const seen = new Set(prev.map(c => c.bookClubId));
+        return [...prev, ...page.items.filter(c => !seen.has(c.bookClubId))];
+      });
+      setNextCursor(page.nextCursor);
+    } catch (e: any) {
+      setError(e?.message || 'Failed to load more clubs');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   // Debounced search
   const handleSearchChange = (q: string) => {
     setSearchQuery(q);
@@ -355,6 +376,18 @@ export default function ClubsScreen() {
                 ItemSeparatorComponent={() => <View style={{ height: 10 }} />}
               />
             )}
+
+            {!isSearching && nextCursor ? (
+              <Button
+                mode="text"
+                onPress={loadMore}
+                loading={loadingMore}
+                disabled={loadingMore}
+                style={{ marginTop: 12 }}
+              >
+                Load more
+              </Button>
+            ) : null}
           </View>
         </ScrollView>
       )}
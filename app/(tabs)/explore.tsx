@@ -1,3 +1,4 @@
+import { booksApi, openLibraryApi } from '@/src/api/client';
 import { useAuth } from '@/src/context/AuthContext';
 import { router, useFocusEffect, useLocalSearchParams } from 'expo-router';
 import { useCallback, useEffect, useRef, useState } from 'react';
@@ -17,6 +18,7 @@ interface SearchBook {
   author_name?: string[];
   first_publish_year?: number;
   cover_i?: number;
+  cover_url?: string | null; // set for books from /books/trending
   isbn?: string[];
 }
 
@@ -51,7 +53,7 @@ function BookResult({ item }: { item: SearchBook }) {
   const theme = useTheme();
   const coverUrl = item.cover_i
     ? `https://covers.openlibrary.org/b/id/${item.cover_i}-M.jpg`
-    : null;
+    : item.cover_url ?? null;
   const bookId = item.key.replace('/works/', '');
 
   return (
@@ -156,7 +158,7 @@ async function filterMatureBooks(books: SearchBook[], userAge: number): Promise<
 
 export default function ExploreScreen() {
   const theme = useTheme();
-  const { user } = useAuth();
+  const { user, token } = useAuth();
   const { mode } = useLocalSearchParams<{ mode?: string }>();
   const isTrendingMode = mode === 'trending';
 
@@ -190,11 +192,15 @@ export default function ExploreScreen() {
   const fetchTrending = async () => {
     setLoading(true);
     try {
-      const res = await fetch(
-        'https://openlibrary.org/search.json?q=trending&sort=rating&limit=20&fields=key,title,author_name,first_publish_year,cover_i,isbn'
-      );
-      const data = res.ok ? await res.json().catch(() => null) : null;
-      const filtered = await filterMatureBooks(data?.docs ?? [], userAge);
+      // Computed by the backend from activity in the app
+      const books = await booksApi.getTrending(token, 20);
+      const docs: SearchBook[] = books.map((b) => ({
+        key: b.bookId,
+        title: b.title,
+        author_name: b.author ? [b.author] : undefined,
+        cover_url: b.coverImageUrl,
+      }));
+      const filtered = await filterMatureBooks(docs, userAge);
       setResults(filtered);
     } catch {
       setResults([]);
@@ -216,10 +222,7 @@ export default function ExploreScreen() {
   const searchBooks = async (q: string) => {
     setLoading(true);
     try {
-      const res = await fetch(
-        `https://openlibrary.org/search.json?q=${encodeURIComponent(q)}&limit=20&fields=key,title,author_name,first_publish_year,cover_i,isbn`
-      );
-      const data = res.ok ? await res.json().catch(() => null) : null;
+      const data = await openLibraryApi.search(q, token, { limit: 20 });
       const filtered = await filterMatureBooks(data?.docs ?? [], userAge);
       setResults(filtered);
     } catch {
@@ -1,3 +1,4 @@
+import { openLibraryApi } from '@/src/api/client';
 import BookCard from '@/src/components/cards/BookCard';
 import { useAuth } from '@/src/context/AuthContext';
 import { useThemeContext } from '@/src/ThemeContext';
@@ -16,7 +17,7 @@ interface Book {
 export default function HomeScreen() {
   const theme = useTheme();
   const { isDark, toggleTheme } = useThemeContext();
-  const { user } = useAuth();
+  const { user, token } = useAuth();
   const [books, setBooks] = useState<Book[]>([]);
   const [loading, setLoading] = useState(true);
   const [searchQuery, setSearchQuery] = useState('');
@@ -24,17 +25,12 @@ export default function HomeScreen() {
   const fetchTrending = () => {
     setLoading(true);
     const FICTION_GENRES = ['fantasy', 'science_fiction', 'romance'];
-    const TIMEOUT_MS = 10000;
 
+    // Through the backend proxy, which caches subjects and applies its own upstream timeout;
+    // guests are served without a token
     Promise.all(
-      FICTION_GENRES.map(genre => {
-        const controller = new AbortController();
-        const timer = setTimeout(() => controller.abort(), TIMEOUT_MS);
-        return fetch(
-          `https://openlibrary.org/subjects/${genre}.json?sort=trending&limit=5`,
-          { signal: controller.signal }
-        )
-          .then(res => res.ok ? res.json() : null)
+      FICTION_GENRES.map(genre =>
+        openLibraryApi.getSubject(genre, token, { limit: 5, sort: 'trending' })
           .then(data => (data?.works ?? []).map((w: any) => ({
             key: w.key,
             title: w.title,
@@ -42,15 +38,14 @@ export default function HomeScreen() {
             cover_i: w.cover_id,
           })))
           .catch(() => [])
-          .finally(() => clearTimeout(timer));
-      })
+      )
     )
       .then(results => setBooks(results.flat()))
       .catch(() => {})
       .finally(() => setLoading(false));
   };
 
-  useEffect(() => { fetchTrending(); }, []);
+  useEffect(() => { fetchTrending(); }, [token]);
 
   const categories = [
     { name: 'Romance', icon: '💕', apiGenre: 'romance' },
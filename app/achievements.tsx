@@ -44,7 +44,7 @@ export default function AchievementsScreen() {
         }
 
         try {
-          const leaderboardData = await usersApi.getLeaderboard(token);
+          const leaderboardData = await usersApi.getLeaderboard(token, 10);
           if (!cancelled) setLeaderboard(leaderboardData.slice(0, 10));
         } catch {
           if (!cancelled) setLeaderboard([]);
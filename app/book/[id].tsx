@@ -1,8 +1,8 @@
-import { BookList, listsApi } from "@/src/api/client";
+import { BookList, listsApi, openLibraryApi } from "@/src/api/client";
 import { useAuth } from "@/src/context/AuthContext";
 import {
   createReview,
-  getReviewsByBook,
+  getMyReviewForBook,
   updateReview,
 } from "@/src/lib/reviews";
 import { router, Stack, useLocalSearchParams } from "expo-router";
@@ -151,8 +151,7 @@ export default function BookDetailsScreen() {
   const loadRating = useCallback(async () => {
     if (!token || !id || !user) return;
     try {
-      const reviews = await getReviewsByBook(id, token);
-      const myReview = reviews.find((r) => r.userId === user.userId);
+      const myReview = await getMyReviewForBook(id, token);
       if (myReview) {
         setExistingReviewId(myReview.reviewId);
         setUserRating(Number(myReview.rating));
@@ -230,10 +229,8 @@ export default function BookDetailsScreen() {
         const authorPromises = data.authors.slice(0, 3).map(async (a: any) => {
           const authorKey = a.author?.key?.replace("/authors/", "");
           if (!authorKey) return null;
-          return fetchWithTimeout(
-            `https://openlibrary.org/authors/${authorKey}.json`,
-          )
-            .then((res) => (res.ok ? res.json() : null))
+          return openLibraryApi
+            .getAuthor(authorKey, token)
             .then((authorData) => authorData?.name ?? null)
             .catch(() => null);
         });
@@ -1,4 +1,6 @@
+import { openLibraryApi } from '@/src/api/client';
 import BookCard from '@/src/components/cards/BookCard';
+import { useAuth } from '@/src/context/AuthContext';
 import { useThemeContext } from '@/src/ThemeContext';
 import { router, Stack, useLocalSearchParams } from 'expo-router';
 import React, { useEffect, useState } from 'react';
@@ -17,6 +19,7 @@ export default function CategoryScreen() {
   const theme = useTheme();
   const { isDark } = useThemeContext();
   const { genre } = useLocalSearchParams<{ genre: string }>();
+  const { token } = useAuth();
   const [books, setBooks] = useState<Book[]>([]);
   const [loading, setLoading] = useState(true);
   const [searchQuery, setSearchQuery] = useState('');
@@ -36,18 +39,16 @@ export default function CategoryScreen() {
   };
 
   useEffect(() => {
+    // Guests browse categories too; the proxy serves them without a token
     if (genre) {
       fetchBooksForGenre(genre);
     }
-  }, [genre]);
+  }, [genre, token]);
 
   const fetchBooksForGenre = async (genreName: string) => {
     setLoading(true);
     try {
-      const response = await fetch(
-        `https://openlibrary.org/subjects/${genreName}.json?limit=20`
-      );
-      const data = await response.json();
+      const data = await openLibraryApi.getSubject(genreName, token, { limit: 20 });
       setBooks(data.works || []);
     } catch (error) {
       console.error('Error fetching books:', error);
@@ -11,6 +11,7 @@ import {
   clubMembersApi,
   clubPollsApi,
   clubsApi,
+  openLibraryApi,
 } from '@/src/api/client';
 import { useAuth } from '@/src/context/AuthContext';
 import { router, useLocalSearchParams } from 'expo-router';
@@ -179,10 +180,10 @@ function AddBookModal({
     setSearching(true);
     debounceRef.current = setTimeout(async () => {
       try {
-        const res = await fetch(
-          `https://openlibrary.org/search.json?q=${encodeURIComponent(q.trim())}&limit=15&fields=key,title,author_name,cover_i`
-        );
-        const data = res.ok ? await res.json().catch(() => null) : null;
+        const data = await openLibraryApi.search(q.trim(), token, {
+          limit: 15,
+          fields: 'key,title,author_name,cover_i',
+        });
         setResults(data?.docs ?? []);
       } catch { setResults([]); }
       finally { setSearching(false); }
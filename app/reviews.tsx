@@ -5,7 +5,7 @@ import { Appbar, Button, Text, TextInput, useTheme } from "react-native-paper";
 import {
   createReview,
   deleteReview,
-  getReviewsByBook,
+  getReviewPageByBook,
   likeReview,
   unlikeReview,
   updateReview,
@@ -66,6 +66,8 @@ export default function ReviewsScreen() {
   const coverImageUrl = params.coverImageUrl || "";
 
   const [reviews, setReviews] = useState<ReviewResponse[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState<string | null>(null);
 
@@ -98,8 +100,9 @@ export default function ReviewsScreen() {
     try {
       setLoading(true);
       setError(null);
-      const data = await getReviewsByBook(bookId, token || undefined);
-      setReviews(data);
+      const page = await getReviewPageByBook(bookId, token || undefined);
+      setReviews(page.items);
+      setNextCursor(page.nextCursor);
     } catch (e: any) {
       setError(e?.message || "Failed to load reviews");
     } finally {
@@ -107,6 +110,25 @@ export default function ReviewsScreen() {
     }
   };
 
+  // Next page of reviews; one that moved between pages is shown once
+  const loadMore = async () => {
+    if (!bookId || !nextCursor || loadingMore) return;
+
+    try {
+      setLoadingMore(true);
+      const page = await getReviewPageByBook(bookId, token || undefined, nextCursor);
+      setReviews((prev) => {
+        const seen = new Set(prev.map((r) => r.reviewId));
+        return [...prev, ...page.items.filter((r) => !seen.has(r.reviewId))];
+      });
+      setNextCursor(page.nextCursor);
+    } catch (e: any) {
+      setError(e?.message || "Failed to load more reviews");
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   // reload if book changes OR login state changes
   useEffect(() => {
     loadReviews();
@@ -446,6 +468,17 @@ export default function ReviewsScreen() {
               );
             })
           )}
+
+          {nextCursor ? (
+            <Button
+              mode="text"
+              onPress={loadMore}
+              loading={loadingMore}
+              disabled={loadingMore}
+            >
+              Load more
+            </Button>
+          ) : null}
         </View>
       </ScrollView>
     </View>
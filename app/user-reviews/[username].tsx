@@ -74,6 +74,9 @@ export default function UserReviewsScreen() {
   const { token } = useAuth();
 
   const [reviews, setReviews] = useState<ReviewResponse[]>([]);
+  const [userId, setUserId] = useState<number | null>(null);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
 
@@ -86,8 +89,11 @@ export default function UserReviewsScreen() {
         setLoading(true);
         setError(null);
         const profile = await usersApi.getPublicProfileByUsername(username!, token!);
-        const data = await reviewsApi.getUserReviews(profile.userId, token!);
-        if (!cancelled) setReviews(data);
+        const page = await reviewsApi.getUserReviews(profile.userId, token!);
+        if (cancelled) return;
+        setUserId(profile.userId);
+        setReviews(page.items);
+        setNextCursor(page.nextCursor);
       } catch (e: any) {
         if (!cancelled) setError(e?.message || 'Failed to load reviews');
       } finally {
@@ -99,6 +105,25 @@ export default function UserReviewsScreen() {
     return () => { cancelled = true; };
   }, [username, token]);
 
+  // Next page when the list is scrolled to the end; a review already shown is not repeated
+  const loadMore = async () => {
+    if (userId == null || !nextCursor || loadingMore) return;
+    setLoadingMore(true);
+    try {
+      const page = await reviewsApi.getUserReviews(userId, token!, nextCursor);
+      setReviews(prev => {
+        const seen = new Set(prev.map(r => r.reviewId));
+        return [...prev, ...page.items.filter(r => !seen.has(r.reviewId))];
+      });
+      setNextCursor(page.nextCursor);
+    } catch (e) {
+      // keep the reviews already shown; the next scroll to the end retries
+      console.error('Failed to load more reviews:', e);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   return (
     <View style={{ flex: 1, backgroundColor: theme.colors.background }}>
       <Appbar.Header style={{ backgroundColor: theme.colors.background }}>
@@ -128,6 +153,11 @@ export default function UserReviewsScreen() {
           ItemSeparatorComponent={() => <Divider />}
           renderItem={({ item }) => <ReviewCard item={item} theme={theme} />}
           contentContainerStyle={{ paddingBottom: 24 }}
+          onEndReached={loadMore}
+          onEndReachedThreshold={0.5}
+          ListFooterComponent={
+            loadingMore ? <ActivityIndicator style={{ marginVertical: 16 }} color={theme.colors.primary} /> : null
+          }
         />
       )}
     </View>
@@ -39,17 +39,17 @@ export default function UserProfileScreen() {
 
         const ownProfile = me?.userId === profileData.userId;
 
-        const [followers, following, userReviews] = await Promise.all([
+        const [followers, following, reviewTotal] = await Promise.all([
           followersApi.getFollowerCount(profileData.userId, token!),
           followersApi.getFollowingCount(profileData.userId, token!),
-          reviewsApi.getUserReviews(profileData.userId, token!),
+          reviewsApi.getUserReviewCount(profileData.userId, token!),
         ]);
         if (cancelled) return;
 
         setProfile(profileData);
         setFollowerCount(followers);
         setFollowingCount(following);
-        setReviewCount(userReviews.length);
+        setReviewCount(reviewTotal);
 
         if (!ownProfile) {
           const [followStatus, publicLists] = await Promise.all([
@@ -2,6 +2,7 @@ plugins {
 	java
 	id("org.springframework.boot") version "4.0.2"
 	id("io.spring.dependency-management") version "1.1.7"
+	id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "com.noveltea"
@@ -24,12 +25,28 @@ repositories {
 	mavenCentral()
 }
 
+// HTTP load-test harness (src/loadtest/java) — boots the app on H2 and replays the main user journeys
+val loadtest: SourceSet by sourceSets.creating {
+	compileClasspath += sourceSets.main.get().output
+	runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[loadtest.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[loadtest.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
 dependencies {
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     runtimeOnly("org.postgresql:postgresql")
     implementation("org.springframework.boot:spring-boot-starter-security")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("org.springframework.boot:spring-boot-starter-aspectj")
+    implementation("io.micrometer:micrometer-registry-prometheus")
+    implementation("org.hibernate.orm:hibernate-micrometer")
+    implementation("org.hibernate.orm:hibernate-jcache")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    runtimeOnly("com.github.ben-manes.caffeine:jcache")
     implementation("com.fasterxml.jackson.core:jackson-databind")
     implementation("io.jsonwebtoken:jjwt-api:0.12.6")
     runtimeOnly("io.jsonwebtoken:jjwt-impl:0.12.6")
@@ -47,3 +64,27 @@ dependencies {
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
+
+// Micro-benchmarks for backend hot paths (src/jmh/java) — run with ./gradlew jmh
+// Results land in build/results/jmh/results.json; pass -PjmhInclude=<regex> to run a subset
+jmh {
+	jmhVersion.set("1.37")
+	warmupIterations.set(3)
+	iterations.set(5)
+	fork.set(1)
+	resultFormat.set("JSON")
+	if (project.hasProperty("jmhInclude")) {
+		includes.set(listOf(project.property("jmhInclude").toString()))
+	}
+}
+
+// ./gradlew loadtest -PloadtestArgs="--clients=200 --duration=60 --profiles=virtual"
+tasks.register<JavaExec>("loadtest") {
+	description = "Boots the backend on H2 and reports per-endpoint throughput and latency percentiles."
+	group = "verification"
+	classpath = loadtest.runtimeClasspath
+	mainClass.set("com.noveltea.backend.loadtest.LoadTest")
+	if (project.hasProperty("loadtestArgs")) {
+		args(project.property("loadtestArgs").toString().split(" ").filter { it.isNotBlank() })
+	}
+}
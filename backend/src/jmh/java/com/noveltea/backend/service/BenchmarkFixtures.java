@@ -0,0 +1,104 @@
+package com.noveltea.backend.service;
+
+import com.noveltea.backend.dto.ReviewDto;
+import com.noveltea.backend.model.Book;
+import com.noveltea.backend.model.BookClub;
+import com.noveltea.backend.model.ChatMessage;
+import com.noveltea.backend.model.ChatRoom;
+import com.noveltea.backend.model.Review;
+import com.noveltea.backend.model.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Detached entities and payloads shaped like production rows, for the mapper and serialization benchmarks
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {}
+
+    static User user(long id) {
+        return User.builder()
+                .userId(id)
+                .username("reader" + id)
+                .email("reader" + id + "@example.com")
+                .hashedPassword("x")
+                .role("standard")
+                .build();
+    }
+
+    static Book book(int i) {
+        return Book.builder()
+                .bookId("OL" + (7_000_000 + i) + "M")
+                .title("A Reasonably Long Book Title Number " + i)
+                .author("Author " + i)
+                .coverImageUrl("https://covers.openlibrary.org/b/id/" + (10_000 + i) + "-M.jpg")
+                .build();
+    }
+
+    // Review responses as ReviewServiceImpl builds them for a list endpoint
+    static List<ReviewDto.Response> reviewResponses(int count) {
+        List<ReviewDto.Response> reviews = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = user(i % 50 + 1);
+            Book book = book(i % 20);
+            reviews.add(ReviewDto.Response.builder()
+                    .reviewId((long) i + 1)
+                    .userId(user.getUserId())
+                    .username(user.getUsername())
+                    .bookId(book.getBookId())
+                    .bookTitle(book.getTitle())
+                    .bookAuthor(book.getAuthor())
+                    .coverImageUrl(book.getCoverImageUrl())
+                    .rating(BigDecimal.valueOf(i % 10 + 1, 1).multiply(BigDecimal.valueOf(5)))
+                    .reviewText("A review body of typical length. ".repeat(8))
+                    .likes(i % 37)
+                    .likedByCurrentUser(false)
+                    .visibility(true)
+                    .creationDate(LocalDate.of(2025, 1, 1).plusDays(i % 365))
+                    .build());
+        }
+        return reviews;
+    }
+
+    static List<Review> reviews(int count) {
+        List<Review> reviews = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            reviews.add(Review.builder()
+                    .reviewId((long) i + 1)
+                    .user(user(i % 50 + 1))
+                    .book(book(i % 20))
+                    .rating(BigDecimal.valueOf(i % 10 + 1, 1).multiply(BigDecimal.valueOf(5)))
+                    .reviewText("A review body of typical length. ".repeat(8))
+                    .likes(i % 37)
+                    .visibility(true)
+                    .creationDate(LocalDate.of(2025, 1, 1).plusDays(i % 365))
+                    .build());
+        }
+        return reviews;
+    }
+
+    static BookClub club(long id) {
+        return BookClub.builder()
+                .bookClubId(id)
+                .name("Club " + id)
+                .description("A club for readers who like long descriptions. ".repeat(3))
+                .privacy(false)
+                .memberCount(120)
+                .ownerUsername("reader1")
+                .build();
+    }
+
+    static ChatMessage chatMessage(long id) {
+        return ChatMessage.builder()
+                .messageId(id)
+                .bookClub(club(1))
+                .sender(user(id % 50 + 1))
+                .room(ChatRoom.GENERAL)
+                .content("A chat message of ordinary length, maybe a sentence or two.")
+                .sentAt(LocalDateTime.of(2025, 6, 1, 12, 0))
+                .build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.noveltea.backend.service;
+
+import com.noveltea.backend.model.BookClub;
+import com.noveltea.backend.model.ChatMessage;
+import com.noveltea.backend.model.Review;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity -> DTO mapping for one page of each list endpoint, through the services' own mappers.
+ * The mappers read only the entity, so the services are built without their collaborators.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DtoMapperBenchmark {
+
+    private static final int PAGE = 20;
+
+    private ReviewServiceImpl reviewService;
+    private BookClubService bookClubService;
+    private ChatMessageService chatMessageService;
+
+    private List<Review> reviews;
+    private List<BookClub> clubs;
+    private List<ChatMessage> messages;
+
+    @Setup
+    public void setUp() {
+        reviewService = new ReviewServiceImpl(null, null, null, null, null, null);
+        bookClubService = new BookClubService(null, null, null, null, null, null, null);
+        chatMessageService = new ChatMessageService(null, null, null, null, null, null, null, null, null);
+
+        reviews = BenchmarkFixtures.reviews(PAGE);
+        clubs = new ArrayList<>(PAGE);
+        messages = new ArrayList<>(PAGE);
+        for (int i = 1; i <= PAGE; i++) {
+            clubs.add(BenchmarkFixtures.club(i));
+            messages.add(BenchmarkFixtures.chatMessage(i));
+        }
+    }
+
+    @Benchmark
+    public Object reviewPage() {
+        return reviews.stream().map(r -> reviewService.toResponse(r, false)).toList();
+    }
+
+    @Benchmark
+    public Object bookClubPage() {
+        return clubs.stream().map(bookClubService::mapToResponse).toList();
+    }
+
+    @Benchmark
+    public Object chatMessagePage() {
+        return messages.stream().map(chatMessageService::toResponse).toList();
+    }
+}
@@ -0,0 +1,49 @@
+package com.noveltea.backend.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request auth cost.
+ *   - parseToken: full signature check + claims deserialization (every request before the verified-token cache)
+ *   - verifyCached: repeat token answered from JwtService's verified-token cache (what JwtAuthFilter now does)
+ *   - generateAccessToken: login/register token issue
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService("benchmark-secret-benchmark-secret-benchmark-secret", "noveltea", 60, 10_000);
+        token = jwtService.generateAccessToken(42L, "reader@example.com", LocalDate.of(2000, 1, 1));
+        jwtService.verify(token);
+    }
+
+    @Benchmark
+    public Object parseToken() {
+        return jwtService.parseToken(token);
+    }
+
+    @Benchmark
+    public Object verifyCached() {
+        return jwtService.verify(token);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtService.generateAccessToken(42L, "reader@example.com", LocalDate.of(2000, 1, 1));
+    }
+}
@@ -0,0 +1,42 @@
+package com.noveltea.backend.service;
+
+import com.noveltea.backend.dto.ReviewDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of review list payloads with the Jackson 3 mapper family Spring MVC uses
+ * to write responses (java.time support built in).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReviewSerializationBenchmark {
+
+    @Param({"20", "500", "5000"})
+    public int size;
+
+    private JsonMapper mapper;
+    private List<ReviewDto.Response> payload;
+
+    @Setup
+    public void setUp() {
+        mapper = JsonMapper.builder().build();
+        payload = BenchmarkFixtures.reviewResponses(size);
+    }
+
+    @Benchmark
+    public byte[] serializeReviewList() {
+        return mapper.writeValueAsBytes(payload);
+    }
+}
@@ -0,0 +1,90 @@
+package com.noveltea.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Thin JSON-over-HTTP client for the backend. Every call is timed into the caller's recorder
+ * under a logical endpoint name (path parameters collapsed, e.g. "GET /reviews/book/{id}/page").
+ */
+final class ApiClient {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    record Result(int status, JsonNode body) {
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    private final HttpClient http;
+    private final String baseUrl;
+
+    ApiClient(HttpClient http, String baseUrl) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+    }
+
+    Result get(LatencyRecorder recorder, String endpoint, String path, String token) {
+        return send(recorder, endpoint, request(path, token).GET().build());
+    }
+
+    Result post(LatencyRecorder recorder, String endpoint, String path, String token, Object body) {
+        return send(recorder, endpoint, request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(write(body)))
+                .build());
+    }
+
+    Result delete(LatencyRecorder recorder, String endpoint, String path, String token) {
+        return send(recorder, endpoint, request(path, token).DELETE().build());
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) builder.header("Authorization", "Bearer " + token);
+        return builder;
+    }
+
+    private Result send(LatencyRecorder recorder, String endpoint, HttpRequest request) {
+        long started = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            long elapsed = System.nanoTime() - started;
+            boolean ok = response.statusCode() >= 200 && response.statusCode() < 300;
+            if (recorder != null) recorder.record(endpoint, elapsed, ok);
+            return new Result(response.statusCode(), parse(response.body()));
+        } catch (IOException e) {
+            if (recorder != null) recorder.record(endpoint, System.nanoTime() - started, false);
+            return new Result(-1, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Result(-1, null);
+        }
+    }
+
+    private static JsonNode parse(String body) {
+        if (body == null || body.isEmpty()) return null;
+        try {
+            return JSON.readTree(body);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static String write(Object body) {
+        try {
+            return JSON.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.noveltea.backend.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Raw latency samples per endpoint, owned by one client thread (no locking on the hot path).
+ * Recorders from every client are merged once the run is over.
+ */
+final class LatencyRecorder {
+
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int size;
+        private long errors;
+
+        private void add(long value) {
+            if (size == nanos.length) nanos = Arrays.copyOf(nanos, size * 2);
+            nanos[size++] = value;
+        }
+
+        private void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) add(other.nanos[i]);
+            errors += other.errors;
+        }
+    }
+
+    private final Map<String, Samples> byEndpoint = new LinkedHashMap<>();
+
+    void record(String endpoint, long nanos, boolean ok) {
+        Samples samples = byEndpoint.computeIfAbsent(endpoint, k -> new Samples());
+        samples.add(nanos);
+        if (!ok) samples.errors++;
+    }
+
+    /**
+     * Prints one row per endpoint: requests, errors, throughput and latency percentiles (ms).
+     */
+    static String report(List<LatencyRecorder> recorders, double seconds) {
+        Map<String, Samples> merged = new TreeMap<>();
+        for (LatencyRecorder recorder : recorders) {
+            recorder.byEndpoint.forEach((endpoint, samples) ->
+                    merged.computeIfAbsent(endpoint, k -> new Samples()).addAll(samples));
+        }
+
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-44s %9s %7s %9s %8s %8s %8s %8s %8s%n",
+                "endpoint", "requests", "errors", "req/s", "p50", "p90", "p99", "p99.9", "max"));
+
+        long totalRequests = 0;
+        long totalErrors = 0;
+        for (Map.Entry<String, Samples> entry : merged.entrySet()) {
+            Samples samples = entry.getValue();
+            long[] sorted = Arrays.copyOf(samples.nanos, samples.size);
+            Arrays.sort(sorted);
+            totalRequests += sorted.length;
+            totalErrors += samples.errors;
+
+            out.append(String.format("%-44s %9d %7d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f%n",
+                    entry.getKey(), sorted.length, samples.errors, sorted.length / seconds,
+                    percentileMs(sorted, 0.50), percentileMs(sorted, 0.90), percentileMs(sorted, 0.99),
+                    percentileMs(sorted, 0.999), sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6));
+        }
+
+        out.append(String.format("%-44s %9d %7d %9.1f%n", "TOTAL", totalRequests, totalErrors, totalRequests / seconds));
+        return out.toString();
+    }
+
+    // Nearest-rank percentile
+    private static double percentileMs(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+}
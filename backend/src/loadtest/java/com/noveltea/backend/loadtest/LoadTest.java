@@ -0,0 +1,303 @@
+package com.noveltea.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.noveltea.backend.BackendApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Boots the backend against an in-memory H2 database, seeds it through the public API and replays
+ * the main user journeys concurrently, then prints throughput and latency percentiles per endpoint.
+ *
+ * Scenarios (weights split --clients between them):
+ *   - chat      clients polling one busy club chat with ?after=, with an occasional sender
+ *   - reviews   review browsing on a handful of hot books (keyset pages and the full list)
+ *   - likes     a like storm: everyone likes/unlikes the same review
+ *   - discovery club search and "my clubs"
+ *   - login     login bursts (BCrypt bulkhead)
+ *
+ * Options (./gradlew loadtest -PloadtestArgs="--clients=200 --duration=60"):
+ *   --clients=N      concurrent clients (default 100)
+ *   --duration=S     measured seconds (default 30), after --warmup=S seconds (default 5)
+ *   --users=N        seeded accounts (default 100)
+ *   --scenarios=a,b  subset of scenarios to run (default: all)
+ *   --think-ms=N     pause between a client's requests (default 0 = closed loop, max pressure)
+ *   --profiles=p     extra Spring profiles, e.g. "virtual" to compare against platform threads
+ * Any other --key=value argument is passed through to Spring Boot.
+ */
+public final class LoadTest {
+
+    private static final Map<String, Integer> SCENARIO_WEIGHTS = new LinkedHashMap<>();
+    static {
+        SCENARIO_WEIGHTS.put("chat", 40);
+        SCENARIO_WEIGHTS.put("reviews", 25);
+        SCENARIO_WEIGHTS.put("likes", 15);
+        SCENARIO_WEIGHTS.put("discovery", 15);
+        SCENARIO_WEIGHTS.put("login", 5);
+    }
+
+    private static final String PASSWORD = "loadtest123";
+    private static final int HOT_BOOKS = 5;
+    private static final int CLUBS = 20;
+    private static final int SEED_MESSAGES = 200;
+
+    private record Account(long userId, String email, String token) {}
+
+    private interface Step {
+        void run(LatencyRecorder recorder);
+    }
+
+    private LoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        List<String> springArgs = new ArrayList<>();
+        for (String arg : args) {
+            String[] kv = arg.replaceFirst("^--", "").split("=", 2);
+            switch (kv[0]) {
+                case "clients", "duration", "warmup", "users", "scenarios", "think-ms", "profiles" ->
+                        options.put(kv[0], kv.length > 1 ? kv[1] : "");
+                default -> springArgs.add(arg);
+            }
+        }
+
+        int clients = Integer.parseInt(options.getOrDefault("clients", "100"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        int users = Math.max(CLUBS, Integer.parseInt(options.getOrDefault("users", "100")));
+        long thinkMs = Long.parseLong(options.getOrDefault("think-ms", "0"));
+        List<String> scenarios = options.containsKey("scenarios")
+                ? Arrays.asList(options.get("scenarios").split(","))
+                : new ArrayList<>(SCENARIO_WEIGHTS.keySet());
+        String profiles = "loadtest" + (options.containsKey("profiles") ? "," + options.get("profiles") : "");
+
+        ConfigurableApplicationContext app = boot(profiles, springArgs);
+        try {
+            int port = app.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            HttpClient http = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+            ApiClient api = new ApiClient(http, "http://127.0.0.1:" + port);
+
+            System.out.printf("Seeding %d users, %d clubs, %d hot books...%n", users, CLUBS, HOT_BOOKS);
+            Seed seed = seed(api, users);
+
+            System.out.printf("Running %s with %d clients (profiles: %s) — %ds warm-up, %ds measured%n",
+                    scenarios, clients, profiles, warmup, duration);
+            List<LatencyRecorder> recorders = run(api, seed, scenarios, clients, warmup, duration, thinkMs);
+
+            System.out.println();
+            System.out.print(LatencyRecorder.report(recorders, duration));
+        } finally {
+            app.close();
+        }
+    }
+
+    // ----- BOOT -----
+
+    private static ConfigurableApplicationContext boot(String profiles, List<String> springArgs) {
+        List<String> bootArgs = new ArrayList<>(List.of(
+                "--spring.profiles.active=" + profiles,
+                "--server.port=0",
+                "--management.server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                // No outbound calls from a load test; maturity lookups fail fast and fail open
+                "--app.maturity.baseUrl=http://127.0.0.1:9/volumes",
+                "--logging.level.root=WARN"
+        ));
+        bootArgs.addAll(springArgs);
+        return SpringApplication.run(BackendApplication.class, bootArgs.toArray(String[]::new));
+    }
+
+    // ----- SEED -----
+
+    private record Seed(List<Account> accounts, long chatClubId, long hotReviewId, List<String> hotBooks) {}
+
+    private static Seed seed(ApiClient api, int users) throws InterruptedException {
+        // Registration is BCrypt-bound; a small pool stays inside the hashing bulkhead's queue
+        Account[] accounts = new Account[users];
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < users; i++) {
+            int n = i;
+            pool.execute(() -> accounts[n] = register(api, n));
+        }
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.MINUTES);
+
+        // One owner per club (a user can own only one); everyone joins the first club
+        long chatClubId = -1;
+        for (int i = 0; i < CLUBS; i++) {
+            JsonNode club = require(api.post(null, null, "/clubs", accounts[i].token,
+                    Map.of("name", "Load Club " + i, "description", "Seeded by the load test")));
+            if (i == 0) chatClubId = club.get("bookClubId").asLong();
+        }
+        for (int i = 1; i < users; i++) {
+            api.post(null, null, "/club-members/join", accounts[i].token, Map.of("bookClubId", chatClubId));
+        }
+
+        for (int i = 0; i < SEED_MESSAGES; i++) {
+            api.post(null, null, "/clubs/" + chatClubId + "/chat", accounts[i % users].token,
+                    Map.of("room", "GENERAL", "content", "Seed message " + i));
+        }
+
+        // Every user reviews every hot book; the first review on book 0 is the like-storm target
+        List<String> hotBooks = new ArrayList<>();
+        long hotReviewId = -1;
+        for (int b = 0; b < HOT_BOOKS; b++) {
+            String bookId = "OLLOADTEST" + b + "M";
+            hotBooks.add(bookId);
+            for (int i = 0; i < users; i++) {
+                JsonNode review = require(api.post(null, null, "/reviews", accounts[i].token, Map.of(
+                        "bookId", bookId,
+                        "title", "Hot Book " + b,
+                        "author", "Load Author",
+                        "rating", 1 + (i % 5),
+                        "reviewText", "Seeded review " + i + " for hot book " + b)));
+                if (b == 0 && i == 0) hotReviewId = review.get("reviewId").asLong();
+            }
+        }
+
+        return new Seed(List.of(accounts), chatClubId, hotReviewId, hotBooks);
+    }
+
+    private static Account register(ApiClient api, int n) {
+        String email = "lt" + n + "@loadtest.local";
+        JsonNode auth = require(api.post(null, null, "/auth/register", null, Map.of(
+                "username", "lt" + n,
+                "email", email,
+                "password", PASSWORD,
+                "dateOfBirth", "1990-01-01")));
+        return new Account(auth.get("user").get("userId").asLong(), email, auth.get("accessToken").asText());
+    }
+
+    private static JsonNode require(ApiClient.Result result) {
+        if (!result.ok() || result.body() == null) {
+            throw new IllegalStateException("Seeding request failed with HTTP " + result.status());
+        }
+        return result.body();
+    }
+
+    // ----- RUN -----
+
+    private static List<LatencyRecorder> run(ApiClient api, Seed seed, List<String> scenarios, int clients,
+                                             int warmup, int duration, long thinkMs) throws InterruptedException {
+        int totalWeight = scenarios.stream().mapToInt(s -> SCENARIO_WEIGHTS.getOrDefault(s, 0)).sum();
+        if (totalWeight == 0) throw new IllegalArgumentException("No known scenarios in " + scenarios);
+
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmup);
+        long stopAt = measureFrom + TimeUnit.SECONDS.toNanos(duration);
+
+        List<LatencyRecorder> recorders = new ArrayList<>();
+        AtomicInteger clientIds = new AtomicInteger();
+        ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor();
+
+        for (String scenario : scenarios) {
+            int count = Math.max(1, clients * SCENARIO_WEIGHTS.getOrDefault(scenario, 0) / totalWeight);
+            for (int c = 0; c < count; c++) {
+                int clientId = clientIds.getAndIncrement();
+                Account account = seed.accounts.get(clientId % seed.accounts.size());
+                Step step = step(scenario, api, seed, account, clientId);
+                LatencyRecorder recorder = new LatencyRecorder();
+                recorders.add(recorder);
+
+                pool.execute(() -> {
+                    while (System.nanoTime() < stopAt) {
+                        step.run(System.nanoTime() >= measureFrom ? recorder : null);
+                        if (thinkMs > 0) {
+                            try {
+                                Thread.sleep(thinkMs);
+                            } catch (InterruptedException e) {
+                                return;
+                            }
+                        }
+                    }
+                });
+            }
+        }
+
+        pool.shutdown();
+        pool.awaitTermination(warmup + duration + 60L, TimeUnit.SECONDS);
+        return recorders;
+    }
+
+    private static Step step(String scenario, ApiClient api, Seed seed, Account account, int clientId) {
+        return switch (scenario) {
+            case "chat" -> chat(api, seed, account, clientId);
+            case "reviews" -> reviews(api, seed, account);
+            case "likes" -> likes(api, seed, account);
+            case "discovery" -> discovery(api, account);
+            case "login" -> login(api, account);
+            default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+        };
+    }
+
+    // Poll with ?after= from the newest seen ID; one client in twenty also sends every tenth step
+    private static Step chat(ApiClient api, Seed seed, Account account, int clientId) {
+        String base = "/clubs/" + seed.chatClubId + "/chat";
+        long[] lastSeen = { 0 };
+        int[] steps = { 0 };
+        return recorder -> {
+            ApiClient.Result result = api.get(recorder, "GET /clubs/{id}/chat/{room}?after",
+                    base + "/GENERAL?after=" + lastSeen[0], account.token);
+            if (result.body() != null && result.body().isArray() && !result.body().isEmpty()) {
+                lastSeen[0] = result.body().get(result.body().size() - 1).get("messageId").asLong();
+            }
+            if (clientId % 20 == 0 && ++steps[0] % 10 == 0) {
+                api.post(recorder, "POST /clubs/{id}/chat", base, account.token,
+                        Map.of("room", "GENERAL", "content", "Load message from client " + clientId));
+            }
+        };
+    }
+
+    // First keyset page, then the next page via the cursor, then the unpaged list
+    private static Step reviews(ApiClient api, Seed seed, Account account) {
+        return recorder -> {
+            String bookId = seed.hotBooks.get(ThreadLocalRandom.current().nextInt(seed.hotBooks.size()));
+            ApiClient.Result page = api.get(recorder, "GET /reviews/book/{id}/page",
+                    "/reviews/book/" + bookId + "/page?sort=NEWEST", account.token);
+            if (page.body() != null && page.body().hasNonNull("nextCursor")) {
+                String cursor = URLEncoder.encode(page.body().get("nextCursor").asText(), StandardCharsets.UTF_8);
+                api.get(recorder, "GET /reviews/book/{id}/page?cursor",
+                        "/reviews/book/" + bookId + "/page?sort=NEWEST&cursor=" + cursor, account.token);
+            }
+            api.get(recorder, "GET /reviews/book/{id}", "/reviews/book/" + bookId, account.token);
+        };
+    }
+
+    private static Step likes(ApiClient api, Seed seed, Account account) {
+        String path = "/reviews/" + seed.hotReviewId + "/like";
+        return recorder -> {
+            api.post(recorder, "POST /reviews/{id}/like", path, account.token, Map.of());
+            api.delete(recorder, "DELETE /reviews/{id}/like", path, account.token);
+        };
+    }
+
+    private static Step discovery(ApiClient api, Account account) {
+        return recorder -> {
+            api.get(recorder, "GET /clubs/search", "/clubs/search?name=Load", account.token);
+            api.get(recorder, "GET /clubs/me", "/clubs/me", account.token);
+        };
+    }
+
+    private static Step login(ApiClient api, Account account) {
+        return recorder -> api.post(recorder, "POST /auth/login", "/auth/login", null,
+                Map.of("email", account.email, "password", PASSWORD));
+    }
+}
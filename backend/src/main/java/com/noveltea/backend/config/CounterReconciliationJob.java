@@ -0,0 +1,64 @@
+package com.noveltea.backend.config;
+
+import com.noveltea.backend.model.Book;
+import com.noveltea.backend.model.BookClub;
+import com.noveltea.backend.repository.BookClubRepository;
+import com.noveltea.backend.repository.BookListRepository;
+import com.noveltea.backend.repository.BookRepository;
+import com.noveltea.backend.service.EntityCacheEvictor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Nightly safety net for denormalized counters that are maintained incrementally.
+ *
+ * Rules:
+ *   - Recomputes each counter from its source table with set-based SQL; only drifted rows are written.
+ *   - Drift comes from writes that bypass the services (ON DELETE CASCADE, manual SQL, failed deploys).
+ *   - Also runs once at startup so rows created before a counter column existed get backfilled.
+ *   - Runs at 03:30 server time every day.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CounterReconciliationJob {
+
+    private final BookRepository bookRepository;
+    private final BookClubRepository bookClubRepository;
+    private final BookListRepository bookListRepository;
+    private final EntityCacheEvictor entityCacheEvictor;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 30 3 * * *")  // 03:30 every day
+    @Transactional
+    public void reconcile() {
+        int aggregates = bookRepository.reconcileRatingAggregates();
+        int ratings = bookRepository.reconcileRatings();
+
+        if (aggregates > 0 || ratings > 0) {
+            log.info("CounterReconciliationJob: fixed rating aggregates on {} book(s), ratings on {} book(s)",
+                    aggregates, ratings);
+            entityCacheEvictor.evictAllAfterCommit(Book.class);
+        }
+
+        int memberCounts = bookClubRepository.reconcileMemberCounts();
+        int owners = bookClubRepository.reconcileOwnerUsernames();
+
+        if (memberCounts > 0 || owners > 0) {
+            log.info("CounterReconciliationJob: fixed member counts on {} club(s), owner usernames on {} club(s)",
+                    memberCounts, owners);
+            entityCacheEvictor.evictAllAfterCommit(BookClub.class);
+        }
+
+        int listCounts = bookListRepository.reconcileCounts();
+
+        if (listCounts > 0) {
+            log.info("CounterReconciliationJob: fixed item/follower counts on {} list(s)", listCounts);
+        }
+    }
+}
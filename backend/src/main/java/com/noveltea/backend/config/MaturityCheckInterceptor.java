@@ -10,6 +10,7 @@ import org.springframework.web.servlet.HandlerInterceptor;
 import com.noveltea.backend.exception.AgeRestrictedException;
 import com.noveltea.backend.model.User;
 import com.noveltea.backend.repository.UserRepository;
+import com.noveltea.backend.security.JwtAuthFilter;
 import com.noveltea.backend.service.MaturityCheckService;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -37,14 +38,23 @@ public class MaturityCheckInterceptor implements HandlerInterceptor {
         String userIdStr = (String) request.getAttribute("userId");
         if (userIdStr == null) return true; // unauthenticated — let security handle it
 
-        Long userId = Long.parseLong(userIdStr);
+        LocalDate dateOfBirth;
+        String dobClaim = (String) request.getAttribute(JwtAuthFilter.DATE_OF_BIRTH_ATTRIBUTE);
+        if (dobClaim != null) {
+            // Signed "dob" claim — no DB read
+            dateOfBirth = dobClaim.isEmpty() ? null : LocalDate.parse(dobClaim);
+        } else {
+            // Token issued before the claim existed — look the user up (these expire within the token lifetime)
+            User user = userRepository.findById(Long.parseLong(userIdStr)).orElse(null);
+            if (user == null) return true;
+            dateOfBirth = user.getDateOfBirth();
+        }
 
-        // Look up the user to get their dateOfBirth
-        User user = userRepository.findById(userId).orElse(null);
-        if (user == null) return true;
+        // No date of birth on the account (seed/admin accounts) — nothing to check against
+        if (dateOfBirth == null) return true;
 
         // Calculate age from dateOfBirth
-        int age = Period.between(user.getDateOfBirth(), LocalDate.now()).getYears();
+        int age = Period.between(dateOfBirth, LocalDate.now()).getYears();
 
         // If under 18 and book is MATURE, throw the friendly block message
         if (maturityCheckService.isBlockedForUser(isbn, age)) {
@@ -55,15 +65,15 @@ public class MaturityCheckInterceptor implements HandlerInterceptor {
     }
 
     /**
-     * Pulls the ISBN out of a URL like /api/books/9780142437247
+     * Pulls the ISBN out of a URL like /api/books/9780142437247 (the segment after "books")
      */
     private String extractIsbn(String path) {
-        String[] segments = path.split("/");
-        for (int i = 0; i < segments.length - 1; i++) {
-            if (segments[i].equals("books")) {
-                return segments[i + 1];
-            }
-        }
-        return null;
+        int start = path.indexOf("/books/");
+        if (start < 0) return null;
+        start += "/books/".length();
+
+        int end = path.indexOf('/', start);
+        String isbn = end < 0 ? path.substring(start) : path.substring(start, end);
+        return isbn.isEmpty() ? null : isbn;
     }
 }
\ No newline at end of file
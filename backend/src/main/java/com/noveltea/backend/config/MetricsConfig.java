@@ -0,0 +1,48 @@
+package com.noveltea.backend.config;
+
+import com.noveltea.backend.service.ChatStreamHub;
+import com.noveltea.backend.service.PasswordHasher;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custom gauges and counters for in-process components Spring Boot does not instrument itself.
+ * HikariCP, Hibernate statistics, JVM and HTTP server metrics are bound automatically.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // BCrypt bulkhead — queue depth, busy workers, rejections and hash latency
+    @Bean
+    public MeterBinder passwordHasherMetrics(PasswordHasher hasher) {
+        return registry -> {
+            Gauge.builder("noveltea.auth.hash.queue.depth", hasher, PasswordHasher::queueDepth)
+                    .description("Password hashes waiting for a worker")
+                    .register(registry);
+            Gauge.builder("noveltea.auth.hash.active", hasher, PasswordHasher::activeCount)
+                    .description("Password hashes currently running")
+                    .register(registry);
+            FunctionCounter.builder("noveltea.auth.hash.rejected", hasher, PasswordHasher::rejectedCount)
+                    .description("Hash requests rejected because the bulkhead was saturated")
+                    .register(registry);
+            FunctionTimer.builder("noveltea.auth.hash.duration", hasher,
+                            PasswordHasher::completedCount, PasswordHasher::totalHashNanos, TimeUnit.NANOSECONDS)
+                    .description("Time spent hashing or verifying passwords")
+                    .register(registry);
+        };
+    }
+
+    // Open chat SSE streams on this instance
+    @Bean
+    public MeterBinder chatStreamMetrics(ChatStreamHub hub) {
+        return registry -> Gauge.builder("noveltea.chat.streams.open", hub, ChatStreamHub::subscriberCount)
+                .description("Open club chat SSE streams")
+                .register(registry);
+    }
+}
@@ -0,0 +1,83 @@
+package com.noveltea.backend.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Primary/replica DataSource wiring, active in the replica profile (app.datasource.replica.enabled).
+ *
+ * Rules:
+ *   - The application DataSource is a LazyConnectionDataSourceProxy over the primary pool. It only
+ *     fetches a physical connection at the first statement, by which point the transaction manager
+ *     has marked it read-only or not.
+ *   - @Transactional(readOnly = true) transactions (including Spring Data's own read methods) get a
+ *     connection from ReplicaRoutingDataSource; read-write transactions get the primary.
+ *   - A read-only method called inside a read-write transaction joins it and stays on the primary.
+ *   - Replicas inherit the primary's credentials unless app.datasource.replica.username/password are set.
+ *   - A second-level cache miss can be filled from a lagging replica. The query cache is off in this
+ *     profile, and EntityCacheEvictor repeats its evictions after readYourWritesMs, so a stale cached
+ *     row lives at most that long.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    public HikariDataSource primaryDataSource(
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username:}") String username,
+            @Value("${spring.datasource.password:}") String password,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maxPoolSize,
+            @Value("${spring.datasource.hikari.connection-timeout:30000}") long connectionTimeoutMs
+    ) {
+        return pool("primary", url, username, password, maxPoolSize, connectionTimeoutMs, false);
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaDataSource(
+            HikariDataSource primaryDataSource,
+            ReadYourWritesGuard readYourWritesGuard,
+            @Value("${app.datasource.replica.urls}") String[] urls,
+            @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${app.datasource.replica.maxPoolSize:10}") int maxPoolSize,
+            @Value("${spring.datasource.hikari.connection-timeout:30000}") long connectionTimeoutMs
+    ) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.length; i++) {
+            replicas.add(pool("replica-" + i, urls[i].trim(), username, password, maxPoolSize, connectionTimeoutMs, true));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, readYourWritesGuard);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+        proxy.setReadOnlyDataSource(replicaDataSource);
+        return proxy;
+    }
+
+    private static HikariDataSource pool(String name, String url, String username, String password,
+                                         int maxPoolSize, long connectionTimeoutMs, boolean readOnly) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(name);
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(maxPoolSize);
+        config.setConnectionTimeout(connectionTimeoutMs);
+        config.setReadOnly(readOnly);
+        return new HikariDataSource(config);
+    }
+}
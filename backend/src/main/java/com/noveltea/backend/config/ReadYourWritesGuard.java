@@ -0,0 +1,99 @@
+package com.noveltea.backend.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Replication-lag guard: keeps a user's reads on the primary for a short window after they write.
+ *
+ * Rules:
+ *   - Any POST/PUT/PATCH/DELETE by an authenticated user opens a window of windowMs, measured from
+ *     both the start and the end of the request, so reads later in the same request are covered too.
+ *   - While the window is open, ReplicaRoutingDataSource sends that user's read-only transactions
+ *     to the primary. Other users' reads are unaffected.
+ *   - The current user comes from the "userId" request attribute set by JwtAuthFilter; work outside
+ *     a request (scheduled jobs, SSE pushes) has no user and always reads from a replica.
+ *   - windowMs=0 turns the guard off. Per instance only; sticky sessions are not required because
+ *     the window only needs to outlast replication lag, not the session.
+ */
+@Component
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class ReadYourWritesGuard implements HandlerInterceptor {
+
+    private static final String USER_ID_ATTRIBUTE = "userId";
+
+    private final long windowMs;
+    private final Map<Long, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesGuard(@Value("${app.datasource.replica.readYourWritesMs:2000}") long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    /**
+     * True if the current request's user wrote within the window.
+     */
+    public boolean isPinnedToPrimary() {
+        if (windowMs <= 0) return false;
+
+        Long userId = currentUserId();
+        if (userId == null) return false;
+
+        Long until = pinnedUntil.get(userId);
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    public void recordWrite(Long userId) {
+        if (windowMs <= 0 || userId == null) return;
+        pinnedUntil.put(userId, System.currentTimeMillis() + windowMs);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (isWrite(request)) recordWrite(parseUserId(request.getAttribute(USER_ID_ATTRIBUTE)));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (isWrite(request)) recordWrite(parseUserId(request.getAttribute(USER_ID_ATTRIBUTE)));
+    }
+
+    // Expired windows are dropped in bulk instead of on every lookup
+    @Scheduled(fixedDelay = 60_000L)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        pinnedUntil.values().removeIf(until -> until <= now);
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        return switch (request.getMethod()) {
+            case "POST", "PUT", "PATCH", "DELETE" -> true;
+            default -> false;
+        };
+    }
+
+    private static Long currentUserId() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) return null;
+        return parseUserId(attributes.getAttribute(USER_ID_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+
+    private static Long parseUserId(Object value) {
+        if (value == null) return null;
+        try {
+            return Long.valueOf(value.toString());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
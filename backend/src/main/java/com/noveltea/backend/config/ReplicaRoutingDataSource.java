@@ -0,0 +1,65 @@
+package com.noveltea.backend.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The read-only side of the primary/replica split.
+ *
+ * Rules:
+ *   - Only connections for read-only transactions come through here (LazyConnectionDataSourceProxy
+ *     hands them over once the transaction has marked its connection read-only); everything else
+ *     goes straight to the primary.
+ *   - Replicas are used round-robin.
+ *   - When the ReadYourWritesGuard says the current user wrote recently, the read goes to the
+ *     primary instead so they see their own change despite replication lag.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+    private static final String REPLICA_PREFIX = "replica-";
+
+    private final List<DataSource> replicas;
+    private final ReadYourWritesGuard guard;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, ReadYourWritesGuard guard) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica DataSource is required");
+        }
+        this.replicas = List.copyOf(replicas);
+        this.guard = guard;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(REPLICA_PREFIX + i, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (guard != null && guard.isPinnedToPrimary()) {
+            return PRIMARY;
+        }
+        return REPLICA_PREFIX + Math.floorMod(next.getAndIncrement(), replicas.size());
+    }
+
+    // Replica pools belong to this DataSource; the primary pool is its own bean
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.noveltea.backend.config;
 
 import com.noveltea.backend.security.JwtAuthFilter;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -21,9 +23,13 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
+    // Actuator listens here, on a port that is not published; 0 or unset means the main port
+    private final int managementPort;
 
-    public SecurityConfig(JwtAuthFilter jwtAuthFilter) {
+    public SecurityConfig(JwtAuthFilter jwtAuthFilter,
+                          @Value("${management.server.port:0}") int managementPort) {
         this.jwtAuthFilter = jwtAuthFilter;
+        this.managementPort = managementPort;
     }
 
     @Bean
@@ -62,6 +68,12 @@ public class SecurityConfig {
                 )
 
                 .authorizeHttpRequests(auth -> auth
+                        // Async re-dispatches (chat SSE streams completing/timing out) were already authorized on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        // Health checks are public; the Prometheus scrape is only open on the internal management port
+                        .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                        .requestMatchers(request -> managementPort > 0 && request.getLocalPort() == managementPort
+                                && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
                         // /auth/me requires a valid JWT — must be declared before the broader /auth/** permit
                         .requestMatchers(HttpMethod.GET, "/auth/me").authenticated()
                         .requestMatchers("/auth/**").permitAll()
@@ -70,6 +82,10 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST, "/reviews").authenticated()
                         .requestMatchers(HttpMethod.PATCH, "/reviews/**").authenticated()
                         .requestMatchers(HttpMethod.DELETE, "/reviews/**").authenticated()                        
+                        // Guests browse books too; OpenLibraryController rate-limits requests without a token.
+                        // Trending is a prebuilt snapshot, so it costs the same for anyone
+                        .requestMatchers(HttpMethod.GET, "/openlibrary/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/books/trending").permitAll()
                         .anyRequest().authenticated()
                 )
 
@@ -0,0 +1,54 @@
+package com.noveltea.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public method of every @Service bean.
+ *
+ * Publishes the timer "noveltea.service.invocations" tagged with:
+ *   - class / method — e.g. ReviewServiceImpl / getByBookId
+ *   - outcome        — SUCCESS or ERROR
+ *   - exception      — simple class name of the thrown exception, "none" on success
+ *
+ * Repository calls are timed separately by Spring Boot ("spring.data.repository.invocations").
+ * Calls from a service to its own methods bypass the proxy and are not timed on their own.
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    static final String METRIC_NAME = "noveltea.service.invocations";
+
+    private final MeterRegistry meterRegistry;
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("@within(org.springframework.stereotype.Service) && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "SUCCESS";
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable t) {
+            outcome = "ERROR";
+            exception = t.getClass().getSimpleName();
+            throw t;
+        } finally {
+            sample.stop(Timer.builder(METRIC_NAME)
+                    .description("Service method invocations")
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.noveltea.backend.config;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Detects virtual threads pinned to their carrier thread while blocking.
+ *
+ * Rules:
+ *   - Subscribes to the JDK's own jdk.VirtualThreadPinned JFR event in-process (no recording file).
+ *   - Each pin longer than thresholdMs is counted and logged with its top application frames, so
+ *     the offending synchronized block or driver call can be found; repeat sites log once a minute.
+ *   - Only active in the virtual-thread profile (app.virtual-threads.pinning-monitor.enabled).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.virtual-threads.pinning-monitor.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final int FRAMES_LOGGED = 8;
+    private static final long REPEAT_LOG_INTERVAL_MS = 60_000L;
+
+    private final Duration threshold;
+    private final LongAdder pinnedCount = new LongAdder();
+    private final Map<String, Long> lastLoggedBySite = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(@Value("${app.virtual-threads.pinning-monitor.thresholdMs:20}") long thresholdMs) {
+        this.threshold = Duration.ofMillis(thresholdMs);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+        stream.startAsync();
+        log.info("VirtualThreadPinningMonitor: reporting pins longer than {} ms", threshold.toMillis());
+    }
+
+    /**
+     * Number of pinning events seen since startup.
+     */
+    public long pinnedCount() {
+        return pinnedCount.sum();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) stream.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCount.increment();
+
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        String site = frames.stream()
+                .limit(FRAMES_LOGGED)
+                .map(f -> f.getMethod().getType().getName() + "." + f.getMethod().getName() + ":" + f.getLineNumber())
+                .collect(Collectors.joining("\n    at "));
+
+        long now = System.currentTimeMillis();
+        Long last = lastLoggedBySite.get(site);
+        if (last != null && now - last < REPEAT_LOG_INTERVAL_MS) return;
+        lastLoggedBySite.put(site, now);
+
+        log.warn("VirtualThreadPinningMonitor: virtual thread pinned for {} ms\n    at {}",
+                event.getDuration().toMillis(), site.isEmpty() ? "(no stack trace)" : site);
+    }
+}
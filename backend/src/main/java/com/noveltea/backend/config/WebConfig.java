@@ -10,10 +10,19 @@ public class WebConfig implements WebMvcConfigurer {
     @Autowired
     private MaturityCheckInterceptor maturityCheckInterceptor;
 
+    // Only present in the replica profile
+    @Autowired(required = false)
+    private ReadYourWritesGuard readYourWritesGuard;
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         // Only runs the maturity check on book routes — everything else is untouched
         registry.addInterceptor(maturityCheckInterceptor)
                 .addPathPatterns("/api/books/**");
+
+        // Records writes per user so their next reads skip the replicas for a moment
+        if (readYourWritesGuard != null) {
+            registry.addInterceptor(readYourWritesGuard);
+        }
     }
 }
\ No newline at end of file
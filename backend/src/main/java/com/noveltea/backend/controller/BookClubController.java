@@ -1,6 +1,7 @@
 package com.noveltea.backend.controller;
 
 import com.noveltea.backend.dto.BookClubDto;
+import com.noveltea.backend.dto.CursorPage;
 import com.noveltea.backend.service.BookClubService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
@@ -66,6 +67,17 @@ public class BookClubController extends BaseController {
         return ResponseEntity.ok(bookClubService.getPublicClubs());
     }
 
+    // GET /clubs/discover?sort=MOST_MEMBERS|MOST_ACTIVE&cursor=...&size=20 - ranked public clubs, keyset-paginated.
+    // Pass nextCursor back as ?cursor= for the next page.
+    @GetMapping("/discover")
+    public ResponseEntity<CursorPage<BookClubDto.Response>> discoverPublicClubs(
+            @RequestParam(defaultValue = "MOST_MEMBERS") BookClubDto.Sort sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        return ResponseEntity.ok(bookClubService.discoverPublicClubs(sort, cursor, size));
+    }
+
     // GET /clubs/me - clubs the authenticated user belongs to (any role)
     @GetMapping("/me")
     public ResponseEntity<List<BookClubDto.Response>> getMyClubs(HttpServletRequest httpRequest) {
@@ -2,7 +2,9 @@ package com.noveltea.backend.controller;
 
 import com.noveltea.backend.dto.BookDto;
 import com.noveltea.backend.exception.InvalidRequestException;
+import com.noveltea.backend.service.BookSearchIndex;
 import com.noveltea.backend.service.BookService;
+import com.noveltea.backend.service.TrendingService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,6 +17,7 @@ import java.util.List;
 public class BookController {
 
     private final BookService bookService;
+    private final TrendingService trendingService;
 
     // GET /books
     @GetMapping
@@ -22,24 +25,38 @@ public class BookController {
         return ResponseEntity.ok(bookService.getAllBooks());
     }
 
+    // GET /books/trending?limit=20
+    // Ranked by recent reviews, likes, list and club adds in this app (decayed over time)
+    @GetMapping("/trending")
+    public ResponseEntity<List<BookDto.Response>> getTrending(@RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(trendingService.getTrending(limit));
+    }
+
     // GET /books/{bookId}
     @GetMapping("/{bookId}")
     public ResponseEntity<BookDto.Response> getBookById(@PathVariable String bookId) {
         return ResponseEntity.ok(bookService.getBookById(bookId));
     }
 
-    // GET /books/search?title=... OR ?author=...
+    // GET /books/search?q=... (title or author) OR ?title=... OR ?author=...  &page=0&size=20
+    // Ranked; prefixes and single typos match ("tolkein" finds Tolkien)
     @GetMapping("/search")
     public ResponseEntity<List<BookDto.Response>> search(
+        @RequestParam(required = false) String q,
         @RequestParam(required = false) String title, 
-        @RequestParam(required = false) String author
+        @RequestParam(required = false) String author,
+        @RequestParam(defaultValue = "0") int page,
+        @RequestParam(required = false) Integer size
     ) {
+        if (q != null) {
+            return ResponseEntity.ok(bookService.search(q, BookSearchIndex.Field.ANY, page, size));
+        }
         if (title != null) {
-            return ResponseEntity.ok(bookService.searchByTitle(title));
+            return ResponseEntity.ok(bookService.search(title, BookSearchIndex.Field.TITLE, page, size));
         }
         if (author != null) {
-            return ResponseEntity.ok(bookService.searchByAuthor(author));
+            return ResponseEntity.ok(bookService.search(author, BookSearchIndex.Field.AUTHOR, page, size));
         }
-        throw new InvalidRequestException("Provide either 'title' or 'author' as a query parameter.");
+        throw new InvalidRequestException("Provide 'q', 'title' or 'author' as a query parameter.");
     }
 }
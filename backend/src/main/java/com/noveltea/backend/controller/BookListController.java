@@ -1,6 +1,7 @@
 package com.noveltea.backend.controller;
 
 import com.noveltea.backend.dto.BookListDto;
+import com.noveltea.backend.dto.CursorPage;
 import com.noveltea.backend.service.BookListService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
@@ -77,6 +78,17 @@ public class BookListController extends BaseController {
         return ResponseEntity.ok(bookListService.getListsByUser(userId, targetUserId));
     }
 
+    // GET /lists/discover?sort=MOST_FOLLOWED|MOST_BOOKS&cursor=...&size=20 — ranked public lists, keyset-paginated.
+    // Pass nextCursor back as ?cursor= for the next page.
+    @GetMapping("/discover")
+    public ResponseEntity<CursorPage<BookListDto.Response>> discoverPublicLists(
+            @RequestParam(defaultValue = "MOST_FOLLOWED") BookListDto.Sort sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        return ResponseEntity.ok(bookListService.discoverPublicLists(sort, cursor, size));
+    }
+
     // GET /lists/search?title=...
     @GetMapping("/search")
     public ResponseEntity<List<BookListDto.Response>> searchPublicLists(@RequestParam String title) {
@@ -7,8 +7,10 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -56,4 +58,21 @@ public class ChatMessageController extends BaseController {
 
         return ResponseEntity.ok(messages);
     }
+
+    // GET /clubs/{clubId}/chat/{room}/stream — push delivery (text/event-stream)
+    // ?after={id} or the Last-Event-ID header → resume point after a reconnect
+    // (no cursor) → starts with the 50 most recent, same as the initial load
+    // Each event carries the messageId as its SSE id, so EventSource reconnects resume automatically.
+    @GetMapping(value = "/{room}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMessages(
+            @PathVariable Long clubId,
+            @PathVariable ChatRoom room,
+            @RequestParam(required = false) Long after,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            HttpServletRequest httpRequest
+    ) {
+        Long userId = getUserId(httpRequest);
+        Long resumeFrom = after != null ? after : lastEventId;
+        return chatMessageService.openStream(userId, clubId, room, resumeFrom);
+    }
 }
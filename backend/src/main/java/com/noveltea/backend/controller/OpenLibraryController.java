@@ -0,0 +1,61 @@
+package com.noveltea.backend.controller;
+
+import com.noveltea.backend.service.GuestRateLimiter;
+import com.noveltea.backend.service.OpenLibraryService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+// Open Library JSON passed through unchanged, so the app parses it exactly as it did when calling openlibrary.org.
+// Guests browse without a token, so they may call it too, within a per-address budget.
+@RestController
+@RequestMapping("/openlibrary")
+@RequiredArgsConstructor
+public class OpenLibraryController extends BaseController {
+
+    private final OpenLibraryService openLibraryService;
+    private final GuestRateLimiter guestRateLimiter;
+
+    // GET /openlibrary/search?q=...&limit=20&fields=key,title,...&sort=rating
+    @GetMapping("/search")
+    public ResponseEntity<String> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String sort,
+            HttpServletRequest httpRequest
+    ) {
+        boolean signedIn = getUserId(httpRequest) != null;
+        if (!signedIn) guestRateLimiter.check(httpRequest.getRemoteAddr());
+        return json(openLibraryService.search(q, limit, fields, sort, signedIn));
+    }
+
+    // GET /openlibrary/authors/{authorKey} (e.g. OL23919A)
+    @GetMapping("/authors/{authorKey}")
+    public ResponseEntity<String> getAuthor(@PathVariable String authorKey, HttpServletRequest httpRequest) {
+        checkGuest(httpRequest);
+        return json(openLibraryService.author(authorKey));
+    }
+
+    // GET /openlibrary/subjects/{subject}?limit=20&sort=trending
+    @GetMapping("/subjects/{subject}")
+    public ResponseEntity<String> getSubject(
+            @PathVariable String subject,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String sort,
+            HttpServletRequest httpRequest
+    ) {
+        checkGuest(httpRequest);
+        return json(openLibraryService.subject(subject, limit, sort));
+    }
+
+    private void checkGuest(HttpServletRequest httpRequest) {
+        if (getUserId(httpRequest) == null) guestRateLimiter.check(httpRequest.getRemoteAddr());
+    }
+
+    private static ResponseEntity<String> json(String body) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+}
@@ -1,5 +1,6 @@
 package com.noveltea.backend.controller;
 
+import com.noveltea.backend.dto.CursorPage;
 import com.noveltea.backend.dto.ReviewDto;
 import com.noveltea.backend.service.ReviewService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -42,6 +43,33 @@ public class ReviewController extends BaseController {
         return ResponseEntity.ok(reviewService.getByBookId(userIdOrNull, bookId));
     }
 
+    // GET /reviews/book/{bookId}/page?sort=NEWEST|MOST_LIKED|HIGHEST_RATED&cursor=...&size=20 (public)
+    // Keyset-paginated; same visibility rules as above. Pass nextCursor back as ?cursor= for the next page.
+    @GetMapping("/book/{bookId}/page")
+    public ResponseEntity<CursorPage<ReviewDto.Response>> getPageByBook(
+            @PathVariable String bookId,
+            @RequestParam(defaultValue = "NEWEST") ReviewDto.Sort sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            HttpServletRequest httpRequest
+    ) {
+        Long userIdOrNull = getUserId(httpRequest);
+        return ResponseEntity.ok(reviewService.getPageByBookId(userIdOrNull, bookId, sort, cursor, size));
+    }
+
+    // GET /reviews/book/{bookId}/me (must be logged in) — your own review of the book; 204 if none
+    @GetMapping("/book/{bookId}/me")
+    public ResponseEntity<ReviewDto.Response> getMineForBook(
+            @PathVariable String bookId,
+            HttpServletRequest httpRequest
+    ) {
+        Long userId = getUserId(httpRequest);
+        if (userId == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+
+        ReviewDto.Response review = reviewService.getMine(userId, bookId);
+        return review == null ? ResponseEntity.noContent().build() : ResponseEntity.ok(review);
+    }
+
     // PATCH /reviews/{reviewId} (must be logged in + owner)
     @PatchMapping("/{reviewId}")
     public ResponseEntity<ReviewDto.Response> update(
@@ -65,6 +93,29 @@ public class ReviewController extends BaseController {
         return ResponseEntity.ok(reviewService.getByUserId(requesterId, userId));
     }
 
+    // GET /reviews/user/{userId}/page?sort=...&cursor=...&size=20 — keyset-paginated version of the above
+    @GetMapping("/user/{userId}/page")
+    public ResponseEntity<CursorPage<ReviewDto.Response>> getPageByUser(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "NEWEST") ReviewDto.Sort sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            HttpServletRequest httpRequest
+    ) {
+        Long requesterId = getUserId(httpRequest);
+        return ResponseEntity.ok(reviewService.getPageByUserId(requesterId, userId, sort, cursor, size));
+    }
+
+    // GET /reviews/user/{userId}/count — same visibility rules as the listing
+    @GetMapping("/user/{userId}/count")
+    public ResponseEntity<Long> getUserReviewCount(
+            @PathVariable Long userId,
+            HttpServletRequest httpRequest
+    ) {
+        Long requesterId = getUserId(httpRequest);
+        return ResponseEntity.ok(reviewService.countVisibleByUserId(requesterId, userId));
+    }
+
     // GET /reviews/me/count — total reviews written by the authenticated user
     @GetMapping("/me/count")
     public ResponseEntity<Long> getMyReviewCount(HttpServletRequest httpRequest) {
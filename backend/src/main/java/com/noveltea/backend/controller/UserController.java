@@ -19,17 +19,29 @@ public class UserController extends BaseController {
         this.userService = userService;
     }
 
-    // GET /users/search?username= — must be declared before /{id} to avoid path conflict
+    // GET /users/search?username=&limit= — must be declared before /{id} to avoid path conflict
     @GetMapping("/search")
     public ResponseEntity<List<UserDto.PublicResponse>> searchUsers(
-            @RequestParam String username
+            @RequestParam String username,
+            @RequestParam(required = false) Integer limit
     ) {
-        return ResponseEntity.ok(userService.searchUsers(username));
+        return ResponseEntity.ok(userService.searchUsers(username, limit));
     }
 
+    // GET /users/leaderboard?page=&size= — top-K board, zero-based pages (default: the whole board)
     @GetMapping("/leaderboard")
-    public ResponseEntity<List<UserDto.PublicResponse>> getLeaderboard() {
-        return ResponseEntity.ok(userService.getLeaderboard());
+    public ResponseEntity<List<UserDto.PublicResponse>> getLeaderboard(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size
+    ) {
+        return ResponseEntity.ok(userService.getLeaderboard(page, size));
+    }
+
+    // GET /users/leaderboard/me — caller's rank, including users outside the top K
+    @GetMapping("/leaderboard/me")
+    public ResponseEntity<UserDto.RankResponse> getMyRank(HttpServletRequest httpRequest) {
+        Long userId = getUserId(httpRequest);
+        return ResponseEntity.ok(userService.getMyRank(userId));
     }
 
     // GET /users/username/{username} — look up public profile by username
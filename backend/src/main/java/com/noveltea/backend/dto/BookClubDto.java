@@ -4,9 +4,16 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.*;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 public class BookClubDto {
 
+    // Sort orders for public-club discovery (?sort=); every order breaks ties by newest bookClubId
+    public enum Sort {
+        MOST_MEMBERS,
+        MOST_ACTIVE
+    }
+
     // Sent when creating a new book club
     // Creator is the authenticated user (resolved from auth token in service)
     @Data
@@ -52,6 +59,7 @@ public class BookClubDto {
         private LocalDate creationDate;
         private Long memberCount;
         private String ownerUsername;
+        private LocalDateTime lastActivityAt;
 
     }
 
@@ -7,6 +7,12 @@ import java.time.LocalDate;
 
 public class BookListDto {
 
+    // Sort orders for public-list discovery (?sort=); every order breaks ties by newest listId
+    public enum Sort {
+        MOST_FOLLOWED,
+        MOST_BOOKS
+    }
+
     // Sent when creating a new list
     @Data
     @NoArgsConstructor
@@ -52,6 +58,7 @@ public class BookListDto {
         private Boolean visibility;
         private LocalDate creationDate;
         private long bookCount;
+        private long followerCount;
 
     }
 
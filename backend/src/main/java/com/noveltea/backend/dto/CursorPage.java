@@ -0,0 +1,18 @@
+package com.noveltea.backend.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+// Returned by keyset-paginated endpoints
+// Pass nextCursor back as ?cursor= to fetch the following page; null means this was the last page
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPage<T> {
+
+    private List<T> items;
+    private String nextCursor;
+
+}
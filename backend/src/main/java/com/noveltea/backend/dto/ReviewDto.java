@@ -11,6 +11,13 @@ import java.time.LocalDate;
 
 public class ReviewDto {
 
+    // Sort orders for paginated review listings (?sort=); every order breaks ties by newest reviewId
+    public enum Sort {
+        NEWEST,
+        MOST_LIKED,
+        HIGHEST_RATED
+    }
+
     // Sent when creating a review
     // Includes book metadata so the service can register the book in the db if not already present
     // The reviewing user is the authenticated user (no need to include directly in request)
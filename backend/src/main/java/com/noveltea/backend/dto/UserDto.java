@@ -119,4 +119,16 @@ public class UserDto {
         private Integer highestRewardedStreak;
     }
 
+    // Returned by GET /users/leaderboard/me — competition rank (1 + users with more points)
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RankResponse {
+
+        private Long userId;
+        private Integer points;
+        private Long rank;
+    }
+
 }
@@ -38,6 +38,24 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
     }
 
+    // 503 — a bounded resource is saturated (e.g. password hashing during a login storm); safe to retry
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<Map<String, Object>> handleServiceBusy(ServiceBusyException ex) {
+        ResponseEntity<Map<String, Object>> response = buildResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+        return ResponseEntity.status(response.getStatusCode())
+                .header("Retry-After", "1")
+                .body(response.getBody());
+    }
+
+    // 429 — guest over its request budget; the window is a minute
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Map<String, Object>> handleTooManyRequests(TooManyRequestsException ex) {
+        ResponseEntity<Map<String, Object>> response = buildResponse(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage());
+        return ResponseEntity.status(response.getStatusCode())
+                .header("Retry-After", "60")
+                .body(response.getBody());
+    }
+
     // 400 — @Valid constraint violations on request bodies
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidation(MethodArgumentNotValidException ex) {
@@ -4,16 +4,21 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.springframework.data.domain.Persistable;
 
 import java.math.BigDecimal;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "books")
 @Table(name = "books")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Book {
+public class Book implements Persistable<String> {
 
     // Open Library ID (e.g. "OL7353617M") — don't need to generate ourselves
     @Id
@@ -26,13 +31,25 @@ public class Book {
     @Column(nullable = false)
     private String author;
 
-    // Rating derived from user reviews (0.0 – 5.0 star system)
+    // Rating derived from user reviews (0.0 – 5.0 star system) — ratingSum / reviewCount, rounded to 1 decimal
+    // rating, ratingSum and reviewCount are written only by BookRepository.applyRatingDelta and the reconciliation job
+    // (updatable = false), so saving a stale Book can never overwrite a concurrent review's delta
     @Builder.Default
     @DecimalMin("0.0")
     @DecimalMax("5.0")
-    @Column(precision = 2, scale = 1, nullable=false)
+    @Column(precision = 2, scale = 1, nullable=false, updatable = false)
     private BigDecimal rating = BigDecimal.ZERO;
 
+    // Running total of all review ratings for this book
+    @Builder.Default
+    @Column(nullable = false, updatable = false, columnDefinition = "numeric(12,1) default 0")
+    private BigDecimal ratingSum = BigDecimal.ZERO;
+
+    // Number of reviews contributing to ratingSum
+    @Builder.Default
+    @Column(nullable = false, updatable = false, columnDefinition = "integer default 0")
+    private Integer reviewCount = 0;
+
     // Fetched from Open Library API when not cached locally, nullable
     @Column(columnDefinition = "TEXT")
     private String description;
@@ -40,4 +57,30 @@ public class Book {
     // Will use a placeholder image on the frontend when absent, nullable
     @Column(name = "cover_image_url")
     private String coverImageUrl;
+
+    // IDs are assigned, so Spring Data cannot tell a new book from its ID and would merge (one SELECT
+    // per book) on save. A built Book is new until it is persisted; a loaded one never is.
+    @Transient
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean newEntity = true;
+
+    @Override
+    public String getId() {
+        return bookId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newEntity = false;
+    }
 }
\ No newline at end of file
@@ -1,12 +1,22 @@
 package com.noveltea.backend.model;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
-@Table(name = "book_clubs")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "book-clubs")
+@Table(name = "book_clubs", indexes = {
+        // Keyset pagination of public-club discovery — one index per sort order (see BookClubRepository)
+        @Index(name = "idx_club_privacy_members_id", columnList = "privacy, member_count, book_club_id"),
+        @Index(name = "idx_club_privacy_activity_id", columnList = "privacy, last_activity_at, book_club_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -32,4 +42,21 @@ public class BookClub {
     @Column(nullable = false)
     private LocalDate creationDate = LocalDate.now();
 
+    // Denormalized so club browse maps each row without per-club member lookups.
+    // memberCount is changed only through BookClubRepository.adjustMemberCount (updatable = false);
+    // both columns are re-derived nightly by CounterReconciliationJob.
+    @Builder.Default
+    @Column(nullable = false, updatable = false, columnDefinition = "integer default 0")
+    private Integer memberCount = 0;
+
+    // Time of the latest chat message, at most activityResolutionSeconds stale; starts at creation.
+    // Changed only through BookClubRepository.touchActivity (updatable = false).
+    @Builder.Default
+    @Column(nullable = false, updatable = false, columnDefinition = "timestamp default CURRENT_TIMESTAMP")
+    private LocalDateTime lastActivityAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    // Username of the member with role OWNER (kept in sync on ownership transfer and username change)
+    @Column
+    private String ownerUsername;
+
 }
\ No newline at end of file
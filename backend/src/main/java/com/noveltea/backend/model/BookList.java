@@ -8,7 +8,11 @@ import org.hibernate.annotations.OnDeleteAction;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "book_lists")
+@Table(name = "book_lists", indexes = {
+        // Keyset pagination of public-list discovery — one index per sort order (see BookListRepository)
+        @Index(name = "idx_list_visibility_followers_id", columnList = "visibility, follower_count, list_id"),
+        @Index(name = "idx_list_visibility_items_id", columnList = "visibility, item_count, list_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -40,4 +44,15 @@ public class BookList {
     @Column(nullable = false)
     private LocalDate creationDate = LocalDate.now();
 
+    // Denormalized so list responses and discovery need no per-list counts.
+    // Changed only through BookListRepository.adjustItemCount / adjustFollowerCount (updatable = false);
+    // both are re-derived nightly by CounterReconciliationJob.
+    @Builder.Default
+    @Column(nullable = false, updatable = false, columnDefinition = "integer default 0")
+    private Integer itemCount = 0;
+
+    @Builder.Default
+    @Column(nullable = false, updatable = false, columnDefinition = "integer default 0")
+    private Integer followerCount = 0;
+
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.noveltea.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+// Persistent tier of MaturityCheckService's cache — one Google Books lookup result per ISBN
+@Entity
+@Table(name = "maturity_ratings")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MaturityRating {
+
+    @Id
+    @Column(nullable = false)
+    private String isbn;
+
+    // "MATURE" or "NOT_MATURE", as reported by Google Books
+    @Column(nullable = false)
+    private String rating;
+
+    // When the rating was fetched; drives the TTL after a restart
+    @Column(nullable = false)
+    private Instant fetchedAt;
+}
@@ -11,7 +11,18 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "book_reviews") // No unique constraint (user can leave multiple reviews on a book)
+@Table(
+    name = "book_reviews", // No unique constraint (user can leave multiple reviews on a book)
+    indexes = {
+        // Keyset pagination per book and per user — one index per sort order (see ReviewRepository page queries)
+        @Index(name = "idx_review_book_date_id", columnList = "book_id, creation_date, review_id"),
+        @Index(name = "idx_review_book_likes_id", columnList = "book_id, likes, review_id"),
+        @Index(name = "idx_review_book_rating_id", columnList = "book_id, rating, review_id"),
+        @Index(name = "idx_review_user_date_id", columnList = "user_id, creation_date, review_id"),
+        @Index(name = "idx_review_user_likes_id", columnList = "user_id, likes, review_id"),
+        @Index(name = "idx_review_user_rating_id", columnList = "user_id, rating, review_id")
+    }
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,27 @@
+package com.noveltea.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+// Last saved state of TrendingService's decayed scores — a single row, overwritten on every checkpoint
+@Entity
+@Table(name = "trending_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrendingCheckpoint {
+
+    @Id
+    private Long id;
+
+    // Scores below are decayed to this instant; a restart decays them further by the time since
+    @Column(nullable = false)
+    private Instant takenAt;
+
+    // One "bookId<TAB>score" line per tracked book
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+}
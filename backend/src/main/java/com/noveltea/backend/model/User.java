@@ -2,19 +2,29 @@ package com.noveltea.backend.model;
 
 import java.time.LocalDate;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@Table(name = "users", indexes = {
+        // Leaderboard top-K scan and rank counts
+        @Index(name = "idx_user_points", columnList = "points")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -58,12 +68,14 @@ public class User {
     @Column(nullable = false)
     private LocalDate joinDate = LocalDate.now();
 
+    // points and reviewLikesReceived are changed only through UserRepository's atomic updates
+    // (updatable = false), so saving a User for any other reason can never overwrite them
     @Builder.Default
-    @Column(nullable = false, columnDefinition = "integer default 0")
+    @Column(nullable = false, updatable = false, columnDefinition = "integer default 0")
     private Integer points = 0;
 
     @Builder.Default
-    @Column(nullable = false, columnDefinition = "integer default 0")
+    @Column(nullable = false, updatable = false, columnDefinition = "integer default 0")
     private Integer reviewLikesReceived = 0;
 
     @Builder.Default
@@ -5,6 +5,8 @@ import com.noveltea.backend.model.BookClubMember;
 import com.noveltea.backend.model.BookClubMemberRole;
 import com.noveltea.backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -19,6 +21,10 @@ public interface BookClubMemberRepository extends JpaRepository<BookClubMember,
     // All clubs a user belongs to
     List<BookClubMember> findByUser(User user);
 
+    // Clubs a user belongs to, selected directly (one query, no per-membership club loads)
+    @Query("SELECT m.bookClub FROM BookClubMember m WHERE m.user.userId = :userId")
+    List<BookClub> findClubsByUserId(@Param("userId") Long userId);
+
     // Check if a user is already a member before adding
     boolean existsByUserAndBookClub(User user, BookClub bookClub);
 
@@ -1,9 +1,17 @@
 package com.noveltea.backend.repository;
 
 import com.noveltea.backend.model.BookClub;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -13,12 +21,80 @@ public interface BookClubRepository extends JpaRepository<BookClub, Long> {
     boolean existsByName(String name);
 
     // All public clubs (privacy = false means public; for discovery / browse)
+    // Ids come from the query cache and the clubs from the entity cache until a club row changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<BookClub> findByPrivacyFalse();
 
+    // Public-club discovery, keyset-paginated: the condition resumes strictly after the previous
+    // page's last (sort value, id), so deep pages cost the same as the first
+
+    @Query("""
+            SELECT c FROM BookClub c
+            WHERE c.privacy = false
+              AND (c.memberCount < :members OR (c.memberCount = :members AND c.bookClubId < :id))
+            ORDER BY c.memberCount DESC, c.bookClubId DESC
+            """)
+    List<BookClub> findPublicPageMostMembers(@Param("members") Integer members, @Param("id") Long id, Limit limit);
+
+    @Query("""
+            SELECT c FROM BookClub c
+            WHERE c.privacy = false
+              AND (c.lastActivityAt < :at OR (c.lastActivityAt = :at AND c.bookClubId < :id))
+            ORDER BY c.lastActivityAt DESC, c.bookClubId DESC
+            """)
+    List<BookClub> findPublicPageMostActive(@Param("at") LocalDateTime at, @Param("id") Long id, Limit limit);
+
     // Search public clubs by name
     List<BookClub> findByPrivacyFalseAndNameContainingIgnoreCase(String name);
 
     // Search all clubs (public + private) by name — for authenticated search with lock indicator
     List<BookClub> findByNameContainingIgnoreCase(String name);
 
+    // Atomic +/- on the denormalized member count (never below zero).
+    // "counters" space: the club cache region is left alone; callers evict just this club.
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "counters"))
+    @Query(value = "UPDATE book_clubs SET member_count = GREATEST(member_count + :delta, 0) WHERE book_club_id = :bookClubId",
+            nativeQuery = true)
+    int adjustMemberCount(@Param("bookClubId") Long bookClubId, @Param("delta") int delta);
+
+    // Moves the club's activity time forward; a no-op while the stored time is newer than :staleBefore,
+    // so busy rooms write at most once per resolution window across all instances
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "counters"))
+    @Query(value = "UPDATE book_clubs SET last_activity_at = :at WHERE book_club_id = :bookClubId AND last_activity_at < :staleBefore",
+            nativeQuery = true)
+    int touchActivity(@Param("bookClubId") Long bookClubId, @Param("at") LocalDateTime at,
+                      @Param("staleBefore") LocalDateTime staleBefore);
+
+    // Keeps the denormalized owner username in step when the owner renames their account
+    @Modifying
+    @Query("UPDATE BookClub c SET c.ownerUsername = :newUsername WHERE c.ownerUsername = :oldUsername")
+    int renameOwner(@Param("oldUsername") String oldUsername, @Param("newUsername") String newUsername);
+
+    // Reconciliation — recomputes member counts from book_club_members for rows that drifted
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "book_clubs"))
+    @Query(value = """
+            UPDATE book_clubs SET
+                member_count = (SELECT COUNT(*) FROM book_club_members m WHERE m.book_club_id = book_clubs.book_club_id)
+            WHERE member_count <> (SELECT COUNT(*) FROM book_club_members m WHERE m.book_club_id = book_clubs.book_club_id)
+            """, nativeQuery = true)
+    int reconcileMemberCounts();
+
+    // Reconciliation — re-derives owner usernames from the OWNER membership
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "book_clubs"))
+    @Query(value = """
+            UPDATE book_clubs SET
+                owner_username = (SELECT u.username FROM book_club_members m JOIN users u ON u.user_id = m.user_id
+                                  WHERE m.book_club_id = book_clubs.book_club_id AND m.role = 'OWNER'
+                                  ORDER BY m.club_member_id LIMIT 1)
+            WHERE owner_username IS DISTINCT FROM
+                  (SELECT u.username FROM book_club_members m JOIN users u ON u.user_id = m.user_id
+                   WHERE m.book_club_id = book_clubs.book_club_id AND m.role = 'OWNER'
+                   ORDER BY m.club_member_id LIMIT 1)
+            """, nativeQuery = true)
+    int reconcileOwnerUsernames();
+
 }
\ No newline at end of file
@@ -2,7 +2,15 @@ package com.noveltea.backend.repository;
 
 import com.noveltea.backend.model.BookList;
 import com.noveltea.backend.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,19 +18,68 @@ import java.util.List;
 @Repository
 public interface BookListRepository extends JpaRepository<BookList, Long> {
 
+    // The list finders fetch the creator in the same query (it is mapped onto every response)
+
     // All lists created by a user (for own profile view)
+    @EntityGraph(attributePaths = "creator")
     List<BookList> findByCreator(User creator);
 
     // Public lists by a user (lists set to visible, to show other users on their profile)
+    @EntityGraph(attributePaths = "creator")
     List<BookList> findByCreatorAndVisibilityTrue(User creator);
 
-    // All public lists (for discovery / browse)
-    List<BookList> findByVisibilityTrue();
+    // Public-list discovery, keyset-paginated (resumes strictly after the previous page's last row)
+
+    @EntityGraph(attributePaths = "creator")
+    @Query("""
+            SELECT l FROM BookList l
+            WHERE l.visibility = true
+              AND (l.followerCount < :followers OR (l.followerCount = :followers AND l.listId < :id))
+            ORDER BY l.followerCount DESC, l.listId DESC
+            """)
+    List<BookList> findPublicPageMostFollowed(@Param("followers") Integer followers, @Param("id") Long id, Limit limit);
+
+    @EntityGraph(attributePaths = "creator")
+    @Query("""
+            SELECT l FROM BookList l
+            WHERE l.visibility = true
+              AND (l.itemCount < :items OR (l.itemCount = :items AND l.listId < :id))
+            ORDER BY l.itemCount DESC, l.listId DESC
+            """)
+    List<BookList> findPublicPageMostBooks(@Param("items") Integer items, @Param("id") Long id, Limit limit);
 
     // Search all public lists by title
+    @EntityGraph(attributePaths = "creator")
     List<BookList> findByVisibilityTrueAndTitleContainingIgnoreCase(String title);
 
     // Used to check whether a specific named list already exists for a user (e.g. "Library")
     boolean existsByCreatorAndTitle(User creator, String title);
 
+    // Atomic +/- on the denormalized counters (never below zero).
+    // "counters" space: cached regions are left alone (lists are not cached themselves).
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "counters"))
+    @Query(value = "UPDATE book_lists SET item_count = GREATEST(item_count + :delta, 0) WHERE list_id = :listId",
+            nativeQuery = true)
+    int adjustItemCount(@Param("listId") Long listId, @Param("delta") int delta);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "counters"))
+    @Query(value = "UPDATE book_lists SET follower_count = GREATEST(follower_count + :delta, 0) WHERE list_id = :listId",
+            nativeQuery = true)
+    int adjustFollowerCount(@Param("listId") Long listId, @Param("delta") int delta);
+
+    // Reconciliation — recomputes both counters from book_list_items / book_list_followers for rows that drifted
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "book_lists"))
+    @Query(value = """
+            UPDATE book_lists SET
+                item_count = (SELECT COUNT(*) FROM book_list_items i WHERE i.list_id = book_lists.list_id),
+                follower_count = (SELECT COUNT(*) FROM book_list_followers f WHERE f.list_id = book_lists.list_id)
+            WHERE item_count <> (SELECT COUNT(*) FROM book_list_items i WHERE i.list_id = book_lists.list_id)
+               OR follower_count <> (SELECT COUNT(*) FROM book_list_followers f WHERE f.list_id = book_lists.list_id)
+            """, nativeQuery = true)
+    int reconcileCounts();
+
 }
\ No newline at end of file
@@ -1,9 +1,17 @@
 package com.noveltea.backend.repository;
 
 import com.noveltea.backend.model.Book;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 // Book uses String as the ID type (Open Library ID, e.g. "OL7353617M")
@@ -15,10 +23,48 @@ import java.util.List;
 @Repository
 public interface BookRepository extends JpaRepository<Book, String> {
 
-    // Used to search locally-cached books by author
-    List<Book> findByAuthorIgnoreCase(String author);
+    // Loads BookSearchIndex — (bookId, title, author) rows in bookId order, one batch past the given id
+    @Query("SELECT b.bookId, b.title, b.author FROM Book b WHERE b.bookId > :after ORDER BY b.bookId")
+    List<Object[]> findSearchFieldsAfter(@Param("after") String after, Limit limit);
 
-    // Used to search locally-cached books by partial title match
-    List<Book> findByTitleContainingIgnoreCase(String title);
+    // Applies one review mutation to the running aggregates and re-derives the rating, in a single statement
+    // (the row lock serialises concurrent reviews on the same book; no reviews are loaded).
+    // "counters" space: the books cache region is left alone and BookService evicts just this book.
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "counters"))
+    @Query(value = """
+            UPDATE books SET
+                rating_sum = rating_sum + :sumDelta,
+                review_count = review_count + :countDelta,
+                rating = CASE WHEN review_count + :countDelta > 0
+                              THEN ROUND((rating_sum + :sumDelta) / (review_count + :countDelta), 1)
+                              ELSE 0 END
+            WHERE book_id = :bookId
+            """, nativeQuery = true)
+    int applyRatingDelta(@Param("bookId") String bookId,
+                         @Param("sumDelta") BigDecimal sumDelta,
+                         @Param("countDelta") int countDelta);
+
+    // Reconciliation — recomputes ratingSum / reviewCount from book_reviews for rows that drifted
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "books"))
+    @Query(value = """
+            UPDATE books SET
+                rating_sum = COALESCE((SELECT SUM(r.rating) FROM book_reviews r WHERE r.book_id = books.book_id), 0),
+                review_count = (SELECT COUNT(*) FROM book_reviews r WHERE r.book_id = books.book_id)
+            WHERE rating_sum <> COALESCE((SELECT SUM(r.rating) FROM book_reviews r WHERE r.book_id = books.book_id), 0)
+               OR review_count <> (SELECT COUNT(*) FROM book_reviews r WHERE r.book_id = books.book_id)
+            """, nativeQuery = true)
+    int reconcileRatingAggregates();
+
+    // Reconciliation — re-derives rating from the aggregates wherever it disagrees
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "books"))
+    @Query(value = """
+            UPDATE books SET
+                rating = CASE WHEN review_count > 0 THEN ROUND(rating_sum / review_count, 1) ELSE 0 END
+            WHERE rating <> CASE WHEN review_count > 0 THEN ROUND(rating_sum / review_count, 1) ELSE 0 END
+            """, nativeQuery = true)
+    int reconcileRatings();
 
 }
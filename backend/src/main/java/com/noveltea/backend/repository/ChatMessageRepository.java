@@ -3,20 +3,30 @@ package com.noveltea.backend.repository;
 import com.noveltea.backend.model.BookClub;
 import com.noveltea.backend.model.ChatMessage;
 import com.noveltea.backend.model.ChatRoom;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
 
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
 
+    // Every finder fetches sender and club in the same query; otherwise each distinct sender costs a select
+
     // Initial load — newest 50, client reverses for display
+    @EntityGraph(attributePaths = {"sender", "bookClub"})
     List<ChatMessage> findTop50ByBookClubAndRoomOrderByMessageIdDesc(BookClub bookClub, ChatRoom room);
 
+    // Warms the in-memory window (ChatMessageBuffer.CAPACITY) — newest 100, caller reverses
+    @EntityGraph(attributePaths = {"sender", "bookClub"})
+    List<ChatMessage> findTop100ByBookClubAndRoomOrderByMessageIdDesc(BookClub bookClub, ChatRoom room);
+
     // Poll — messages newer than the last seen ID, in ascending order
+    @EntityGraph(attributePaths = {"sender", "bookClub"})
     List<ChatMessage> findByBookClubAndRoomAndMessageIdGreaterThanOrderByMessageIdAsc(
             BookClub bookClub, ChatRoom room, Long messageId);
 
     // Scroll-up pagination — 50 messages older than the cursor, in ascending order
+    @EntityGraph(attributePaths = {"sender", "bookClub"})
     List<ChatMessage> findTop50ByBookClubAndRoomAndMessageIdLessThanOrderByMessageIdDesc(
             BookClub bookClub, ChatRoom room, Long messageId);
 }
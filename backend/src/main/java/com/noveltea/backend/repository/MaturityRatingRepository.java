@@ -0,0 +1,15 @@
+package com.noveltea.backend.repository;
+
+import com.noveltea.backend.model.MaturityRating;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MaturityRatingRepository extends JpaRepository<MaturityRating, String> {
+
+    // Startup warm-up — most recently fetched ratings first
+    List<MaturityRating> findAllByOrderByFetchedAtDesc(Limit limit);
+}
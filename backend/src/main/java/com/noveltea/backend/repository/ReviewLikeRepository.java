@@ -4,8 +4,12 @@ import com.noveltea.backend.model.Review;
 import com.noveltea.backend.model.ReviewLike;
 import com.noveltea.backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -17,5 +21,8 @@ public interface ReviewLikeRepository extends JpaRepository<ReviewLike, Long> {
 
     long countByReview(Review review);
 
-    boolean existsByUser_UserIdAndReview_ReviewId(Long userId, Long reviewId);
+    // Which of the given reviews this user has liked — one query for a whole page of reviews.
+    // Callers pass at most ReviewServiceImpl.LIKED_ID_CHUNK IDs (Postgres binds at most 65,535 parameters)
+    @Query("SELECT rl.review.reviewId FROM ReviewLike rl WHERE rl.user.userId = :userId AND rl.review.reviewId IN :reviewIds")
+    List<Long> findLikedReviewIds(@Param("userId") Long userId, @Param("reviewIds") Collection<Long> reviewIds);
 }
\ No newline at end of file
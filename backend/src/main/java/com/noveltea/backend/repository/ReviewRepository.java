@@ -3,10 +3,17 @@ package com.noveltea.backend.repository;
 import com.noveltea.backend.model.Book;
 import com.noveltea.backend.model.Review;
 import com.noveltea.backend.model.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
@@ -32,17 +39,97 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     // Total review count for a book (for display)
     long countByBook(Book book);
 
-
+    // Unpaged book/user listings — author and book are fetched in the same query
+    @EntityGraph(attributePaths = {"user", "book"})
     List<Review> findByBook_BookIdAndVisibilityTrue(String bookId);
+    @EntityGraph(attributePaths = {"user", "book"})
     List<Review> findByUser_UserIdAndBook_BookIdAndVisibilityFalse(Long userId, String bookId);
 
     // Total review count for a user (for profile stats)
     long countByUser_UserId(Long userId);
+    long countByUser_UserIdAndVisibilityTrue(Long userId);
+
+    // A user's own review of a book (at most one), for the book screen
+    @EntityGraph(attributePaths = {"user", "book"})
+    Optional<Review> findFirstByUser_UserIdAndBook_BookId(Long userId, String bookId);
 
     // All reviews written by a user (own profile — includes private)
+    @EntityGraph(attributePaths = {"user", "book"})
     List<Review> findByUser_UserId(Long userId);
 
     // Public reviews written by a user (other users' profiles)
+    @EntityGraph(attributePaths = {"user", "book"})
     List<Review> findByUser_UserIdAndVisibilityTrue(Long userId);
 
+    // ----- KEYSET PAGES -----
+    // Each query seeks past the previous page's last (sort value, reviewId) instead of using OFFSET,
+    // so deep pages cost the same as the first. User and book are fetched in the same query.
+    // Book pages: public reviews plus the viewer's own private ones. User pages: private only when includePrivate.
+
+    @EntityGraph(attributePaths = {"user", "book"})
+    @Query("""
+            SELECT r FROM Review r
+            WHERE r.book.bookId = :bookId
+              AND (r.visibility = true OR r.user.userId = :viewerId)
+              AND (r.creationDate < :date OR (r.creationDate = :date AND r.reviewId < :id))
+            ORDER BY r.creationDate DESC, r.reviewId DESC
+            """)
+    List<Review> findBookPageNewest(@Param("bookId") String bookId, @Param("viewerId") Long viewerId,
+                                    @Param("date") LocalDate date, @Param("id") Long id, Limit limit);
+
+    @EntityGraph(attributePaths = {"user", "book"})
+    @Query("""
+            SELECT r FROM Review r
+            WHERE r.book.bookId = :bookId
+              AND (r.visibility = true OR r.user.userId = :viewerId)
+              AND (r.likes < :likes OR (r.likes = :likes AND r.reviewId < :id))
+            ORDER BY r.likes DESC, r.reviewId DESC
+            """)
+    List<Review> findBookPageMostLiked(@Param("bookId") String bookId, @Param("viewerId") Long viewerId,
+                                       @Param("likes") Integer likes, @Param("id") Long id, Limit limit);
+
+    @EntityGraph(attributePaths = {"user", "book"})
+    @Query("""
+            SELECT r FROM Review r
+            WHERE r.book.bookId = :bookId
+              AND (r.visibility = true OR r.user.userId = :viewerId)
+              AND (r.rating < :rating OR (r.rating = :rating AND r.reviewId < :id))
+            ORDER BY r.rating DESC, r.reviewId DESC
+            """)
+    List<Review> findBookPageHighestRated(@Param("bookId") String bookId, @Param("viewerId") Long viewerId,
+                                          @Param("rating") BigDecimal rating, @Param("id") Long id, Limit limit);
+
+    @EntityGraph(attributePaths = {"user", "book"})
+    @Query("""
+            SELECT r FROM Review r
+            WHERE r.user.userId = :userId
+              AND (r.visibility = true OR :includePrivate = true)
+              AND (r.creationDate < :date OR (r.creationDate = :date AND r.reviewId < :id))
+            ORDER BY r.creationDate DESC, r.reviewId DESC
+            """)
+    List<Review> findUserPageNewest(@Param("userId") Long userId, @Param("includePrivate") boolean includePrivate,
+                                    @Param("date") LocalDate date, @Param("id") Long id, Limit limit);
+
+    @EntityGraph(attributePaths = {"user", "book"})
+    @Query("""
+            SELECT r FROM Review r
+            WHERE r.user.userId = :userId
+              AND (r.visibility = true OR :includePrivate = true)
+              AND (r.likes < :likes OR (r.likes = :likes AND r.reviewId < :id))
+            ORDER BY r.likes DESC, r.reviewId DESC
+            """)
+    List<Review> findUserPageMostLiked(@Param("userId") Long userId, @Param("includePrivate") boolean includePrivate,
+                                       @Param("likes") Integer likes, @Param("id") Long id, Limit limit);
+
+    @EntityGraph(attributePaths = {"user", "book"})
+    @Query("""
+            SELECT r FROM Review r
+            WHERE r.user.userId = :userId
+              AND (r.visibility = true OR :includePrivate = true)
+              AND (r.rating < :rating OR (r.rating = :rating AND r.reviewId < :id))
+            ORDER BY r.rating DESC, r.reviewId DESC
+            """)
+    List<Review> findUserPageHighestRated(@Param("userId") Long userId, @Param("includePrivate") boolean includePrivate,
+                                          @Param("rating") BigDecimal rating, @Param("id") Long id, Limit limit);
+
 }
@@ -0,0 +1,9 @@
+package com.noveltea.backend.repository;
+
+import com.noveltea.backend.model.TrendingCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TrendingCheckpointRepository extends JpaRepository<TrendingCheckpoint, Long> {
+}
@@ -1,7 +1,14 @@
 package com.noveltea.backend.repository;
 
 import com.noveltea.backend.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -20,10 +27,54 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
 
     // Look for an email in the database (returning user if found)
+    // Login and every email-keyed lookup go through here, so the id comes from the query cache
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
 
-    // Look for all usernames containing an entered string
-    List<User> findByUsernameContainingIgnoreCase(String username);
+    // Keyset batches of (userId, username) for public users — loads UsernameIndex
+    @Query("SELECT u.userId, u.username FROM User u WHERE u.privacy = false AND u.userId > :after ORDER BY u.userId")
+    List<Object[]> findPublicUsernamesAfter(@Param("after") Long after, Limit limit);
 
-    List<User> findAllByOrderByPointsDesc();
+    // Leaderboard — top K through idx_user_points, and the points histogram (points, users) that
+    // ranks users outside it, highest points first
+    List<User> findByOrderByPointsDescUserIdAsc(Limit limit);
+
+    @Query("SELECT COALESCE(u.points, 0), COUNT(u) FROM User u GROUP BY COALESCE(u.points, 0) ORDER BY COALESCE(u.points, 0) DESC")
+    List<Object[]> countByPoints();
+
+    // Gamification counters — single-statement updates so concurrent awards never lose increments.
+    // They declare the "counters" query space so the users cache region survives them; callers evict
+    // the one cached user through EntityCacheEvictor instead.
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "counters"))
+    @Query(value = "UPDATE users SET points = points + :points WHERE user_id = :userId", nativeQuery = true)
+    int addPoints(@Param("userId") Long userId, @Param("points") int points);
+
+    // Floors at zero
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "counters"))
+    @Query(value = "UPDATE users SET points = GREATEST(points - :points, 0) WHERE user_id = :userId", nativeQuery = true)
+    int removePoints(@Param("userId") Long userId, @Param("points") int points);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "counters"))
+    @Query(value = """
+            UPDATE users SET
+                review_likes_received = review_likes_received + 1,
+                points = points + :points
+            WHERE user_id = :userId
+            """, nativeQuery = true)
+    int addReceivedLike(@Param("userId") Long userId, @Param("points") int points);
+
+    // Both counters floor at zero
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "counters"))
+    @Query(value = """
+            UPDATE users SET
+                review_likes_received = GREATEST(review_likes_received - 1, 0),
+                points = GREATEST(points - :points, 0)
+            WHERE user_id = :userId
+            """, nativeQuery = true)
+    int removeReceivedLike(@Param("userId") Long userId, @Param("points") int points);
 }
@@ -1,7 +1,6 @@
 package com.noveltea.backend.security;
 
 import com.noveltea.backend.service.JwtService;
-import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,6 +17,13 @@ import java.util.Collections;
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+    // Request attribute holding the token's date of birth ("" = none on the account).
+    // Absent for tokens issued before the claim existed.
+    public static final String DATE_OF_BIRTH_ATTRIBUTE = "dateOfBirth";
+
+    // Stateless — shared across requests
+    private static final WebAuthenticationDetailsSource DETAILS_SOURCE = new WebAuthenticationDetailsSource();
+
     private final JwtService jwtService;
 
     public JwtAuthFilter(JwtService jwtService) {
@@ -48,10 +54,11 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         String token = authHeader.substring(7).trim();
 
         try {
-            Claims claims = jwtService.parseToken(token);
+            // Repeat tokens are answered from JwtService's verified-token cache
+            JwtService.VerifiedToken verified = jwtService.verify(token);
 
-            String userId = claims.getSubject(); // subject = userId
-            String email = claims.get("email", String.class);
+            String userId = verified.userId(); // subject = userId
+            String email = verified.email();
 
             // principal = email (so authentication.getName() returns email)
             var authentication = new UsernamePasswordAuthenticationToken(
@@ -61,11 +68,16 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     );
 
             // standard request details (IP, session id, etc.)
-            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            authentication.setDetails(DETAILS_SOURCE.buildDetails(request));
 
             // store userId somewhere safe for controllers/services
             request.setAttribute("userId", userId);
 
+            String dateOfBirth = verified.dateOfBirth();
+            if (dateOfBirth != null) {
+                request.setAttribute(DATE_OF_BIRTH_ATTRIBUTE, dateOfBirth);
+            }
+
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
         } catch (Exception ex) {
@@ -0,0 +1,30 @@
+package com.noveltea.backend.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory side effects (indexes, caches, open streams, counters) until the surrounding
+ * transaction commits, so they never reflect a write that was rolled back.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Runs the action after the surrounding transaction commits (immediately if there is none).
+     */
+    public static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,6 +1,5 @@
 package com.noveltea.backend.service;
 
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.noveltea.backend.dto.AuthResponse;
@@ -15,18 +14,21 @@ import com.noveltea.backend.repository.UserRepository;
 public class AuthServiceImpl implements AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtService jwtService;
     private final BookListRepository bookListRepository;
+    private final UsernameIndex usernameIndex;
 
     public AuthServiceImpl(UserRepository userRepository,
-                           PasswordEncoder passwordEncoder,
+                           PasswordHasher passwordHasher,
                            JwtService jwtService,
-                           BookListRepository bookListRepository) {
+                           BookListRepository bookListRepository,
+                           UsernameIndex usernameIndex) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.jwtService = jwtService;
         this.bookListRepository = bookListRepository;
+        this.usernameIndex = usernameIndex;
     }
 
     @Override
@@ -41,7 +43,7 @@ public class AuthServiceImpl implements AuthService {
             throw new IllegalArgumentException("Email already in use");
         }
 
-        String hashed = passwordEncoder.encode(request.getPassword());
+        String hashed = passwordHasher.encode(request.getPassword());
 
         User user = User.builder()
                 .email(email)
@@ -52,6 +54,7 @@ public class AuthServiceImpl implements AuthService {
                 .build();
 
         User saved = userRepository.save(user);
+        usernameIndex.onSaved(saved.getUserId(), saved.getUsername(), saved.getPrivacy());
 
         // Every new user gets a private "Library" list created automatically
         bookListRepository.save(BookList.builder()
@@ -61,7 +64,7 @@ public class AuthServiceImpl implements AuthService {
                 .visibility(false)
                 .build());
 
-        String token = jwtService.generateAccessToken(saved.getUserId(), saved.getEmail());
+        String token = jwtService.generateAccessToken(saved.getUserId(), saved.getEmail(), saved.getDateOfBirth());
 
         return new AuthResponse(
                 token,
@@ -76,12 +79,12 @@ public class AuthServiceImpl implements AuthService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid email or password"));
 
-        boolean ok = passwordEncoder.matches(request.getPassword(), user.getHashedPassword());
+        boolean ok = passwordHasher.matches(request.getPassword(), user.getHashedPassword());
         if (!ok) {
             throw new IllegalArgumentException("Invalid email or password");
         }
 
-        String token = jwtService.generateAccessToken(user.getUserId(), user.getEmail());
+        String token = jwtService.generateAccessToken(user.getUserId(), user.getEmail(), user.getDateOfBirth());
 
         return new AuthResponse(
                 token,
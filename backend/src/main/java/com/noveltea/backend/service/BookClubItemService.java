@@ -32,6 +32,7 @@ public class BookClubItemService {
     private final BookClubMemberRepository bookClubMemberRepository;
     private final UserRepository userRepository;
     private final BookService bookService;
+    private final TrendingService trendingService;
 
     // ----- CORE OPERATIONS -----
 
@@ -77,7 +78,9 @@ public class BookClubItemService {
                 .endDate(request.getEndDate())
                 .build();
 
-        return mapToResponse(bookClubItemRepository.save(bookClubItem));
+        BookClubItem saved = bookClubItemRepository.save(bookClubItem);
+        trendingService.record(book.getBookId(), TrendingService.Signal.CLUB_ADD);
+        return mapToResponse(saved);
     }
 
     /**
@@ -162,6 +165,7 @@ public class BookClubItemService {
         }
 
         bookClubItemRepository.delete(bookClubItem);
+        trendingService.retract(bookClubItem.getBook().getBookId(), TrendingService.Signal.CLUB_ADD);
     }
 
     // ----- READ OPERATIONS -----
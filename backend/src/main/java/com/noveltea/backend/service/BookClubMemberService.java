@@ -26,6 +26,8 @@ public class BookClubMemberService {
     private final BookClubMemberRepository bookClubMemberRepository;
     private final BookClubRepository bookClubRepository;
     private final UserRepository userRepository;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final ChatStreamHub chatStreamHub;
 
     // ----- CORE OPERATIONS -----
 
@@ -55,7 +57,10 @@ public class BookClubMemberService {
                 .role(BookClubMemberRole.MEMBER)
                 .build();
 
-        return mapToResponse(bookClubMemberRepository.save(member));
+        BookClubMember saved = bookClubMemberRepository.save(member);
+        bookClubRepository.adjustMemberCount(bookClub.getBookClubId(), 1);
+        entityCacheEvictor.evictAfterCommit(BookClub.class, bookClub.getBookClubId());
+        return mapToResponse(saved);
     }
 
     /**
@@ -78,6 +83,9 @@ public class BookClubMemberService {
         }
 
         bookClubMemberRepository.delete(member);
+        bookClubRepository.adjustMemberCount(bookClubId, -1);
+        entityCacheEvictor.evictAfterCommit(BookClub.class, bookClubId);
+        AfterCommit.run(() -> chatStreamHub.closeMember(bookClubId, userId));
     }
 
     /**
@@ -115,6 +123,10 @@ public class BookClubMemberService {
         }
 
         bookClubMemberRepository.delete(targetMember);
+        bookClubRepository.adjustMemberCount(bookClubId, -1);
+        entityCacheEvictor.evictAfterCommit(BookClub.class, bookClubId);
+        // Open chat streams were authorized when they opened; end them so access is checked again
+        AfterCommit.run(() -> chatStreamHub.closeMember(bookClubId, targetUserId));
     }
 
     /**
@@ -151,6 +163,8 @@ public class BookClubMemberService {
         if (request.getRole() == BookClubMemberRole.OWNER) {
             requesterMember.setRole(BookClubMemberRole.MODERATOR);
             bookClubMemberRepository.save(requesterMember);
+            bookClub.setOwnerUsername(target.getUsername());
+            bookClubRepository.save(bookClub);
         }
 
         targetMember.setRole(request.getRole());
@@ -1,21 +1,31 @@
 package com.noveltea.backend.service;
 
 import com.noveltea.backend.dto.BookClubDto;
+import com.noveltea.backend.dto.CursorPage;
 import com.noveltea.backend.exception.ForbiddenException;
 import com.noveltea.backend.exception.InvalidRequestException;
 import com.noveltea.backend.exception.ResourceNotFoundException;
 import com.noveltea.backend.model.BookClub;
+import com.noveltea.backend.model.BookClubItem;
 import com.noveltea.backend.model.BookClubMember;
 import com.noveltea.backend.model.BookClubMemberRole;
 import com.noveltea.backend.model.User;
+import com.noveltea.backend.repository.BookClubItemRepository;
 import com.noveltea.backend.repository.BookClubMemberRepository;
 import com.noveltea.backend.repository.BookClubRepository;
 import com.noveltea.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @RequiredArgsConstructor
@@ -23,7 +33,26 @@ public class BookClubService {
 
     private final BookClubRepository bookClubRepository;
     private final BookClubMemberRepository bookClubMemberRepository;
+    private final BookClubItemRepository bookClubItemRepository;
+    private final TrendingService trendingService;
     private final UserRepository userRepository;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final ChatStreamHub chatStreamHub;
+
+    // First-page sentinel for MOST_ACTIVE: later than any real activity time
+    private static final LocalDateTime MAX_ACTIVITY = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    // Last activity time this instance wrote per club, so busy rooms skip the UPDATE entirely
+    private final Map<Long, LocalDateTime> activityWritten = new ConcurrentHashMap<>();
+
+    @Value("${app.clubs.activityResolutionSeconds:60}")
+    private long activityResolutionSeconds;
+
+    @Value("${app.discover.pageSize:20}")
+    private int defaultPageSize;
+
+    @Value("${app.discover.maxPageSize:100}")
+    private int maxPageSize;
 
     // ----- CORE OPERATIONS -----
 
@@ -44,6 +73,8 @@ public class BookClubService {
         BookClub bookClub = BookClub.builder()
                 .name(request.getName())
                 .description(request.getDescription())
+                .memberCount(1)
+                .ownerUsername(owner.getUsername())
                 .build();
 
         // Only override the default (false / public) if explicitly provided
@@ -92,6 +123,10 @@ public class BookClubService {
             bookClub.setDescription(request.getDescription());
         }
         if (request.getPrivacy() != null) {
+            // Going private: non-members may be streaming the chat, so everyone reconnects and is checked again
+            if (request.getPrivacy() && !Boolean.TRUE.equals(bookClub.getPrivacy())) {
+                AfterCommit.run(() -> chatStreamHub.closeClub(bookClubId));
+            }
             bookClub.setPrivacy(request.getPrivacy());
         }
 
@@ -117,10 +152,34 @@ public class BookClubService {
             throw new ForbiddenException("Only the owner can delete a club.");
         }
 
+        // Every book on the shelf counted towards trending when it was added
+        for (BookClubItem item : bookClubItemRepository.findByBookClub(bookClub)) {
+            trendingService.retract(item.getBook().getBookId(), TrendingService.Signal.CLUB_ADD);
+        }
         bookClubRepository.delete(bookClub);
+        AfterCommit.run(() -> chatStreamHub.closeClub(bookClubId));
     }
 
 
+    /**
+     * Records chat activity in a club for MOST_ACTIVE discovery.
+     * Coarse on purpose: the stored time moves at most once per activityResolutionSeconds.
+     */
+    @Transactional
+    public void recordActivity(Long bookClubId) {
+        // Whole seconds, so the value in a cursor matches the stored one on every database
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime staleBefore = now.minusSeconds(activityResolutionSeconds);
+
+        LocalDateTime written = activityWritten.get(bookClubId);
+        if (written != null && written.isAfter(staleBefore)) return;
+
+        activityWritten.put(bookClubId, now);
+        if (bookClubRepository.touchActivity(bookClubId, now, staleBefore) > 0) {
+            entityCacheEvictor.evictAfterCommit(BookClub.class, bookClubId);
+        }
+    }
+
     // ----- READ OPERATIONS -----
 
     /**
@@ -138,7 +197,7 @@ public class BookClubService {
     }
 
     /**
-     * Returns all public clubs.
+     * Returns all public clubs. Unpaged; discovery screens use discoverPublicClubs instead.
      */
     @Transactional(readOnly = true)
     public List<BookClubDto.Response> getPublicClubs() {
@@ -149,6 +208,42 @@ public class BookClubService {
             .toList();
     }
 
+    /**
+     * One keyset page of public clubs, ranked by member count or by latest chat activity.
+     * Served from the denormalized columns and their indexes, so no page scans the whole table.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<BookClubDto.Response> discoverPublicClubs(BookClubDto.Sort sort, String cursor, Integer size) {
+        int pageSize = KeysetCursor.pageSize(size, defaultPageSize, maxPageSize);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Long afterId = after == null ? Long.MAX_VALUE : after.id();
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<BookClub> rows = switch (sort) {
+            case MOST_MEMBERS -> bookClubRepository.findPublicPageMostMembers(afterMembers(after), afterId, limit);
+            case MOST_ACTIVE -> bookClubRepository.findPublicPageMostActive(afterActivity(after), afterId, limit);
+        };
+
+        // Rows were fetched with one extra to detect whether another page exists
+        boolean hasMore = rows.size() > pageSize;
+        List<BookClub> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            BookClub last = page.get(page.size() - 1);
+            String value = switch (sort) {
+                case MOST_MEMBERS -> String.valueOf(last.getMemberCount());
+                case MOST_ACTIVE -> last.getLastActivityAt().toString();
+            };
+            nextCursor = new KeysetCursor(value, last.getBookClubId()).encode();
+        }
+
+        return CursorPage.<BookClubDto.Response>builder()
+                .items(page.stream().map(this::mapToResponse).toList())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
     /**
      * Searches public clubs by partial title match (case-insensitive).
      */
@@ -175,33 +270,44 @@ public class BookClubService {
      */
     @Transactional(readOnly = true)
     public List<BookClubDto.Response> getMyClubs(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + userId));
-
-        return bookClubMemberRepository.findByUser(user).stream()
-                .map(member -> mapToResponse(member.getBookClub()))
+        return bookClubMemberRepository.findClubsByUserId(userId).stream()
+                .map(this::mapToResponse)
                 .toList();
     }
 
-    // ----- DTO MAPPING -----
+    // ----- PAGINATION HELPERS -----
+
+    private static Integer afterMembers(KeysetCursor after) {
+        if (after == null) return Integer.MAX_VALUE;
+        try {
+            return Integer.parseInt(after.value());
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("Cursor does not match sort MOST_MEMBERS");
+        }
+    }
 
-    private BookClubDto.Response mapToResponse(BookClub bookClub) {
-        long memberCount = bookClubMemberRepository.countByBookClub(bookClub);
-        String ownerUsername = bookClubMemberRepository
-                .findByBookClubAndRole(bookClub, BookClubMemberRole.OWNER)
-                .stream()
-                .findFirst()
-                .map(m -> m.getUser().getUsername())
-                .orElse(null);
+    private static LocalDateTime afterActivity(KeysetCursor after) {
+        if (after == null) return MAX_ACTIVITY;
+        try {
+            return LocalDateTime.parse(after.value());
+        } catch (DateTimeParseException e) {
+            throw new InvalidRequestException("Cursor does not match sort MOST_ACTIVE");
+        }
+    }
+
+    // ----- DTO MAPPING -----
 
+    // Member count and owner come from the club row's denormalized columns — no extra queries per club
+    BookClubDto.Response mapToResponse(BookClub bookClub) {
         return BookClubDto.Response.builder()
                 .bookClubId(bookClub.getBookClubId())
                 .name(bookClub.getName())
                 .description(bookClub.getDescription())
                 .privacy(bookClub.getPrivacy())
                 .creationDate(bookClub.getCreationDate())
-                .memberCount(memberCount)
-                .ownerUsername(ownerUsername)
+                .memberCount(bookClub.getMemberCount().longValue())
+                .ownerUsername(bookClub.getOwnerUsername())
+                .lastActivityAt(bookClub.getLastActivityAt())
                 .build();
     }
 
@@ -52,7 +52,9 @@ public class BookListFollowerService {
                 .bookList(bookList)
                 .build();
 
-        return mapToResponse(bookListFollowerRepository.save(bookListFollower));
+        BookListFollower saved = bookListFollowerRepository.save(bookListFollower);
+        bookListRepository.adjustFollowerCount(bookList.getListId(), 1);
+        return mapToResponse(saved);
 
     }
 
@@ -69,6 +71,7 @@ public class BookListFollowerService {
         }
 
         bookListFollowerRepository.delete(bookListFollower);
+        bookListRepository.adjustFollowerCount(bookListFollower.getBookList().getListId(), -1);
     }
 
 
@@ -1,14 +1,19 @@
 package com.noveltea.backend.service;
 
 import com.noveltea.backend.dto.BookListDto;
+import com.noveltea.backend.dto.CursorPage;
+import com.noveltea.backend.exception.InvalidRequestException;
 import com.noveltea.backend.exception.ForbiddenException;
 import com.noveltea.backend.exception.ResourceNotFoundException;
 import com.noveltea.backend.model.BookList;
+import com.noveltea.backend.model.ListItem;
 import com.noveltea.backend.model.User;
 import com.noveltea.backend.repository.BookListRepository;
 import com.noveltea.backend.repository.ListItemRepository;
 import com.noveltea.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,9 +25,16 @@ public class BookListService {
 
     private final BookListRepository bookListRepository;
     private final ListItemRepository listItemRepository;
+    private final TrendingService trendingService;
     private final UserRepository userRepository;
     private final GamificationService gamificationService;
 
+    @Value("${app.discover.pageSize:20}")
+    private int defaultPageSize;
+
+    @Value("${app.discover.maxPageSize:100}")
+    private int maxPageSize;
+
     // ----- CORE OPERATIONS -----
 
     /**
@@ -70,10 +82,16 @@ public class BookListService {
         if (request.getDescription() != null) {
             list.setDescription(request.getDescription());
         }
+        boolean wasPublic = list.getVisibility();
         if (request.getVisibility() != null) {
             list.setVisibility(request.getVisibility());
         }
 
+        // Adds to a list only count towards trending while the list is public
+        if (wasPublic != list.getVisibility()) {
+            adjustTrending(list, list.getVisibility());
+        }
+
         return mapToResponse(bookListRepository.save(list));
     }
 
@@ -95,6 +113,9 @@ public class BookListService {
             throw new ForbiddenException("Not authorized to delete this list");
         }
 
+        if (list.getVisibility()) {
+            adjustTrending(list, false);
+        }
         bookListRepository.delete(list);
     }
 
@@ -136,9 +157,7 @@ public class BookListService {
             lists = bookListRepository.findByCreatorAndVisibilityTrue(targetUser);
         }
 
-        return lists.stream()
-                .map(this::mapToResponse)
-                .toList();
+        return mapToResponses(lists);
     }
 
     /**
@@ -147,13 +166,71 @@ public class BookListService {
      */
     @Transactional(readOnly = true)
     public List<BookListDto.Response> searchPublicLists(String title) {
-        return bookListRepository.findByVisibilityTrueAndTitleContainingIgnoreCase(title).stream()
-                .map(this::mapToResponse)
-                .toList();
+        return mapToResponses(bookListRepository.findByVisibilityTrueAndTitleContainingIgnoreCase(title));
+    }
+
+    /**
+     * One keyset page of public lists, ranked by follower count or by number of books.
+     * Served from the denormalized counters and their indexes, so no page scans the whole table.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<BookListDto.Response> discoverPublicLists(BookListDto.Sort sort, String cursor, Integer size) {
+        int pageSize = KeysetCursor.pageSize(size, defaultPageSize, maxPageSize);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Integer afterCount = afterCount(after, sort);
+        Long afterId = after == null ? Long.MAX_VALUE : after.id();
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<BookList> rows = switch (sort) {
+            case MOST_FOLLOWED -> bookListRepository.findPublicPageMostFollowed(afterCount, afterId, limit);
+            case MOST_BOOKS -> bookListRepository.findPublicPageMostBooks(afterCount, afterId, limit);
+        };
+
+        // Rows were fetched with one extra to detect whether another page exists
+        boolean hasMore = rows.size() > pageSize;
+        List<BookList> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            BookList last = page.get(page.size() - 1);
+            int value = sort == BookListDto.Sort.MOST_FOLLOWED ? last.getFollowerCount() : last.getItemCount();
+            nextCursor = new KeysetCursor(String.valueOf(value), last.getListId()).encode();
+        }
+
+        return CursorPage.<BookListDto.Response>builder()
+                .items(mapToResponses(page))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    // ----- PAGINATION HELPERS -----
+
+    private static Integer afterCount(KeysetCursor after, BookListDto.Sort sort) {
+        if (after == null) return Integer.MAX_VALUE;
+        try {
+            return Integer.parseInt(after.value());
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("Cursor does not match sort " + sort);
+        }
+    }
+
+    // ----- TRENDING -----
+
+    // Records (or takes back) one LIST_ADD for every book in the list
+    private void adjustTrending(BookList list, boolean record) {
+        for (ListItem item : listItemRepository.findByBookListOrderBySortOrder(list)) {
+            if (record) trendingService.record(item.getBook().getBookId(), TrendingService.Signal.LIST_ADD);
+            else trendingService.retract(item.getBook().getBookId(), TrendingService.Signal.LIST_ADD);
+        }
     }
 
     // ----- DTO MAPPING -----
 
+    // Book and follower counts come from the list row's denormalized counters — no extra queries per list
+    private List<BookListDto.Response> mapToResponses(List<BookList> lists) {
+        return lists.stream().map(this::mapToResponse).toList();
+    }
+
     private BookListDto.Response mapToResponse(BookList list) {
         return BookListDto.Response.builder()
                 .listId(list.getListId())
@@ -163,7 +240,8 @@ public class BookListService {
                 .description(list.getDescription())
                 .visibility(list.getVisibility())
                 .creationDate(list.getCreationDate())
-                .bookCount(listItemRepository.countByListId(list.getListId()))
+                .bookCount(list.getItemCount())
+                .followerCount(list.getFollowerCount())
                 .build();
     }
 
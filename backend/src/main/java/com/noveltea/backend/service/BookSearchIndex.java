@@ -0,0 +1,551 @@
+package com.noveltea.backend.service;
+
+import com.noveltea.backend.repository.BookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index over book titles and authors, replacing LIKE '%x%' scans of books.
+ *
+ * Rules:
+ *   - Text is lower-cased, accent-stripped and split into words. Every query word must match the
+ *     title or the author (AND). A word matches a term exactly, as a prefix ("harr" → "harry"), or,
+ *     for words of MIN_FUZZY_LENGTH+ characters, within one edit (typo, missing/extra letter, swap).
+ *   - Score per word is its best match (exact > prefix > typo), doubled for title hits; ties go to
+ *     the shorter title. Only the requested page is kept while ranking.
+ *   - The bulk of the index is an immutable snapshot built once per rebuild, with no object per
+ *     posting: sorted term and book ID arrays, an ascending int[] of doc positions per term and field,
+ *     and the one-deletion typo variants packed into one sorted long[] of (variant hash, term).
+ *     Prefixes are one binary search over the terms (capped at MAX_PREFIX_TERMS), so a query touches
+ *     the postings of the matching terms only and never the whole catalog.
+ *   - Books added since the snapshot (BookService, once their insert commits) go into a small
+ *     overlay that queries read next to it; the next rebuild folds them in.
+ *   - Loaded from the database at startup and rebuilt every rebuildMinutes (picks up books added by
+ *     other instances). A rebuild holds the old and the new snapshot at once. A snapshot costs
+ *     roughly 200 bytes per book, about 20 MB at 100k books, which the 256 MB heap in the Procfile
+ *     holds twice over with room to spare. At most maxBooks books are loaded (a warning is logged
+ *     past it); raise it together with the heap.
+ */
+@Slf4j
+@Component
+public class BookSearchIndex {
+
+    public enum Field { TITLE, AUTHOR, ANY }
+
+    private static final int LOAD_BATCH = 5_000;
+    private static final int MAX_QUERY_WORDS = 8;
+    private static final int MAX_PREFIX_TERMS = 64;
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    private static final float EXACT = 3f;
+    private static final float PREFIX = 2f;
+    private static final float FUZZY = 1f;
+    private static final float TITLE_WEIGHT = 2f;
+    private static final float AUTHOR_WEIGHT = 1f;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private static final int[] NONE = new int[0];
+
+    private final BookRepository bookRepository;
+    private final int maxBooks;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    // Orders adds against a rebuild publishing its snapshot
+    private final ReentrantLock addLock = new ReentrantLock();
+
+    private volatile Generation current = new Generation(Snapshot.EMPTY, new Overlay(Snapshot.EMPTY));
+    // Books added while a rebuild is loading, replayed into its overlay (guarded by addLock)
+    private List<String[]> addedDuringRebuild;
+
+    public BookSearchIndex(BookRepository bookRepository,
+                           @Value("${app.books.search.maxBooks:250000}") int maxBooks) {
+        this.bookRepository = bookRepository;
+        this.maxBooks = maxBooks;
+    }
+
+    /**
+     * Indexes a book. Re-adding a known bookId is a no-op (titles and authors never change).
+     */
+    public void add(String bookId, String title, String author) {
+        addLock.lock();
+        try {
+            current.overlay().add(bookId, title, author);
+            if (addedDuringRebuild != null) addedDuringRebuild.add(new String[]{bookId, title, author});
+        } finally {
+            addLock.unlock();
+        }
+    }
+
+    /**
+     * Book IDs matching the query, best first; offset/limit select the page.
+     */
+    public List<String> search(String query, Field field, int offset, int limit) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty() || limit <= 0) return List.of();
+        if (words.size() > MAX_QUERY_WORDS) words = words.subList(0, MAX_QUERY_WORDS);
+
+        Generation index = current;
+        Map<Integer, Float> scores = null;
+        for (String word : words) {
+            Map<Integer, Float> matches = index.match(word, field);
+            scores = scores == null ? matches : intersect(scores, matches);
+            if (scores.isEmpty()) return List.of();
+        }
+        return index.topIds(scores, offset, limit);
+    }
+
+    public int size() {
+        Generation index = current;
+        return index.snapshot().size() + index.overlay().size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.books.search.rebuildMinutes:30}",
+               initialDelayString = "${app.books.search.rebuildMinutes:30}",
+               timeUnit = TimeUnit.MINUTES)
+    public void refresh() {
+        rebuild();
+    }
+
+    // ----- HELPERS -----
+
+    private void rebuild() {
+        if (!rebuildLock.tryLock()) return;
+        try {
+            long start = System.nanoTime();
+            addLock.lock();
+            try {
+                addedDuringRebuild = new ArrayList<>();
+            } finally {
+                addLock.unlock();
+            }
+
+            SnapshotBuilder builder = new SnapshotBuilder();
+            String after = "";
+            load:
+            while (true) {
+                List<Object[]> rows = bookRepository.findSearchFieldsAfter(after, Limit.of(LOAD_BATCH));
+                for (Object[] row : rows) {
+                    if (builder.size() >= maxBooks) {
+                        log.warn("BookSearchIndex: more than {} books stored, indexing the first {} only (app.books.search.maxBooks)",
+                                maxBooks, maxBooks);
+                        break load;
+                    }
+                    builder.add((String) row[0], (String) row[1], (String) row[2]);
+                }
+                if (rows.size() < LOAD_BATCH) break;
+                after = (String) rows.get(rows.size() - 1)[0];
+            }
+            Snapshot snapshot = builder.build();
+
+            // Books added meanwhile may or may not have been loaded; the overlay skips those that were
+            addLock.lock();
+            try {
+                Overlay overlay = new Overlay(snapshot);
+                for (String[] book : addedDuringRebuild) overlay.add(book[0], book[1], book[2]);
+                current = new Generation(snapshot, overlay);
+            } finally {
+                addLock.unlock();
+            }
+            log.info("BookSearchIndex: indexed {} book(s), {} term(s) in {} ms",
+                    snapshot.size(), snapshot.terms.length, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (RuntimeException e) {
+            // Keep serving the previous index
+            log.warn("BookSearchIndex: rebuild failed ({})", e.getMessage());
+        } finally {
+            addLock.lock();
+            try {
+                addedDuringRebuild = null;
+            } finally {
+                addLock.unlock();
+            }
+            rebuildLock.unlock();
+        }
+    }
+
+    private static Map<Integer, Float> intersect(Map<Integer, Float> scores, Map<Integer, Float> matches) {
+        Map<Integer, Float> both = new HashMap<>();
+        for (Map.Entry<Integer, Float> e : scores.entrySet()) {
+            Float score = matches.get(e.getKey());
+            if (score != null) both.put(e.getKey(), e.getValue() + score);
+        }
+        return both;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) return List.of();
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+        return Arrays.stream(SEPARATORS.split(folded))
+                .filter(word -> !word.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    // Levenshtein distance <= 1, counting an adjacent swap ("hobbti" / "hobbit") as one edit
+    static boolean withinOneEdit(String a, String b) {
+        int la = a.length();
+        int lb = b.length();
+        if (Math.abs(la - lb) > 1) return false;
+
+        int i = 0;
+        while (i < la && i < lb && a.charAt(i) == b.charAt(i)) i++;
+        if (i == la && i == lb) return true;
+
+        if (la == lb) {
+            if (a.regionMatches(i + 1, b, i + 1, la - i - 1)) return true;
+            return i + 1 < la
+                    && a.charAt(i) == b.charAt(i + 1)
+                    && a.charAt(i + 1) == b.charAt(i)
+                    && a.regionMatches(i + 2, b, i + 2, la - i - 2);
+        }
+        return la > lb
+                ? a.regionMatches(i + 1, b, i, lb - i)
+                : b.regionMatches(i + 1, a, i, la - i);
+    }
+
+    private static List<String> deletions(String term) {
+        List<String> variants = new ArrayList<>(term.length());
+        for (int i = 0; i < term.length(); i++) {
+            variants.add(term.substring(0, i) + term.substring(i + 1));
+        }
+        return variants;
+    }
+
+    // The query word and its one-deletion variants, looked up against the indexed variants
+    private static List<String> probes(String word) {
+        List<String> probes = new ArrayList<>(deletions(word));
+        probes.add(word);
+        return probes;
+    }
+
+    // ----- INDEX -----
+
+    // Doc positions: the snapshot's come first, then the overlay's
+    private record Generation(Snapshot snapshot, Overlay overlay) {
+
+        Map<Integer, Float> match(String word, Field field) {
+            Map<Integer, Float> hits = new HashMap<>();
+            snapshot.match(hits, word, field);
+            overlay.match(hits, word, field);
+            return hits;
+        }
+
+        List<String> topIds(Map<Integer, Float> scores, int offset, int limit) {
+            Comparator<Map.Entry<Integer, Float>> better = Comparator
+                    .comparing((Map.Entry<Integer, Float> e) -> e.getValue()).reversed()
+                    .thenComparingInt(e -> titleLength(e.getKey()))
+                    .thenComparing(e -> bookId(e.getKey()));
+
+            // Bounded heap of the best offset+limit entries; its head is the worst one kept
+            int keep = offset + limit;
+            PriorityQueue<Map.Entry<Integer, Float>> heap = new PriorityQueue<>(Math.min(keep, scores.size()) + 1, better.reversed());
+            for (Map.Entry<Integer, Float> e : scores.entrySet()) {
+                heap.add(e);
+                if (heap.size() > keep) heap.poll();
+            }
+
+            List<Map.Entry<Integer, Float>> ranked = new ArrayList<>(heap);
+            ranked.sort(better);
+            if (offset >= ranked.size()) return List.of();
+            return ranked.subList(offset, ranked.size()).stream()
+                    .map(e -> bookId(e.getKey()))
+                    .toList();
+        }
+
+        private String bookId(int doc) {
+            return doc < snapshot.size() ? snapshot.bookIds[doc] : overlay.doc(doc).bookId();
+        }
+
+        private int titleLength(int doc) {
+            return doc < snapshot.size() ? snapshot.titleLengths[doc] : overlay.doc(doc).titleLength();
+        }
+    }
+
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new SnapshotBuilder().build();
+
+        // Doc position -> book; sortedBookIds is the same IDs in order, for membership checks
+        final String[] bookIds;
+        final int[] titleLengths;
+        final String[] sortedBookIds;
+        // Sorted terms; titlePostings[t] and authorPostings[t] are the ascending doc positions of terms[t]
+        final String[] terms;
+        final int[][] titlePostings;
+        final int[][] authorPostings;
+        // (hash of a one-deletion variant or of the term itself) << 32 | term position; sorted, distinct
+        final long[] variants;
+
+        Snapshot(String[] bookIds, int[] titleLengths, String[] terms, int[][] titlePostings,
+                 int[][] authorPostings, long[] variants) {
+            this.bookIds = bookIds;
+            this.titleLengths = titleLengths;
+            this.sortedBookIds = bookIds.clone();
+            Arrays.sort(sortedBookIds);
+            this.terms = terms;
+            this.titlePostings = titlePostings;
+            this.authorPostings = authorPostings;
+            this.variants = variants;
+        }
+
+        int size() {
+            return bookIds.length;
+        }
+
+        boolean contains(String bookId) {
+            return Arrays.binarySearch(sortedBookIds, bookId) >= 0;
+        }
+
+        void match(Map<Integer, Float> hits, String word, Field field) {
+            int at = Arrays.binarySearch(terms, word);
+            if (at >= 0) collect(hits, at, field, EXACT);
+
+            int from = at >= 0 ? at + 1 : -at - 1;
+            for (int t = from; t < terms.length && t - from < MAX_PREFIX_TERMS && terms[t].startsWith(word); t++) {
+                collect(hits, t, field, PREFIX);
+            }
+
+            if (word.length() >= MIN_FUZZY_LENGTH) {
+                for (int t : typoTerms(word)) {
+                    collect(hits, t, field, FUZZY);
+                }
+            }
+        }
+
+        // Terms one edit away; a hash collision is a false candidate that withinOneEdit rejects
+        private Set<Integer> typoTerms(String word) {
+            Set<Integer> found = new HashSet<>();
+            for (String probe : probes(word)) {
+                int hash = probe.hashCode();
+                int i = Arrays.binarySearch(variants, (long) hash << 32);
+                for (i = i >= 0 ? i : -i - 1; i < variants.length && (int) (variants[i] >> 32) == hash; i++) {
+                    int t = (int) variants[i];
+                    if (!terms[t].startsWith(word) && withinOneEdit(word, terms[t])) found.add(t);
+                }
+            }
+            return found;
+        }
+
+        private void collect(Map<Integer, Float> hits, int t, Field field, float weight) {
+            if (field != Field.AUTHOR) {
+                for (int doc : titlePostings[t]) hits.merge(doc, weight * TITLE_WEIGHT, Math::max);
+            }
+            if (field != Field.TITLE) {
+                for (int doc : authorPostings[t]) hits.merge(doc, weight * AUTHOR_WEIGHT, Math::max);
+            }
+        }
+    }
+
+    // Collects one rebuild's postings in growable int[]s, then packs them into a Snapshot.
+    // Rows arrive once per book in load order, so each posting list is already ascending and distinct.
+    private static final class SnapshotBuilder {
+
+        private final List<String> bookIds = new ArrayList<>();
+        private int[] titleLengths = new int[1_024];
+        private final Map<String, IntList[]> postings = new HashMap<>();
+
+        int size() {
+            return bookIds.size();
+        }
+
+        void add(String bookId, String title, String author) {
+            int doc = bookIds.size();
+            bookIds.add(bookId);
+            if (doc == titleLengths.length) titleLengths = Arrays.copyOf(titleLengths, doc * 2);
+            titleLengths[doc] = title == null ? 0 : title.length();
+
+            for (String word : tokenize(title)) postings(word)[0].add(doc);
+            for (String word : tokenize(author)) postings(word)[1].add(doc);
+        }
+
+        Snapshot build() {
+            String[] terms = postings.keySet().toArray(new String[0]);
+            Arrays.sort(terms);
+
+            int[][] title = new int[terms.length][];
+            int[][] author = new int[terms.length][];
+            long[] variants = new long[terms.length * 4 + 16];
+            int count = 0;
+            for (int t = 0; t < terms.length; t++) {
+                String term = terms[t];
+                IntList[] lists = postings.get(term);
+                title[t] = lists[0].toArray();
+                author[t] = lists[1].toArray();
+
+                if (term.length() >= MIN_FUZZY_LENGTH - 1) {
+                    variants = append(variants, count++, variantKey(term, t));
+                }
+                if (term.length() >= MIN_FUZZY_LENGTH) {
+                    for (String variant : deletions(term)) {
+                        variants = append(variants, count++, variantKey(variant, t));
+                    }
+                }
+            }
+
+            // Sorted and distinct, so a lookup's binary search lands on the first entry for its hash
+            Arrays.sort(variants, 0, count);
+            int distinct = 0;
+            for (int i = 0; i < count; i++) {
+                if (distinct == 0 || variants[i] != variants[distinct - 1]) variants[distinct++] = variants[i];
+            }
+
+            return new Snapshot(bookIds.toArray(new String[0]), Arrays.copyOf(titleLengths, bookIds.size()),
+                    terms, title, author, Arrays.copyOf(variants, distinct));
+        }
+
+        private IntList[] postings(String term) {
+            return postings.computeIfAbsent(term, t -> new IntList[]{new IntList(), new IntList()});
+        }
+
+        private static long variantKey(String variant, int term) {
+            return (long) variant.hashCode() << 32 | term;
+        }
+
+        private static long[] append(long[] values, int size, long value) {
+            long[] target = size == values.length ? Arrays.copyOf(values, size * 2) : values;
+            target[size] = value;
+            return target;
+        }
+    }
+
+    private static final class IntList {
+
+        private int[] values = NONE;
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, Math.max(4, size * 2));
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return size == 0 ? NONE : Arrays.copyOf(values, size);
+        }
+    }
+
+    private record Doc(String bookId, int titleLength) {}
+
+    private record Postings(Set<Integer> title, Set<Integer> author) {
+        static Postings create() {
+            return new Postings(ConcurrentHashMap.newKeySet(), ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    // Books added since the snapshot was built. It stays small (one rebuild interval of new books),
+    // so it keeps a simple concurrent layout that can grow while queries read it.
+    private static final class Overlay {
+
+        private final Snapshot snapshot;
+        private final AtomicInteger nextDocId;
+        private final Map<String, Integer> docIdsByBook = new ConcurrentHashMap<>();
+        private final Map<Integer, Doc> docs = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListMap<String, Postings> terms = new ConcurrentSkipListMap<>();
+        // One-deletion variant (and the term itself) -> terms, for typo lookups
+        private final Map<String, Set<String>> variants = new ConcurrentHashMap<>();
+
+        Overlay(Snapshot snapshot) {
+            this.snapshot = snapshot;
+            this.nextDocId = new AtomicInteger(snapshot.size());
+        }
+
+        int size() {
+            return docs.size();
+        }
+
+        Doc doc(int docId) {
+            return docs.get(docId);
+        }
+
+        void add(String bookId, String title, String author) {
+            if (snapshot.contains(bookId) || docIdsByBook.containsKey(bookId)) return;
+            int docId = nextDocId.getAndIncrement();
+            docIdsByBook.put(bookId, docId);
+
+            docs.put(docId, new Doc(bookId, title == null ? 0 : title.length()));
+            for (String word : tokenize(title)) postings(word).title().add(docId);
+            for (String word : tokenize(author)) postings(word).author().add(docId);
+        }
+
+        void match(Map<Integer, Float> hits, String word, Field field) {
+            if (docs.isEmpty()) return;
+            collect(hits, terms.get(word), field, EXACT);
+
+            int expanded = 0;
+            for (Postings postings : terms.subMap(word, false, word + Character.MAX_VALUE, false).values()) {
+                if (++expanded > MAX_PREFIX_TERMS) break;
+                collect(hits, postings, field, PREFIX);
+            }
+
+            if (word.length() >= MIN_FUZZY_LENGTH) {
+                for (String term : typoTerms(word)) {
+                    collect(hits, terms.get(term), field, FUZZY);
+                }
+            }
+        }
+
+        private Postings postings(String term) {
+            return terms.computeIfAbsent(term, t -> {
+                if (t.length() >= MIN_FUZZY_LENGTH - 1) {
+                    variants.computeIfAbsent(t, k -> ConcurrentHashMap.newKeySet()).add(t);
+                }
+                if (t.length() >= MIN_FUZZY_LENGTH) {
+                    for (String variant : deletions(t)) {
+                        variants.computeIfAbsent(variant, k -> ConcurrentHashMap.newKeySet()).add(t);
+                    }
+                }
+                return Postings.create();
+            });
+        }
+
+        // Terms one edit away; exact and prefix matches are already counted at a higher weight
+        private Set<String> typoTerms(String word) {
+            Set<String> found = new HashSet<>();
+            for (String probe : probes(word)) {
+                Set<String> candidates = variants.get(probe);
+                if (candidates == null) continue;
+                for (String term : candidates) {
+                    if (!term.startsWith(word) && withinOneEdit(word, term)) found.add(term);
+                }
+            }
+            return found;
+        }
+
+        private static void collect(Map<Integer, Float> hits, Postings postings, Field field, float weight) {
+            if (postings == null) return;
+            if (field != Field.AUTHOR) {
+                for (Integer docId : postings.title()) hits.merge(docId, weight * TITLE_WEIGHT, Math::max);
+            }
+            if (field != Field.TITLE) {
+                for (Integer docId : postings.author()) hits.merge(docId, weight * AUTHOR_WEIGHT, Math::max);
+            }
+        }
+    }
+}
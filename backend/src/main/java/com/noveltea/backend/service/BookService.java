@@ -3,23 +3,36 @@ package com.noveltea.backend.service;
 import com.noveltea.backend.dto.BookDto;
 import com.noveltea.backend.exception.ResourceNotFoundException;
 import com.noveltea.backend.model.Book;
-import com.noveltea.backend.model.Review;
 import com.noveltea.backend.repository.BookRepository;
-import com.noveltea.backend.repository.ReviewRepository;
+import com.noveltea.backend.exception.InvalidRequestException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class BookService {
 
+    private static final int MAX_SEARCH_RESULTS = 1_000;
+
     private final BookRepository bookRepository;
-    private final ReviewRepository reviewRepository;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final BookSearchIndex bookSearchIndex;
+
+    @Value("${app.books.search.pageSize:20}")
+    private int searchPageSize;
+
+    @Value("${app.books.search.maxPageSize:100}")
+    private int searchMaxPageSize;
 
     // ----- CORE DB OPERATIONS -----
 
@@ -45,15 +58,49 @@ public class BookService {
                     }
                     return existing;
                 })
-                .orElseGet(() -> bookRepository.save(
-                        Book.builder()
-                                .bookId(normalizedId)
-                                .title(title)
-                                .author(author)
-                                .coverImageUrl(coverImageUrl)
-                                .description(description)
-                                .build()
-                ));
+                .orElseGet(() -> {
+                    Book saved = bookRepository.save(
+                            Book.builder()
+                                    .bookId(normalizedId)
+                                    .title(title)
+                                    .author(author)
+                                    .coverImageUrl(coverImageUrl)
+                                    .description(description)
+                                    .build()
+                    );
+                    // Searchable once the insert has committed
+                    AfterCommit.run(() -> bookSearchIndex.add(saved.getBookId(), saved.getTitle(), saved.getAuthor()));
+                    return saved;
+                });
+    }
+
+    /**
+     * Batch form of ensureBookExists for metadata that arrives in bulk (OpenLibraryService search
+     * results): one lookup for the whole batch, and only the missing books are inserted (plain
+     * inserts, since a built Book reports itself as new). Returns the number of books inserted.
+     */
+    @Transactional
+    public int ensureBooksExist(List<BookDto.Request> requests) {
+        Map<String, BookDto.Request> byId = new LinkedHashMap<>();
+        for (BookDto.Request request : requests) {
+            String bookId = request.getBookId();
+            byId.putIfAbsent(bookId.startsWith("/works/") ? bookId.substring(7) : bookId, request);
+        }
+        if (byId.isEmpty()) return 0;
+
+        bookRepository.findAllById(byId.keySet()).forEach(existing -> byId.remove(existing.getBookId()));
+        List<Book> inserted = bookRepository.saveAll(byId.entrySet().stream()
+                .map(e -> Book.builder()
+                        .bookId(e.getKey())
+                        .title(e.getValue().getTitle())
+                        .author(e.getValue().getAuthor())
+                        .coverImageUrl(e.getValue().getCoverImageUrl())
+                        .description(e.getValue().getDescription())
+                        .build())
+                .toList());
+
+        AfterCommit.run(() -> inserted.forEach(book -> bookSearchIndex.add(book.getBookId(), book.getTitle(), book.getAuthor())));
+        return inserted.size();
     }
 
     /**
@@ -85,21 +132,35 @@ public class BookService {
     }
 
     /**
-     * Searches books in db by partial title match (case-insensitive).
+     * Ranked search of stored books through BookSearchIndex (page is zero-based).
+     * Whole-word matches rank above prefixes ("harr" → "Harry"), which rank above one-typo matches;
+     * title hits rank above author hits. Only the page's books are loaded from the db.
      */
     @Transactional(readOnly = true)
-    public List<BookDto.Response> searchByTitle(String title) {
-        return bookRepository.findByTitleContainingIgnoreCase(title).stream()
-                .map(this::mapToResponse)
-                .toList();
+    public List<BookDto.Response> search(String query, BookSearchIndex.Field field, int page, Integer size) {
+        int pageSize = KeysetCursor.pageSize(size, searchPageSize, searchMaxPageSize);
+        if (page < 0) throw new InvalidRequestException("page must not be negative");
+        // Deep pages of a relevance ranking are never useful and would make the ranking keep everything
+        long offset = (long) page * pageSize;
+        if (offset >= MAX_SEARCH_RESULTS) return List.of();
+
+        // Keep the index's ranking; ids whose insert rolled back are simply skipped
+        return getBooksInOrder(bookSearchIndex.search(query, field, (int) offset, pageSize));
     }
 
     /**
-     * Searches books in db by exact author name (case-insensitive).
+     * The given books, in the given order, loaded in one query. Unknown IDs are skipped.
+     * Used by rankings computed elsewhere (search index, trending).
      */
     @Transactional(readOnly = true)
-    public List<BookDto.Response> searchByAuthor(String author) {
-        return bookRepository.findByAuthorIgnoreCase(author).stream()
+    public List<BookDto.Response> getBooksInOrder(List<String> bookIds) {
+        if (bookIds.isEmpty()) return List.of();
+
+        Map<String, Book> books = bookRepository.findAllById(bookIds).stream()
+                .collect(Collectors.toMap(Book::getBookId, Function.identity()));
+        return bookIds.stream()
+                .map(books::get)
+                .filter(Objects::nonNull)
                 .map(this::mapToResponse)
                 .toList();
     }
@@ -117,32 +178,17 @@ public class BookService {
     // ----- RATING CALCULATION -----
 
     /**
-     * Recalculates a book's average rating from all its reviews.
-     * Called by ReviewService after a review is created, updated, or deleted.
-     * Rounds to 1 decimal place (e.g. 3.7).
+     * Applies a single review mutation to a book's running rating aggregates.
+     * Called by ReviewService after a review is created (+rating, +1), updated (new - old, 0), or deleted (-rating, -1).
+     * The rating is re-derived in the same statement and rounded to 1 decimal place (e.g. 3.7).
+     * Drift (e.g. reviews removed by cascade) is corrected by CounterReconciliationJob.
      */
     @Transactional
-    public void recalculateRating(String bookId) {
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new ResourceNotFoundException("Book not found: " + bookId));
-
-        List<Review> reviews = reviewRepository.findByBook(book);
-
-        if (reviews.isEmpty()) {
-            book.setRating(BigDecimal.ZERO);
-        } else {
-            BigDecimal sum = reviews.stream()
-                    .map(Review::getRating)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            BigDecimal average = sum.divide(
-                    BigDecimal.valueOf(reviews.size()), 1, RoundingMode.HALF_UP
-            );
-
-            book.setRating(average);
+    public void applyRatingDelta(String bookId, BigDecimal sumDelta, int countDelta) {
+        if (bookRepository.applyRatingDelta(bookId, sumDelta, countDelta) == 0) {
+            throw new ResourceNotFoundException("Book not found: " + bookId);
         }
-
-        bookRepository.save(book);
+        entityCacheEvictor.evictAfterCommit(Book.class, bookId);
     }
 
     // ----- DTO MAPPING -----
@@ -0,0 +1,198 @@
+package com.noveltea.backend.service;
+
+import com.noveltea.backend.dto.ChatMessageDto;
+import com.noveltea.backend.model.ChatRoom;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bounded in-memory window of the newest chat messages per (club, room).
+ *
+ * Rules:
+ *   - Each room keeps at most CAPACITY messages, ordered by messageId. Older ones fall off the front.
+ *   - Filled on send (after commit) and warmed lazily from the DB on the first read of a room.
+ *   - A window is an immutable snapshot swapped in with compare-and-set, so readers never lock
+ *     and concurrent sends/warm-ups merge instead of overwriting each other.
+ *   - floorId marks the window's coverage: every message with an ID greater than floorId is in it.
+ *     Reads whose cursor falls below the floor return null and the caller goes to the DB.
+ *   - Once warm, a window serves reads without any query. That relies on every send passing through
+ *     this instance's append(), i.e. a single backend instance. Deployments with more than one set
+ *     app.chat.buffer.enabled=false: reads then go to the DB (recent() loads each time, since() and
+ *     before() return null).
+ *   - Rooms without a new message for IDLE_EVICTION_MS are dropped (reads alone do not keep a room);
+ *     MAX_ROOMS caps the total.
+ */
+@Component
+public class ChatMessageBuffer {
+
+    static final int CAPACITY = 100;
+    private static final long IDLE_EVICTION_MS = 15 * 60 * 1000L;
+    private static final int MAX_ROOMS = 5_000;
+
+    private static final ChatMessageDto.Response[] NONE = new ChatMessageDto.Response[0];
+
+    private final Map<ChatStreamHub.RoomKey, RoomBuffer> rooms = new ConcurrentHashMap<>();
+    private final boolean enabled;
+
+    // messages ascending by ID; warm=false means only live appends so far (not yet safe to serve)
+    private record Window(ChatMessageDto.Response[] messages, long floorId, boolean warm) {}
+
+    /**
+     * The DB side of one room, supplied by the caller.
+     */
+    public interface RoomSource {
+
+        // Newest CAPACITY messages, ascending
+        List<ChatMessageDto.Response> loadNewest();
+    }
+
+    private static final class RoomBuffer {
+        private final AtomicReference<Window> window = new AtomicReference<>(new Window(NONE, Long.MAX_VALUE, false));
+        private volatile long lastWrite = System.currentTimeMillis();
+    }
+
+    public ChatMessageBuffer(@Value("${app.chat.buffer.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    // ----- WRITES -----
+
+    /**
+     * Adds a committed message to its room's window.
+     * Rooms nobody has read yet still collect appends, so a warm-up racing with a send cannot miss it.
+     */
+    public void append(ChatMessageDto.Response message) {
+        if (!enabled) return;
+        RoomBuffer buffer = buffer(message.getClubId(), ChatRoom.valueOf(message.getRoom()));
+        buffer.lastWrite = System.currentTimeMillis();
+        Window current;
+        Window next;
+        do {
+            current = buffer.window.get();
+            next = merge(current, new ChatMessageDto.Response[] { message }, current.floorId, current.warm);
+        } while (!buffer.window.compareAndSet(current, next));
+    }
+
+    // ----- READS -----
+
+    /**
+     * Newest {@code limit} messages, ascending.
+     */
+    public List<ChatMessageDto.Response> recent(Long clubId, ChatRoom room, int limit, RoomSource source) {
+        ChatMessageDto.Response[] messages = enabled
+                ? window(clubId, room, source).messages
+                : source.loadNewest().toArray(NONE);
+        return List.of(Arrays.copyOfRange(messages, Math.max(0, messages.length - limit), messages.length));
+    }
+
+    /**
+     * Messages newer than {@code afterId}, ascending, or null if the cursor is older than the window.
+     */
+    public List<ChatMessageDto.Response> since(Long clubId, ChatRoom room, long afterId, RoomSource source) {
+        if (!enabled) return null;
+        Window window = window(clubId, room, source);
+        if (afterId < window.floorId) return null;
+
+        ChatMessageDto.Response[] messages = window.messages;
+        int from = firstIndexAbove(messages, afterId);
+        return List.of(Arrays.copyOfRange(messages, from, messages.length));
+    }
+
+    /**
+     * Up to {@code limit} messages older than {@code beforeId}, ascending, or null if the window
+     * cannot prove it holds all of them.
+     */
+    public List<ChatMessageDto.Response> before(Long clubId, ChatRoom room, long beforeId, int limit, RoomSource source) {
+        if (!enabled) return null;
+        Window window = window(clubId, room, source);
+        ChatMessageDto.Response[] messages = window.messages;
+
+        int end = firstIndexAbove(messages, beforeId - 1);
+        if (end < limit && window.floorId > 0) return null;
+
+        return List.of(Arrays.copyOfRange(messages, Math.max(0, end - limit), end));
+    }
+
+    // ----- EVICTION -----
+
+    @Scheduled(fixedRate = 60_000)
+    public void evictIdleRooms() {
+        long cutoff = System.currentTimeMillis() - IDLE_EVICTION_MS;
+        rooms.entrySet().removeIf(e -> e.getValue().lastWrite < cutoff);
+
+        int overflow = rooms.size() - MAX_ROOMS;
+        if (overflow > 0) {
+            rooms.entrySet().stream()
+                    .sorted(Comparator.comparingLong(e -> e.getValue().lastWrite))
+                    .limit(overflow)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(rooms::remove);
+        }
+    }
+
+    // ----- HELPERS -----
+
+    // Only appends refresh lastWrite, so a room that is polled but silent still ages out
+    private RoomBuffer buffer(Long clubId, ChatRoom room) {
+        return rooms.computeIfAbsent(new ChatStreamHub.RoomKey(clubId, room), k -> new RoomBuffer());
+    }
+
+    // The room's window, warmed from the DB on its first read; a warm window costs no query
+    private Window window(Long clubId, ChatRoom room, RoomSource source) {
+        RoomBuffer buffer = buffer(clubId, room);
+        Window current = buffer.window.get();
+        return current.warm ? current : load(buffer, source);
+    }
+
+    // Merges the newest messages from the DB into the window and marks it warm
+    private Window load(RoomBuffer buffer, RoomSource source) {
+        // Newest CAPACITY messages ascending; fewer means the room's full history
+        ChatMessageDto.Response[] loaded = source.loadNewest().toArray(NONE);
+        long floorId = loaded.length < CAPACITY ? 0L : loaded[0].getMessageId() - 1;
+
+        Window current;
+        Window next;
+        do {
+            current = buffer.window.get();
+            next = merge(current, loaded, floorId, true);
+        } while (!buffer.window.compareAndSet(current, next));
+        return next;
+    }
+
+    // Union by messageId, trimmed to CAPACITY; trimming raises the floor to the last dropped ID.
+    // A warm window keeps nothing at or below its floor, so whatever it returns has no gaps.
+    private static Window merge(Window current, ChatMessageDto.Response[] incoming, long floorId, boolean warm) {
+        TreeMap<Long, ChatMessageDto.Response> byId = new TreeMap<>();
+        for (ChatMessageDto.Response m : current.messages) byId.put(m.getMessageId(), m);
+        for (ChatMessageDto.Response m : incoming) byId.put(m.getMessageId(), m);
+        if (warm) byId.headMap(floorId, true).clear();
+
+        long floor = floorId;
+        while (byId.size() > CAPACITY) {
+            floor = Math.max(floor, byId.pollFirstEntry().getKey());
+        }
+        return new Window(byId.values().toArray(NONE), floor, warm);
+    }
+
+    // Index of the first message with an ID greater than {@code id} (messages are ascending)
+    private static int firstIndexAbove(ChatMessageDto.Response[] messages, long id) {
+        int lo = 0;
+        int hi = messages.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (messages[mid].getMessageId() <= id) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
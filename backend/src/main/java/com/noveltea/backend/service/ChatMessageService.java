@@ -8,6 +8,7 @@ import com.noveltea.backend.repository.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Collections;
 import java.util.List;
@@ -22,6 +23,11 @@ public class ChatMessageService {
     private final BookClubItemRepository bookClubItemRepository;
     private final UserRepository userRepository;
     private final GamificationService gamificationService;
+    private final BookClubService bookClubService;
+    private final ChatStreamHub chatStreamHub;
+    private final ChatMessageBuffer chatMessageBuffer;
+
+    private static final int PAGE_SIZE = 50;
 
     // POST — send a message; auto-attaches current active book for BOOK_DISCUSSION
     @Transactional
@@ -50,24 +56,34 @@ public class ChatMessageService {
 
         ChatMessage saved = chatMessageRepository.save(builder.build());
         gamificationService.updateDailyStreak(userId);
-        return toResponse(saved);
-}
+        bookClubService.recordActivity(clubId);
+
+        ChatMessageDto.Response response = toResponse(saved);
+        // Push to open streams and the recent-message window only once the message is durable
+        AfterCommit.run(() -> {
+            chatMessageBuffer.append(response);
+            chatStreamHub.publish(response);
+        });
+        return response;
+    }
 
     // GET — initial load (no cursor), newest 50 returned in ascending order
+    // Served from the in-memory window; only a cold window (first read, or idle and evicted) queries the DB
     @Transactional(readOnly = true)
     public List<ChatMessageDto.Response> getRecentMessages(Long userId, Long clubId, ChatRoom room) {
         BookClub club = requireAccess(userId, clubId);
-        List<ChatMessage> messages = chatMessageRepository
-                .findTop50ByBookClubAndRoomOrderByMessageIdDesc(club, room);
-        // Reverse to chronological (oldest first) for display
-        Collections.reverse(messages);
-        return messages.stream().map(this::toResponse).toList();
+        return chatMessageBuffer.recent(clubId, room, PAGE_SIZE, roomSource(club, room));
     }
 
     // GET — poll for messages newer than a given ID (ascending)
+    // Falls back to the DB only when the cursor is older than the in-memory window
     @Transactional(readOnly = true)
     public List<ChatMessageDto.Response> getMessagesSince(Long userId, Long clubId, ChatRoom room, Long afterId) {
         BookClub club = requireAccess(userId, clubId);
+        List<ChatMessageDto.Response> buffered =
+                chatMessageBuffer.since(clubId, room, afterId, roomSource(club, room));
+        if (buffered != null) return buffered;
+
         return chatMessageRepository
                 .findByBookClubAndRoomAndMessageIdGreaterThanOrderByMessageIdAsc(club, room, afterId)
                 .stream().map(this::toResponse).toList();
@@ -77,12 +93,34 @@ public class ChatMessageService {
     @Transactional(readOnly = true)
     public List<ChatMessageDto.Response> getMessagesBefore(Long userId, Long clubId, ChatRoom room, Long beforeId) {
         BookClub club = requireAccess(userId, clubId);
+        List<ChatMessageDto.Response> buffered =
+                chatMessageBuffer.before(clubId, room, beforeId, PAGE_SIZE, roomSource(club, room));
+        if (buffered != null) return buffered;
+
         List<ChatMessage> messages = chatMessageRepository
                 .findTop50ByBookClubAndRoomAndMessageIdLessThanOrderByMessageIdDesc(club, room, beforeId);
         Collections.reverse(messages);
         return messages.stream().map(this::toResponse).toList();
     }
 
+    // GET — server-sent event stream; replays messages after the cursor (or the newest 50), then pushes live
+    // Access is checked once when the stream opens instead of on every poll
+    @Transactional(readOnly = true)
+    public SseEmitter openStream(Long userId, Long clubId, ChatRoom room, Long afterId) {
+        BookClub club = requireAccess(userId, clubId);
+        return chatStreamHub.open(clubId, room, userId, () -> {
+            if (afterId == null) {
+                return chatMessageBuffer.recent(clubId, room, PAGE_SIZE, roomSource(club, room));
+            }
+            List<ChatMessageDto.Response> buffered =
+                    chatMessageBuffer.since(clubId, room, afterId, roomSource(club, room));
+            if (buffered != null) return buffered;
+            return chatMessageRepository
+                    .findByBookClubAndRoomAndMessageIdGreaterThanOrderByMessageIdAsc(club, room, afterId)
+                    .stream().map(this::toResponse).toList();
+        });
+    }
+
     // ── helpers ──────────────────────────────────────────────────────────────
 
     private void requireMember(Long userId, BookClub club) {
@@ -106,7 +144,19 @@ public class ChatMessageService {
         return club;
     }
 
-    private ChatMessageDto.Response toResponse(ChatMessage m) {
+    // Lets the in-memory window warm itself from the DB
+    private ChatMessageBuffer.RoomSource roomSource(BookClub club, ChatRoom room) {
+        return new ChatMessageBuffer.RoomSource() {
+            @Override
+            public List<ChatMessageDto.Response> loadNewest() {
+                List<ChatMessage> messages = chatMessageRepository.findTop100ByBookClubAndRoomOrderByMessageIdDesc(club, room);
+                Collections.reverse(messages);
+                return messages.stream().map(ChatMessageService.this::toResponse).toList();
+            }
+        };
+    }
+
+    ChatMessageDto.Response toResponse(ChatMessage m) {
         return ChatMessageDto.Response.builder()
                 .messageId(m.getMessageId())
                 .clubId(m.getBookClub().getBookClubId())
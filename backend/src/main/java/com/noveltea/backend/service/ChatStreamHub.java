@@ -0,0 +1,369 @@
+package com.noveltea.backend.service;
+
+import com.noveltea.backend.dto.ChatMessageDto;
+import com.noveltea.backend.model.ChatRoom;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * In-process fan-out hub for club chat streams.
+ *
+ * Each (club, room) pair has its own set of open SSE connections. ChatMessageService publishes
+ * a message here once its transaction commits, and every subscriber of that room receives it
+ * without another database round trip.
+ *
+ * Rules:
+ *   - Every subscriber has its own bounded send queue, drained by a sender thread that only exists
+ *     while that queue is non-empty. Publishing only enqueues, so neither the sender's request nor
+ *     other subscribers ever wait on a slow or half-open client. Each subscriber sees messages in
+ *     publish order, which is commit order and not always ID order.
+ *   - A subscriber whose queue reaches maxQueued, or whose current write has been stuck for
+ *     sendStallMs, is dropped. The client reconnects with its last seen ID and catches up.
+ *   - A new subscriber first replays its backlog (messages after the client's cursor); anything
+ *     published meanwhile is held back and queued once the backlog has been sent.
+ *   - Streams belong to a user. Leaving or being removed from a club closes that user's streams for
+ *     the club; deleting a club or making it private closes all of its streams, so access is checked
+ *     again when the client reconnects.
+ *   - Hub state is per backend instance. Clients that miss a message (restart, other instance)
+ *     recover it on reconnect through the ?after= cursor.
+ */
+@Slf4j
+@Component
+public class ChatStreamHub {
+
+    // Server closes the stream after this long; the client reconnects with its last seen ID
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+    private static final int MAX_QUEUED = 256;
+    private static final long SEND_STALL_MS = 30_000L;
+
+    // Queue marker for a heartbeat comment
+    private static final Object PING = new Object();
+
+    private final Map<RoomKey, Set<Subscriber>> rooms = new ConcurrentHashMap<>();
+
+    private final Supplier<SseEmitter> emitterFactory;
+    private final int maxQueued;
+    private final long sendStallMs;
+
+    // Threads only exist for subscribers that currently have something to send
+    private final ExecutorService senders = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "chat-stream-sender");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public record RoomKey(Long clubId, ChatRoom room) {}
+
+    public ChatStreamHub() {
+        this(() -> new SseEmitter(EMITTER_TIMEOUT_MS), MAX_QUEUED, SEND_STALL_MS);
+    }
+
+    // Tests supply their own emitters and limits
+    ChatStreamHub(Supplier<SseEmitter> emitterFactory, int maxQueued, long sendStallMs) {
+        this.emitterFactory = emitterFactory;
+        this.maxQueued = maxQueued;
+        this.sendStallMs = sendStallMs;
+    }
+
+    /**
+     * Registers a new stream for a user in a room. The subscriber is registered before the
+     * backlog is loaded, so no message committed in between can fall through the gap.
+     */
+    public SseEmitter open(Long clubId, ChatRoom room, Long userId, Supplier<List<ChatMessageDto.Response>> backlog) {
+        RoomKey key = new RoomKey(clubId, room);
+        SseEmitter emitter = emitterFactory.get();
+        Subscriber subscriber = new Subscriber(key, userId, emitter);
+
+        rooms.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        emitter.onCompletion(() -> discard(subscriber));
+        emitter.onError(e -> discard(subscriber));
+        emitter.onTimeout(() -> drop(subscriber));
+
+        try {
+            if (!subscriber.start(backlog.get())) discard(subscriber);
+        } catch (RuntimeException e) {
+            discard(subscriber);
+            throw e;
+        }
+        return emitter;
+    }
+
+    /**
+     * Queues a committed message for every open stream in its room. Never blocks on a client.
+     */
+    public void publish(ChatMessageDto.Response message) {
+        RoomKey key = new RoomKey(message.getClubId(), ChatRoom.valueOf(message.getRoom()));
+        Set<Subscriber> subscribers = rooms.get(key);
+        if (subscribers == null) return;
+
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.deliver(message)) {
+                log.debug("ChatStreamHub: dropping slow subscriber (user {}, club {})", subscriber.userId, key.clubId());
+                drop(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Closes a user's streams in every room of a club (left or removed).
+     */
+    public void closeMember(Long clubId, Long userId) {
+        closeWhere(s -> s.key.clubId().equals(clubId) && s.userId.equals(userId));
+    }
+
+    /**
+     * Closes every stream of a club (deleted, or now private).
+     */
+    public void closeClub(Long clubId) {
+        closeWhere(s -> s.key.clubId().equals(clubId));
+    }
+
+    /**
+     * Total number of open chat streams across all rooms.
+     */
+    public int subscriberCount() {
+        return rooms.values().stream().mapToInt(Set::size).sum();
+    }
+
+    // Keeps idle connections alive through proxies and weeds out clients that went away silently
+    @Scheduled(fixedRate = 25_000)
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        closeWhere(s -> s.stalled(now) || !s.ping());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        rooms.values().forEach(subscribers -> subscribers.forEach(s -> {
+            try {
+                s.emitter.complete();
+            } catch (RuntimeException e) {
+                // Already completed or the connection is gone
+            }
+        }));
+        rooms.clear();
+    }
+
+    // ── helpers ──────────────────────────────────────────────────────────────
+
+    private void closeWhere(Predicate<Subscriber> condition) {
+        for (Set<Subscriber> subscribers : rooms.values()) {
+            for (Subscriber subscriber : subscribers) {
+                if (condition.test(subscriber)) drop(subscriber);
+            }
+        }
+    }
+
+    // Unregisters the subscriber and closes its stream
+    private void drop(Subscriber subscriber) {
+        remove(subscriber);
+        if (subscriber.close()) {
+            // complete() can wait on a write stuck in the same emitter, so never on the caller's thread
+            execute(() -> {
+                try {
+                    subscriber.emitter.complete();
+                } catch (RuntimeException e) {
+                    log.debug("ChatStreamHub: completing stream failed ({})", e.getMessage());
+                }
+            });
+        }
+    }
+
+    // Unregisters a subscriber whose stream has already ended
+    private void discard(Subscriber subscriber) {
+        remove(subscriber);
+        subscriber.close();
+    }
+
+    private void remove(Subscriber subscriber) {
+        rooms.computeIfPresent(subscriber.key, (k, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private void execute(Runnable task) {
+        try {
+            senders.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Shutting down; shutdown() completes the remaining streams
+        }
+    }
+
+    // ── subscriber ───────────────────────────────────────────────────────────
+
+    private final class Subscriber {
+
+        private final RoomKey key;
+        private final Long userId;
+        private final SseEmitter emitter;
+
+        // Guards everything below except sendingSince
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ArrayDeque<Object> queue = new ArrayDeque<>();
+        // Live messages that arrive while the backlog is still being sent
+        private final List<ChatMessageDto.Response> pending = new ArrayList<>();
+        private boolean ready = false;
+        private boolean draining = false;
+        private boolean closed = false;
+        // IDs replayed from the backlog; written only in start(), before any live message is sent
+        private final Set<Long> replayed = new HashSet<>();
+
+        // Start of the write in progress, 0 when idle
+        private volatile long sendingSince = 0L;
+
+        private Subscriber(RoomKey key, Long userId, SseEmitter emitter) {
+            this.key = key;
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        // The emitter has not been returned to the client yet, so these writes are only buffered
+        private boolean start(List<ChatMessageDto.Response> backlog) {
+            lock.lock();
+            try {
+                for (ChatMessageDto.Response message : backlog) {
+                    if (!send(message)) return false;
+                    replayed.add(message.getMessageId());
+                }
+                pending.sort(Comparator.comparing(ChatMessageDto.Response::getMessageId));
+                queue.addAll(pending);
+                pending.clear();
+                ready = true;
+                scheduleDrain();
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // False once the subscriber is closed or too far behind
+        private boolean deliver(ChatMessageDto.Response message) {
+            lock.lock();
+            try {
+                if (closed) return false;
+                if (!ready) {
+                    pending.add(message);
+                    return true;
+                }
+                if (queue.size() >= maxQueued) return false;
+                queue.add(message);
+                scheduleDrain();
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // A queued message keeps the connection alive just as well as a comment
+        private boolean ping() {
+            lock.lock();
+            try {
+                if (closed) return false;
+                if (!ready || !queue.isEmpty()) return true;
+                queue.add(PING);
+                scheduleDrain();
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean stalled(long now) {
+            long since = sendingSince;
+            return since != 0L && now - since >= sendStallMs;
+        }
+
+        // Returns true only for the call that actually closed it
+        private boolean close() {
+            lock.lock();
+            try {
+                if (closed) return false;
+                closed = true;
+                queue.clear();
+                pending.clear();
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void scheduleDrain() {
+            if (draining || queue.isEmpty()) return;
+            draining = true;
+            execute(this::drain);
+        }
+
+        // Runs on a sender thread; writes happen outside the lock so publishers never wait on them
+        private void drain() {
+            while (true) {
+                Object next;
+                lock.lock();
+                try {
+                    next = closed ? null : queue.poll();
+                    if (next == null) {
+                        draining = false;
+                        return;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+
+                sendingSince = System.currentTimeMillis();
+                boolean sent = next == PING ? sendPing() : send((ChatMessageDto.Response) next);
+                sendingSince = 0L;
+                if (!sent) {
+                    drop(this);
+                    return;
+                }
+            }
+        }
+
+        private boolean sendPing() {
+            try {
+                emitter.send(SseEmitter.event().comment("ping"));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                return false;
+            }
+        }
+
+        // Skips only messages already replayed from the backlog (backlog and live can overlap by a message
+        // or two). Live messages are never compared by ID: commits can finish out of ID order, so a
+        // lower ID published after a higher one is still new to the client.
+        private boolean send(ChatMessageDto.Response message) {
+            if (replayed.contains(message.getMessageId())) return true;
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(message.getMessageId()))
+                        .name("message")
+                        .data(message));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                log.debug("ChatStreamHub: dropping subscriber ({})", e.getMessage());
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+    }
+}
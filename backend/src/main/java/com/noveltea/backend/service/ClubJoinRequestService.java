@@ -27,6 +27,7 @@ public class ClubJoinRequestService {
     private final BookClubMemberRepository bookClubMemberRepository;
     private final UserRepository userRepository;
     private final GamificationService gamificationService;
+    private final EntityCacheEvictor entityCacheEvictor;
 
     /**
      * Creates a join request for a private club.
@@ -114,6 +115,8 @@ public class ClubJoinRequestService {
                 .build();
 
         BookClubMember saved = bookClubMemberRepository.save(newMember);
+        bookClubRepository.adjustMemberCount(bookClub.getBookClubId(), 1);
+        entityCacheEvictor.evictAfterCommit(BookClub.class, bookClub.getBookClubId());
         gamificationService.updateDailyStreak(requestingUserId);
 
         return BookClubMemberDto.Response.builder()
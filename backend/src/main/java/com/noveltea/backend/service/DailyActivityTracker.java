@@ -0,0 +1,71 @@
+package com.noveltea.backend.service;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-process "already counted today" set for daily streaks, stored as a bitmap keyed by userId.
+ *
+ * Rules:
+ *   - One bit per user, in pages of PAGE_BITS users; a page is only allocated once one of its
+ *     users is active, so memory tracks the active ID ranges (8 KB per page).
+ *   - The set belongs to one calendar day. The first call on a new day swaps in an empty set,
+ *     which is how it clears at midnight. Marks for any other date are ignored.
+ *   - A user is marked only once the DB holds today's lastActiveDate, so a miss here just means
+ *     one extra DB check. Per instance only; other instances fall back to the DB the same way.
+ */
+@Component
+public class DailyActivityTracker {
+
+    private static final int PAGE_SHIFT = 16;
+    private static final int PAGE_BITS = 1 << PAGE_SHIFT;          // 65,536 users per page
+    private static final int WORDS_PER_PAGE = PAGE_BITS / Long.SIZE;
+
+    private record Day(LocalDate date, Map<Long, AtomicLongArray> pages) {}
+
+    private final AtomicReference<Day> current = new AtomicReference<>(new Day(LocalDate.MIN, new ConcurrentHashMap<>()));
+
+    /**
+     * True if the user's streak has already been counted on {@code date}.
+     */
+    public boolean isCounted(Long userId, LocalDate date) {
+        Day day = current.get();
+        if (!day.date.equals(date)) return false;
+
+        AtomicLongArray page = day.pages.get(userId >>> PAGE_SHIFT);
+        if (page == null) return false;
+
+        int bit = (int) (userId & (PAGE_BITS - 1));
+        return (page.get(bit >>> 6) & (1L << bit)) != 0;
+    }
+
+    /**
+     * Records that the user's streak is counted on {@code date}.
+     */
+    public void markCounted(Long userId, LocalDate date) {
+        Day day = dayFor(date);
+        if (day == null) return;
+
+        AtomicLongArray page = day.pages.computeIfAbsent(userId >>> PAGE_SHIFT, k -> new AtomicLongArray(WORDS_PER_PAGE));
+        int bit = (int) (userId & (PAGE_BITS - 1));
+        long mask = 1L << bit;
+        page.accumulateAndGet(bit >>> 6, mask, (word, m) -> word | m);
+    }
+
+    // Current set for the date, rolling over to a fresh one if the date is newer; null for stale dates
+    private Day dayFor(LocalDate date) {
+        while (true) {
+            Day day = current.get();
+            if (day.date.equals(date)) return day;
+            if (day.date.isAfter(date)) return null;
+
+            Day next = new Day(date, new ConcurrentHashMap<>());
+            if (current.compareAndSet(day, next)) return next;
+        }
+    }
+}
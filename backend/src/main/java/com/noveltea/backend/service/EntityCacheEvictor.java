@@ -0,0 +1,74 @@
+package com.noveltea.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Targeted second-level cache eviction for rows changed by native counter UPDATEs and bulk updates.
+ *
+ * Rules:
+ *   - The counter statements declare the "counters" query space, which no entity is mapped to, so
+ *     Hibernate leaves the cached regions alone instead of clearing a whole region on every like.
+ *   - The one row they touched is evicted here once the transaction commits, so the next read
+ *     reloads the committed counters. Evicting earlier would let a concurrent reader re-cache the
+ *     old values before the commit.
+ *   - With read replicas, the read that reloads the row may run on a replica that has not applied
+ *     the commit yet and cache the old values again. Every eviction is therefore repeated once the
+ *     replica lag window (app.datasource.replica.readYourWritesMs) has passed, so a stale copy lives
+ *     at most that long instead of until the region's TTL.
+ */
+@Component
+public class EntityCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+    // 0 without replicas: the primary is the only source, so one eviction is enough
+    private final long replicaLagMs;
+
+    // Only runs the delayed second evictions
+    private final ScheduledExecutorService delayed = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "cache-evict-delayed");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public EntityCacheEvictor(EntityManagerFactory entityManagerFactory,
+                              @Value("${app.datasource.replica.enabled:false}") boolean replicasEnabled,
+                              @Value("${app.datasource.replica.readYourWritesMs:2000}") long replicaLagMs) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.replicaLagMs = replicasEnabled ? replicaLagMs : 0L;
+    }
+
+    public void evictAfterCommit(Class<?> entityClass, Object id) {
+        AfterCommit.run(() -> evictNowAndAfterLag(() -> entityManagerFactory.getCache().evict(entityClass, id)));
+    }
+
+    /**
+     * Evicts every cached row of the entity after commit; for JPQL bulk updates, whose own region
+     * invalidation Hibernate does only once, before a replica has caught up.
+     */
+    public void evictAllAfterCommit(Class<?> entityClass) {
+        AfterCommit.run(() -> evictNowAndAfterLag(() -> entityManagerFactory.getCache().evict(entityClass)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        delayed.shutdownNow();
+    }
+
+    private void evictNowAndAfterLag(Runnable evict) {
+        evict.run();
+        if (replicaLagMs <= 0) return;
+        try {
+            delayed.schedule(evict, replicaLagMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down; the cache goes with the process
+        }
+    }
+}
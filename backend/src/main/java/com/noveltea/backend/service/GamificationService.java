@@ -1,5 +1,6 @@
 package com.noveltea.backend.service;
 
+import com.noveltea.backend.exception.ResourceNotFoundException;
 import com.noveltea.backend.model.User;
 import com.noveltea.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -13,6 +14,9 @@ import org.springframework.transaction.annotation.Transactional;
 public class GamificationService {
 
     private final UserRepository userRepository;
+    private final DailyActivityTracker dailyActivityTracker;
+    private final LeaderboardService leaderboardService;
+    private final EntityCacheEvictor entityCacheEvictor;
 
     public static final int POINTS_FOR_REVIEW_CREATED = 5;
     public static final int POINTS_FOR_RECEIVING_REVIEW_LIKE = 2;
@@ -24,55 +28,45 @@ public class GamificationService {
     public static final int STREAK_14_DAY_REWARD = 15;
     public static final int STREAK_30_DAY_REWARD = 20;
 
+    // Points and received likes are applied as single UPDATE statements (no read-modify-write),
+    // so concurrent likes on the same author neither lose increments nor reload the user row.
+
     @Transactional
     public void awardPoints(Long userId, int pointsToAdd) {
-        User user = userRepository.findById(userId).orElseThrow();
-        int current = user.getPoints() == null ? 0 : user.getPoints();
-        user.setPoints(current + pointsToAdd);
-        userRepository.save(user);
+        requireUpdated(userRepository.addPoints(userId, pointsToAdd), userId);
+        pointsChanged(userId);
     }
 
     @Transactional
     public void removePoints(Long userId, int pointsToRemove) {
-        User user = userRepository.findById(userId).orElseThrow();
-        int current = user.getPoints() == null ? 0 : user.getPoints();
-        int updated = Math.max(0, current - pointsToRemove);
-        user.setPoints(updated);
-        userRepository.save(user);
+        requireUpdated(userRepository.removePoints(userId, pointsToRemove), userId);
+        pointsChanged(userId);
     }
 
     @Transactional
     public void addReceivedLike(Long userId) {
-        User user = userRepository.findById(userId).orElseThrow();
-
-        int currentLikes = user.getReviewLikesReceived() == null ? 0 : user.getReviewLikesReceived();
-        int currentPoints = user.getPoints() == null ? 0 : user.getPoints();
-
-        user.setReviewLikesReceived(currentLikes + 1);
-        user.setPoints(currentPoints + POINTS_FOR_RECEIVING_REVIEW_LIKE);
-
-        userRepository.save(user);
+        requireUpdated(userRepository.addReceivedLike(userId, POINTS_FOR_RECEIVING_REVIEW_LIKE), userId);
+        pointsChanged(userId);
     }
 
     @Transactional
     public void removeReceivedLike(Long userId) {
-        User user = userRepository.findById(userId).orElseThrow();
-
-        int currentLikes = user.getReviewLikesReceived() == null ? 0 : user.getReviewLikesReceived();
-        int currentPoints = user.getPoints() == null ? 0 : user.getPoints();
-
-        user.setReviewLikesReceived(Math.max(0, currentLikes - 1));
-        user.setPoints(Math.max(0, currentPoints - POINTS_REMOVED_WHEN_REVIEW_UNLIKED));
-
-        userRepository.save(user);
+        requireUpdated(userRepository.removeReceivedLike(userId, POINTS_REMOVED_WHEN_REVIEW_UNLIKED), userId);
+        pointsChanged(userId);
     }
 
+    // Only a user's first qualifying action of the day reaches the DB; later ones are answered by
+    // DailyActivityTracker. The user is marked once today's lastActiveDate is committed.
     @Transactional
     public void updateDailyStreak(Long userId) {
-        User user = userRepository.findById(userId).orElseThrow();
-
         LocalDate today = LocalDate.now();
+        if (dailyActivityTracker.isCounted(userId, today)) {
+            return;
+        }
+
+        User user = userRepository.findById(userId).orElseThrow();
         LocalDate lastActive = user.getLastActiveDate();
+        AfterCommit.run(() -> dailyActivityTracker.markCounted(userId, today));
 
         // first ever activity
         if (lastActive == null) {
@@ -112,36 +106,51 @@ public class GamificationService {
         }
 
         user.setLastActiveDate(today);
-        awardStreakMilestoneIfNeeded(user);
+        int reward = awardStreakMilestoneIfNeeded(user);
         userRepository.save(user);
+        if (reward > 0) {
+            userRepository.addPoints(user.getUserId(), reward);
+            pointsChanged(user.getUserId());
+        }
     }
 
-    private void awardStreakMilestoneIfNeeded(User user) {
+    // Marks the milestone on the entity and returns the reward; the points themselves go through addPoints
+    private int awardStreakMilestoneIfNeeded(User user) {
         int currentStreak = user.getCurrentStreak() == null ? 0 : user.getCurrentStreak();
         int highestRewardedStreak = user.getHighestRewardedStreak() == null ? 0 : user.getHighestRewardedStreak();
-        int currentPoints = user.getPoints() == null ? 0 : user.getPoints();
 
         if (currentStreak >= 30 && highestRewardedStreak < 30) {
-            user.setPoints(currentPoints + STREAK_30_DAY_REWARD);
             user.setHighestRewardedStreak(30);
-            return;
+            return STREAK_30_DAY_REWARD;
         }
 
         if (currentStreak >= 14 && highestRewardedStreak < 14) {
-            user.setPoints(currentPoints + STREAK_14_DAY_REWARD);
             user.setHighestRewardedStreak(14);
-            return;
+            return STREAK_14_DAY_REWARD;
         }
 
         if (currentStreak >= 7 && highestRewardedStreak < 7) {
-            user.setPoints(currentPoints + STREAK_7_DAY_REWARD);
             user.setHighestRewardedStreak(7);
-            return;
+            return STREAK_7_DAY_REWARD;
         }
 
         if (currentStreak >= 3 && highestRewardedStreak < 3) {
-            user.setPoints(currentPoints + STREAK_3_DAY_REWARD);
             user.setHighestRewardedStreak(3);
+            return STREAK_3_DAY_REWARD;
+        }
+
+        return 0;
+    }
+
+    // The cached user no longer matches the row, and the leaderboard may have moved
+    private void pointsChanged(Long userId) {
+        entityCacheEvictor.evictAfterCommit(User.class, userId);
+        AfterCommit.run(leaderboardService::markDirty);
+    }
+
+    private void requireUpdated(int rows, Long userId) {
+        if (rows == 0) {
+            throw new ResourceNotFoundException("User not found: " + userId);
         }
     }
 }
\ No newline at end of file
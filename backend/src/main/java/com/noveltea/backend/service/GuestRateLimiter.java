@@ -0,0 +1,47 @@
+package com.noveltea.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.noveltea.backend.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-client request budget for endpoints guests may call without signing in (the Open Library proxy).
+ *
+ * Rules:
+ *   - Each client address may make requestsPerMinute requests per one-minute window; the window
+ *     starts at its first request. Further requests get a 429 until the window ends.
+ *   - Signed-in users are not counted here; callers only check guests.
+ *   - At most MAX_CLIENTS windows are kept, so a flood of addresses cannot grow memory without bound.
+ *     Counts are per backend instance.
+ */
+@Component
+public class GuestRateLimiter {
+
+    private static final int MAX_CLIENTS = 100_000;
+
+    private final int requestsPerMinute;
+    private final Cache<String, AtomicInteger> windows;
+
+    public GuestRateLimiter(@Value("${app.openlibrary.guestRequestsPerMinute:60}") int requestsPerMinute) {
+        this.requestsPerMinute = requestsPerMinute;
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(MAX_CLIENTS)
+                .expireAfterWrite(Duration.ofMinutes(1))
+                .build();
+    }
+
+    /**
+     * Counts one request for the client; throws once its budget for the window is spent.
+     */
+    public void check(String client) {
+        AtomicInteger count = windows.get(client, k -> new AtomicInteger());
+        if (count.incrementAndGet() > requestsPerMinute) {
+            throw new TooManyRequestsException("Too many requests. Sign in or try again in a minute.");
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.noveltea.backend.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,20 +9,41 @@ import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Base64;
 import java.util.Date;
 
 @Service
 public class JwtService {
 
+    // Date of birth as ISO yyyy-MM-dd, or "" when the account has none.
+    // Signed with the rest of the token so the maturity check needs no user lookup.
+    public static final String DOB_CLAIM = "dob";
+
     private final SecretKey key;
     private final String issuer;
     private final long accessTokenMinutes;
 
+    // Immutable and thread-safe — built once instead of per request
+    private final JwtParser parser;
+
+    // Recently verified tokens, keyed by SHA-256 of the full token; entries expire with the token
+    private final TtlCache<String, VerifiedToken> verifiedTokens;
+
+    /**
+     * The parts of a verified access token the request pipeline needs.
+     * dateOfBirth is null for tokens issued before the dob claim existed.
+     */
+    public record VerifiedToken(String userId, String email, String dateOfBirth) {}
+
     public JwtService(
             @Value("${app.jwt.secret:CHANGE_ME_TO_A_LONG_RANDOM_SECRET_32CHARS_MINIMUM_123456}") String secret,
             @Value("${app.jwt.issuer:noveltea}") String issuer,
-            @Value("${app.jwt.accessTokenMinutes:60}") long accessTokenMinutes
+            @Value("${app.jwt.accessTokenMinutes:60}") long accessTokenMinutes,
+            @Value("${app.jwt.verifiedCacheSize:10000}") int verifiedCacheSize
     ) {
         if (secret == null || secret.trim().length() < 32) {
             throw new IllegalArgumentException("app.jwt.secret must be at least 32 characters long");
@@ -30,9 +52,14 @@ public class JwtService {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.issuer = issuer;
         this.accessTokenMinutes = accessTokenMinutes;
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .requireIssuer(issuer)
+                .build();
+        this.verifiedTokens = new TtlCache<>(verifiedCacheSize);
     }
 
-    public String generateAccessToken(Long userId, String email) {
+    public String generateAccessToken(Long userId, String email, LocalDate dateOfBirth) {
         Instant now = Instant.now();
         Instant exp = now.plusSeconds(accessTokenMinutes * 60);
 
@@ -40,6 +67,7 @@ public class JwtService {
                 .issuer(issuer)
                 .subject(String.valueOf(userId))
                 .claim("email", email)
+                .claim(DOB_CLAIM, dateOfBirth == null ? "" : dateOfBirth.toString())
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(exp))
                 .signWith(key)
@@ -51,11 +79,41 @@ public class JwtService {
             throw new IllegalArgumentException("Token is missing");
         }
 
-        return Jwts.parser()
-                .verifyWith(key)
-                .requireIssuer(issuer)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * Verifies an access token, answering repeat tokens from the cache without re-checking the
+     * signature or deserializing claims. Throws like parseToken for invalid or expired tokens.
+     */
+    public VerifiedToken verify(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("Token is missing");
+        }
+
+        String cacheKey = sha256(token);
+        TtlCache.Entry<VerifiedToken> cached = verifiedTokens.get(cacheKey);
+        if (cached != null && cached.isFresh()) {
+            return cached.value();
+        }
+
+        Claims claims = parseToken(token);
+        VerifiedToken verified = new VerifiedToken(
+                claims.getSubject(),
+                claims.get("email", String.class),
+                claims.get(DOB_CLAIM, String.class));
+        verifiedTokens.putUntil(cacheKey, verified, claims.getExpiration().getTime());
+        return verified;
+    }
+
+    // Keyed by a digest of the whole token, never by a part of it: a cache hit must imply the exact
+    // same signed bytes were verified before
+    private static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
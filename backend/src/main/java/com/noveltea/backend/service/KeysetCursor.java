@@ -0,0 +1,44 @@
+package com.noveltea.backend.service;
+
+import com.noveltea.backend.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset-pagination cursor: the last row's sort value plus its ID as a tiebreaker.
+ * Base64url-encoded so clients pass it back as an opaque token instead of building one.
+ */
+public record KeysetCursor(String value, long id) {
+
+    /**
+     * Returns null for a missing cursor (first page). Malformed cursors are a 400.
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            if (sep < 0) throw new IllegalArgumentException();
+            return new KeysetCursor(raw.substring(0, sep), Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * The page size for a paged endpoint: the default when none was requested, capped at max.
+     * Below 1 is a 400.
+     */
+    public static int pageSize(Integer requested, int defaultSize, int maxSize) {
+        if (requested == null) return defaultSize;
+        if (requested < 1) throw new InvalidRequestException("size must be at least 1");
+        return Math.min(requested, maxSize);
+    }
+
+    public String encode() {
+        String raw = value + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
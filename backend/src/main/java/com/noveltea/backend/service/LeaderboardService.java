@@ -0,0 +1,196 @@
+package com.noveltea.backend.service;
+
+import com.noveltea.backend.dto.UserDto;
+import com.noveltea.backend.exception.ResourceNotFoundException;
+import com.noveltea.backend.model.User;
+import com.noveltea.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Materialized top-K leaderboard.
+ *
+ * Rules:
+ *   - The snapshot holds the top K users by points (ties by userId), read through the points index,
+ *     so building it costs O(K) regardless of how many users exist.
+ *   - GamificationService marks the board dirty after a points change commits; a dirty board is
+ *     rebuilt within REFRESH_MS. It is also rebuilt every MAX_AGE_MS to pick up profile edits,
+ *     new users and deletions.
+ *   - Ranks are competition ranks: 1 + number of users with strictly more points.
+ *   - "My rank" is answered from the snapshot when the user is in it, otherwise from the points
+ *     histogram built with it (distinct point values with prefix user counts), so no request counts rows.
+ *     A user whose points changed since the last rebuild is ranked against that histogram.
+ *   - The histogram is one grouped scan of the points index per rebuild (at most once per REFRESH_MS,
+ *     however many rank requests arrive) and holds one entry per distinct points value, which stays
+ *     small because points grow in fixed awards.
+ */
+@Service
+public class LeaderboardService {
+
+    private static final long REFRESH_MS = 5_000L;
+    private static final long MAX_AGE_MS = 5 * 60 * 1000L;
+
+    private final UserRepository userRepository;
+    private final int size;
+
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    // indexById maps a userId to its position in entries; ranks[i] is the rank of entries[i]
+    private record Snapshot(List<UserDto.PublicResponse> entries, int[] ranks, Map<Long, Integer> indexById,
+                            Histogram histogram, long builtAt) {}
+
+    // points[i] are the distinct point values, ascending; above[i] is the number of users with more
+    // than points[i] points, and total the number of users
+    record Histogram(int[] points, long[] above, long total) {
+
+        static Histogram of(List<Object[]> rows) {
+            // rows arrive highest points first, so the running sum is the count strictly above each value
+            int n = rows.size();
+            int[] points = new int[n];
+            long[] above = new long[n];
+            long sum = 0;
+            for (int i = 0; i < n; i++) {
+                Object[] row = rows.get(i);
+                points[n - 1 - i] = ((Number) row[0]).intValue();
+                above[n - 1 - i] = sum;
+                sum += ((Number) row[1]).longValue();
+            }
+            return new Histogram(points, above, sum);
+        }
+
+        // Users with strictly more than the given points
+        long countAbove(int value) {
+            int i = Arrays.binarySearch(points, value);
+            if (i >= 0) return above[i];
+            // Not a value anyone holds: everyone at or above the next value up is ahead
+            int next = -i - 1;
+            return next == 0 ? total : above[next - 1];
+        }
+    }
+
+    public LeaderboardService(UserRepository userRepository,
+                              @Value("${app.leaderboard.size:100}") int size) {
+        this.userRepository = userRepository;
+        this.size = size;
+    }
+
+    /**
+     * One page of the top-K board (page is zero-based). Pages past K are empty.
+     */
+    public List<UserDto.PublicResponse> getPage(int page, Integer pageSize) {
+        List<UserDto.PublicResponse> entries = current().entries;
+        int limit = pageSize == null || pageSize <= 0 ? size : Math.min(pageSize, size);
+
+        long from = (long) Math.max(page, 0) * limit;
+        if (from >= entries.size()) return List.of();
+        return entries.subList((int) from, (int) Math.min(from + limit, entries.size()));
+    }
+
+    /**
+     * The user's current rank and points.
+     */
+    public UserDto.RankResponse getRank(Long userId) {
+        Snapshot current = current();
+        Integer index = current.indexById.get(userId);
+        if (index != null) {
+            return UserDto.RankResponse.builder()
+                    .userId(userId)
+                    .points(current.entries.get(index).getPoints())
+                    .rank((long) current.ranks[index])
+                    .build();
+        }
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + userId));
+        int points = user.getPoints() == null ? 0 : user.getPoints();
+        long above = current.histogram.countAbove(points);
+
+        return UserDto.RankResponse.builder()
+                .userId(userId)
+                .points(points)
+                .rank(above + 1)
+                .build();
+    }
+
+    // Called once a points change has committed
+    public void markDirty() {
+        dirty.set(true);
+    }
+
+    @Scheduled(fixedDelay = REFRESH_MS)
+    public void refreshIfStale() {
+        Snapshot current = snapshot;
+        boolean expired = current == null || System.currentTimeMillis() - current.builtAt >= MAX_AGE_MS;
+        if (dirty.get() || expired) {
+            rebuild();
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        return current != null ? current : rebuild();
+    }
+
+    // Single rebuilder; concurrent callers wait and reuse its result. Clearing dirty before the
+    // query means a change committed during the rebuild re-marks it for the next pass.
+    private Snapshot rebuild() {
+        rebuildLock.lock();
+        try {
+            Snapshot current = snapshot;
+            if (current != null && !dirty.get() && System.currentTimeMillis() - current.builtAt < MAX_AGE_MS) {
+                return current;
+            }
+
+            dirty.set(false);
+            List<User> top = userRepository.findByOrderByPointsDescUserIdAsc(Limit.of(size));
+
+            List<UserDto.PublicResponse> entries = top.stream().map(LeaderboardService::toEntry).toList();
+            int[] ranks = new int[entries.size()];
+            Map<Long, Integer> indexById = new HashMap<>(entries.size() * 2);
+            for (int i = 0; i < entries.size(); i++) {
+                boolean tied = i > 0 && entries.get(i).getPoints().equals(entries.get(i - 1).getPoints());
+                ranks[i] = tied ? ranks[i - 1] : i + 1;
+                indexById.put(entries.get(i).getUserId(), i);
+            }
+
+            Histogram histogram = Histogram.of(userRepository.countByPoints());
+
+            Snapshot next = new Snapshot(entries, ranks, Map.copyOf(indexById), histogram, System.currentTimeMillis());
+            snapshot = next;
+            return next;
+        } catch (RuntimeException e) {
+            dirty.set(true);
+            throw e;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private static UserDto.PublicResponse toEntry(User user) {
+        return UserDto.PublicResponse.builder()
+                .userId(user.getUserId())
+                .username(user.getUsername())
+                .bio(user.getBio())
+                .privacy(user.getPrivacy())
+                .role(user.getRole() == null ? null : user.getRole().toString())
+                .joinDate(user.getJoinDate())
+                .points(user.getPoints() == null ? 0 : user.getPoints())
+                .reviewLikesReceived(user.getReviewLikesReceived())
+                .currentStreak(user.getCurrentStreak())
+                .longestStreak(user.getLongestStreak())
+                .lastActiveDate(user.getLastActiveDate())
+                .highestRewardedStreak(user.getHighestRewardedStreak())
+                .build();
+    }
+}
@@ -22,6 +22,7 @@ public class ListItemService {
     private final BookListRepository bookListRepository;
     private final ListItemRepository listItemRepository;
     private final BookService bookService;
+    private final TrendingService trendingService;
 
     // ----- CORE OPERATIONS -----
 
@@ -66,7 +67,12 @@ public class ListItemService {
                 .sortOrder(sortOrder)
                 .build();
 
-        return mapToResponse(listItemRepository.save(listItem));
+        ListItem saved = listItemRepository.save(listItem);
+        bookListRepository.adjustItemCount(bookList.getListId(), 1);
+        if (bookList.getVisibility()) {
+            trendingService.record(book.getBookId(), TrendingService.Signal.LIST_ADD);
+        }
+        return mapToResponse(saved);
     }
 
     /**
@@ -82,6 +88,11 @@ public class ListItemService {
         }
 
         listItemRepository.delete(item);
+        bookListRepository.adjustItemCount(item.getBookList().getListId(), -1);
+        // Only adds to public lists were counted towards trending
+        if (item.getBookList().getVisibility()) {
+            trendingService.retract(item.getBook().getBookId(), TrendingService.Signal.LIST_ADD);
+        }
     }
 
     // ----- READ OPERATIONS -----
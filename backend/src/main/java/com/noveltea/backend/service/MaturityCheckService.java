@@ -1,64 +1,206 @@
 package com.noveltea.backend.service;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.noveltea.backend.model.MaturityRating;
+import com.noveltea.backend.repository.MaturityRatingRepository;
 
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maturity ratings from Google Books, cached in two tiers.
+ *
+ * Rules:
+ *   - Memory: a bounded TTL cache, warmed at startup from the most recent rows of maturity_ratings.
+ *   - Database: every successful lookup is persisted, so ratings survive restarts.
+ *   - Concurrent misses for the same ISBN share one Google Books call (single-flight).
+ *   - The call has explicit connect/read timeouts. Failures fail open (NOT_MATURE) and are cached
+ *     for negativeTtl, so an outage costs one call per ISBN per window, not one per request.
+ *   - An expired rating is served as-is while a background refresh replaces it.
+ */
+@Slf4j
 @Service
 public class MaturityCheckService {
 
-    private static final String GOOGLE_BOOKS_URL =
-        "https://www.googleapis.com/books/v1/volumes?q=isbn:";
-    private final RestTemplate restTemplate = new RestTemplate();
+    public static final String MATURE = "MATURE";
+    public static final String NOT_MATURE = "NOT_MATURE";
+
+    private final MaturityRatingRepository maturityRatingRepository;
+    private final String baseUrl;
+    private final Duration readTimeout;
+    private final Duration ttl;
+    private final Duration negativeTtl;
+    private final int cacheSize;
 
+    private final HttpClient httpClient;
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TtlCache<String, String> ratingCache;
+    private final SingleFlight<String, String> inFlight = new SingleFlight<>();
+
+    public MaturityCheckService(
+            MaturityRatingRepository maturityRatingRepository,
+            @Value("${app.maturity.baseUrl:https://www.googleapis.com/books/v1/volumes}") String baseUrl,
+            @Value("${app.maturity.connectTimeoutMs:2000}") long connectTimeoutMs,
+            @Value("${app.maturity.readTimeoutMs:3000}") long readTimeoutMs,
+            @Value("${app.maturity.cacheSize:10000}") int cacheSize,
+            @Value("${app.maturity.ttlHours:720}") long ttlHours,
+            @Value("${app.maturity.negativeTtlSeconds:300}") long negativeTtlSeconds,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        this.maturityRatingRepository = maturityRatingRepository;
+        this.baseUrl = baseUrl;
+        this.readTimeout = Duration.ofMillis(readTimeoutMs);
+        this.ttl = Duration.ofHours(ttlHours);
+        this.negativeTtl = Duration.ofSeconds(negativeTtlSeconds);
+        this.cacheSize = cacheSize;
+        this.ratingCache = new TtlCache<>(cacheSize);
+        // In the virtual-thread profile the client's response handling runs on virtual threads as well
+        HttpClient.Builder client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs));
+        if (virtualThreads) {
+            client.executor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+        this.httpClient = client.build();
+    }
 
-    // Cache ratings so we don't call Google Books on every request
-    private final Map<String, String> ratingCache = new ConcurrentHashMap<>();
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        var ratings = maturityRatingRepository.findAllByOrderByFetchedAtDesc(Limit.of(cacheSize));
+        ratings.forEach(this::cacheStored);
+        log.info("MaturityCheckService: warmed {} rating(s) from the database", ratings.size());
+    }
 
     /**
      * Fetches the maturity rating for a book ISBN from Google Books API.
-     * Returns "MATURE" or "NOT_MATURE". Defaults to "NOT_MATURE" if not found.
+     * Returns "MATURE" or "NOT_MATURE". Defaults to "NOT_MATURE" if not found or unavailable.
      */
     public String getMaturityRating(String isbn) {
-        if (ratingCache.containsKey(isbn)) {
-            return ratingCache.get(isbn);
+        TtlCache.Entry<String> cached = ratingCache.get(isbn);
+        if (cached == null) {
+            cached = maturityRatingRepository.findById(isbn).map(this::cacheStored).orElse(null);
+        }
+
+        if (cached != null) {
+            if (!cached.isFresh()) refreshInBackground(isbn, cached.value());
+            return cached.value();
         }
 
         try {
-            String url = GOOGLE_BOOKS_URL + isbn;
-            String response = restTemplate.getForObject(url, String.class);
-            JsonNode root = objectMapper.readTree(response);
+            // The HTTP timeouts bound this already; the extra second covers a slow connect
+            return load(isbn).get(readTimeout.toMillis() + 1_000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return NOT_MATURE;
+        } catch (ExecutionException | TimeoutException e) {
+            // Fail open — don't block the book — and remember the failure for a short while
+            log.warn("MaturityCheckService: Google Books lookup failed for {} ({})", isbn, rootMessage(e));
+            ratingCache.put(isbn, NOT_MATURE, negativeTtl);
+            return NOT_MATURE;
+        }
+    }
+
+    /**
+     * Returns true if the book is mature AND the user is under 18.
+     */
+    public boolean isBlockedForUser(String isbn, int userAge) {
+        if (userAge >= 18) return false;
+        return MATURE.equals(getMaturityRating(isbn));
+    }
+
+    // ----- HELPERS -----
+
+    // Single-flight fetch; on success the rating lands in both tiers
+    private CompletableFuture<String> load(String isbn) {
+        return inFlight.run(isbn, () -> fetch(isbn).thenApply(rating -> {
+            ratingCache.put(isbn, rating, ttl);
+            persist(isbn, rating);
+            return rating;
+        }));
+    }
 
-            String rating = "NOT_MATURE";
+    // Keeps serving the stale rating; a failed refresh pushes the next attempt out by negativeTtl
+    private void refreshInBackground(String isbn, String staleRating) {
+        load(isbn).exceptionally(e -> {
+            log.debug("MaturityCheckService: refresh failed for {} ({})", isbn, rootMessage(e));
+            ratingCache.put(isbn, staleRating, negativeTtl);
+            return staleRating;
+        });
+    }
+
+    private CompletableFuture<String> fetch(String isbn) {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + "?q=isbn:" + URLEncoder.encode(isbn, StandardCharsets.UTF_8)))
+                .timeout(readTimeout)
+                .GET()
+                .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("HTTP " + response.statusCode());
+                    }
+                    return parseRating(response.body());
+                });
+    }
+
+    private String parseRating(String body) {
+        try {
+            JsonNode root = objectMapper.readTree(body);
             if (root.path("totalItems").asInt() > 0) {
-                rating = root
-                    .path("items").get(0)
+                return root
+                    .path("items").path(0)
                     .path("volumeInfo")
                     .path("maturityRating")
-                    .asText("NOT_MATURE");
+                    .asText(NOT_MATURE);
             }
-
-            ratingCache.put(isbn, rating);
-            return rating;
-
+            return NOT_MATURE;
         } catch (Exception e) {
-            // If Google Books is unreachable, fail open — don't block the book
-            System.err.println("[MaturityCheckService] Google Books API error: " + e.getMessage());
-            return "NOT_MATURE";
+            throw new IllegalStateException("Unreadable Google Books response", e);
         }
     }
 
-    /**
-     * Returns true if the book is mature AND the user is under 18.
-     */
-    public boolean isBlockedForUser(String isbn, int userAge) {
-        if (userAge >= 18) return false;
-        return "MATURE".equals(getMaturityRating(isbn));
+    private void persist(String isbn, String rating) {
+        try {
+            maturityRatingRepository.save(MaturityRating.builder()
+                    .isbn(isbn)
+                    .rating(rating)
+                    .fetchedAt(Instant.now())
+                    .build());
+        } catch (RuntimeException e) {
+            // The in-memory tier already has it; the next restart just refetches
+            log.warn("MaturityCheckService: could not persist rating for {} ({})", isbn, e.getMessage());
+        }
+    }
+
+    private TtlCache.Entry<String> cacheStored(MaturityRating stored) {
+        long expiresAt = stored.getFetchedAt().plus(ttl).toEpochMilli();
+        ratingCache.putUntil(stored.getIsbn(), stored.getRating(), expiresAt);
+        return new TtlCache.Entry<>(stored.getRating(), expiresAt);
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null) cause = cause.getCause();
+        return cause.getClass().getSimpleName() + ": " + cause.getMessage();
     }
-}
\ No newline at end of file
+}
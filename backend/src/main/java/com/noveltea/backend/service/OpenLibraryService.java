@@ -0,0 +1,362 @@
+package com.noveltea.backend.service;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.noveltea.backend.dto.BookDto;
+import com.noveltea.backend.exception.InvalidRequestException;
+import com.noveltea.backend.exception.ResourceNotFoundException;
+import com.noveltea.backend.exception.ServiceBusyException;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Server-side proxy for the Open Library endpoints the app reads (search, authors, subjects).
+ *
+ * Rules:
+ *   - Responses are cached by normalized request (query trimmed, lower-cased, whitespace collapsed;
+ *     parameters in a fixed order) in a bounded TTL cache shared by every client.
+ *   - Concurrent misses for the same request share one upstream call (single-flight).
+ *   - The call has explicit connect/read timeouts. An expired entry is served as-is while a
+ *     background refresh replaces it, and is the fallback whenever the upstream call fails.
+ *   - Circuit breaker: failureThreshold consecutive failures stop upstream calls for openSeconds.
+ *     While open, cached entries are still served; misses get a 503. The first call after the
+ *     window decides: success closes the breaker, failure reopens it.
+ *   - Upstream 404s are passed through as 404 and do not count as failures.
+ *   - With prepopulate on, works from fresh search results of signed-in callers are inserted into
+ *     books in one batch, so adding one of them to a list or review later finds the row already there.
+ *     Guests cannot add books, so their searches never write; a page first fetched for a guest is
+ *     not prepopulated later either, and its books are inserted on first use. The insert runs
+ *     on a single background thread with a bounded queue, never on the HTTP client's threads; pages
+ *     that arrive while the queue is full are skipped (their books are inserted on first use instead).
+ */
+@Slf4j
+@Service
+public class OpenLibraryService {
+
+    static final String DEFAULT_SEARCH_FIELDS = "key,title,author_name,first_publish_year,cover_i,isbn";
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 100;
+    private static final int MAX_QUERY_LENGTH = 200;
+    private static final String USER_AGENT = "Noveltea/1.0 (server-side proxy)";
+    private static final String COVER_URL = "https://covers.openlibrary.org/b/id/%d-M.jpg";
+    private static final int PREPOPULATE_QUEUE = 64;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern FIELD = Pattern.compile("[a-z_]+");
+    private static final Pattern SORT = Pattern.compile("[a-z_]+");
+    private static final Pattern AUTHOR_KEY = Pattern.compile("OL\\d+A");
+    private static final Pattern SUBJECT = Pattern.compile("[a-z0-9_]+");
+
+    private final BookService bookService;
+    private final String baseUrl;
+    private final Duration readTimeout;
+    private final Duration ttl;
+    private final int failureThreshold;
+    private final long openMs;
+    private final boolean prepopulate;
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TtlCache<String, String> responseCache;
+    private final SingleFlight<String, String> inFlight = new SingleFlight<>();
+
+    private final ThreadPoolExecutor prepopulator = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(PREPOPULATE_QUEUE), r -> {
+                Thread t = new Thread(r, "openlibrary-prepopulate");
+                t.setDaemon(true);
+                return t;
+            });
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openUntil = 0L;
+
+    public OpenLibraryService(
+            BookService bookService,
+            @Value("${app.openlibrary.baseUrl:https://openlibrary.org}") String baseUrl,
+            @Value("${app.openlibrary.connectTimeoutMs:2000}") long connectTimeoutMs,
+            @Value("${app.openlibrary.readTimeoutMs:4000}") long readTimeoutMs,
+            @Value("${app.openlibrary.cacheSize:5000}") int cacheSize,
+            @Value("${app.openlibrary.ttlMinutes:60}") long ttlMinutes,
+            @Value("${app.openlibrary.failureThreshold:5}") int failureThreshold,
+            @Value("${app.openlibrary.openSeconds:30}") long openSeconds,
+            @Value("${app.openlibrary.prepopulate:false}") boolean prepopulate,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        this.bookService = bookService;
+        this.baseUrl = baseUrl;
+        this.readTimeout = Duration.ofMillis(readTimeoutMs);
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.failureThreshold = failureThreshold;
+        this.openMs = TimeUnit.SECONDS.toMillis(openSeconds);
+        this.prepopulate = prepopulate;
+        this.responseCache = new TtlCache<>(cacheSize);
+        HttpClient.Builder client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL);
+        if (virtualThreads) {
+            client.executor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+        this.httpClient = client.build();
+    }
+
+    /**
+     * /search.json — raw Open Library JSON. fields defaults to what the app's result rows use.
+     */
+    public String search(String query, Integer limit, String fields, String sort, boolean signedIn) {
+        String q = normalizeQuery(query);
+        if (q.isEmpty()) throw new InvalidRequestException("q must not be blank");
+
+        StringBuilder path = new StringBuilder("/search.json?q=").append(encode(q))
+                .append("&limit=").append(resolveLimit(limit))
+                .append("&fields=").append(encode(normalizeFields(fields)));
+        if (sort != null && !sort.isBlank()) {
+            path.append("&sort=").append(encode(requireMatch(SORT, sort.trim().toLowerCase(Locale.ROOT), "sort")));
+        }
+        return get(path.toString(), prepopulate && signedIn ? this::prepopulateLater : body -> {});
+    }
+
+    /**
+     * /authors/{key}.json — e.g. key "OL23919A".
+     */
+    public String author(String authorKey) {
+        String key = requireMatch(AUTHOR_KEY, authorKey == null ? "" : authorKey.trim(), "author key");
+        return get("/authors/" + key + ".json", body -> {});
+    }
+
+    /**
+     * /subjects/{subject}.json — category screens.
+     */
+    public String subject(String subject, Integer limit, String sort) {
+        String name = requireMatch(SUBJECT, normalizeQuery(subject).replace(' ', '_'), "subject");
+        StringBuilder path = new StringBuilder("/subjects/").append(name).append(".json?limit=").append(resolveLimit(limit));
+        if (sort != null && !sort.isBlank()) {
+            path.append("&sort=").append(encode(requireMatch(SORT, sort.trim().toLowerCase(Locale.ROOT), "sort")));
+        }
+        return get(path.toString(), body -> {});
+    }
+
+    public boolean isCircuitOpen() {
+        return System.currentTimeMillis() < openUntil;
+    }
+
+    public int cacheSize() {
+        return responseCache.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        prepopulator.shutdownNow();
+    }
+
+    // ----- HELPERS -----
+
+    private String get(String path, Consumer<String> onFetched) {
+        TtlCache.Entry<String> cached = responseCache.get(path);
+        if (cached != null && cached.isFresh()) return cached.value();
+
+        if (isCircuitOpen()) {
+            if (cached != null) return cached.value();
+            throw new ServiceBusyException("Book search is temporarily unavailable. Please try again shortly.");
+        }
+
+        if (cached != null) {
+            refreshInBackground(path, cached.value(), onFetched);
+            return cached.value();
+        }
+
+        try {
+            // The HTTP timeouts bound this already; the extra second covers a slow connect
+            return load(path, onFetched).get(readTimeout.toMillis() + 1_000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Book search is temporarily unavailable. Please try again shortly.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof NotFound) {
+                throw new ResourceNotFoundException("Not found on Open Library: " + path);
+            }
+            log.warn("OpenLibraryService: {} failed ({})", path, rootMessage(e));
+            throw new ServiceBusyException("Book search is temporarily unavailable. Please try again shortly.");
+        } catch (TimeoutException e) {
+            log.warn("OpenLibraryService: {} timed out", path);
+            throw new ServiceBusyException("Book search is temporarily unavailable. Please try again shortly.");
+        }
+    }
+
+    // Single-flight fetch; on success the body is cached before any waiter sees it
+    private CompletableFuture<String> load(String path, Consumer<String> onFetched) {
+        return inFlight.run(path, () -> fetch(path).thenApply(body -> {
+            responseCache.put(path, body, ttl);
+            try {
+                onFetched.accept(body);
+            } catch (RuntimeException e) {
+                log.warn("OpenLibraryService: post-processing {} failed ({})", path, e.getMessage());
+            }
+            return body;
+        }));
+    }
+
+    // Keeps serving the stale body; a failed refresh pushes the next attempt out by the open window
+    private void refreshInBackground(String path, String staleBody, Consumer<String> onFetched) {
+        load(path, onFetched).exceptionally(e -> {
+            log.debug("OpenLibraryService: refresh of {} failed ({})", path, rootMessage(e));
+            responseCache.put(path, staleBody, Duration.ofMillis(openMs));
+            return staleBody;
+        });
+    }
+
+    private CompletableFuture<String> fetch(String path) {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + path))
+                .timeout(readTimeout)
+                .header("User-Agent", USER_AGENT)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        recordFailure();
+                        throw new IllegalStateException("Open Library unreachable", error);
+                    }
+                    if (response.statusCode() == 404) {
+                        recordSuccess();
+                        throw new NotFound();
+                    }
+                    if (response.statusCode() != 200) {
+                        recordFailure();
+                        throw new IllegalStateException("HTTP " + response.statusCode());
+                    }
+                    recordSuccess();
+                    return response.body();
+                });
+    }
+
+    private void recordSuccess() {
+        consecutiveFailures.set(0);
+    }
+
+    private void recordFailure() {
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            if (!isCircuitOpen()) {
+                log.warn("OpenLibraryService: {} consecutive failures, pausing upstream calls for {} ms",
+                        consecutiveFailures.get(), openMs);
+            }
+            openUntil = System.currentTimeMillis() + openMs;
+        }
+    }
+
+    // Runs on the caller's thread (an HTTP client thread), so it only hands the body over
+    private void prepopulateLater(String body) {
+        try {
+            prepopulator.execute(() -> {
+                try {
+                    prepopulateBooks(body);
+                } catch (RuntimeException e) {
+                    log.warn("OpenLibraryService: prepopulating books failed ({})", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("OpenLibraryService: prepopulate queue full, skipping a search page");
+        }
+    }
+
+    // Works with a title and an author become book rows; anything else in the page is skipped
+    private void prepopulateBooks(String body) {
+        JsonNode docs;
+        try {
+            docs = objectMapper.readTree(body).path("docs");
+        } catch (Exception e) {
+            return;
+        }
+
+        List<BookDto.Request> books = new ArrayList<>();
+        for (JsonNode doc : docs) {
+            String key = doc.path("key").asText("");
+            String title = doc.path("title").asText("");
+            String author = doc.path("author_name").path(0).asText("");
+            if (!key.startsWith("/works/") || title.isBlank() || author.isBlank()) continue;
+
+            books.add(BookDto.Request.builder()
+                    .bookId(key)
+                    .title(title)
+                    .author(author)
+                    .coverImageUrl(doc.hasNonNull("cover_i") ? String.format(COVER_URL, doc.get("cover_i").asLong()) : null)
+                    .build());
+        }
+        if (!books.isEmpty()) bookService.ensureBooksExist(books);
+    }
+
+    private static String normalizeQuery(String query) {
+        if (query == null) return "";
+        String q = WHITESPACE.matcher(query.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+        return q.length() > MAX_QUERY_LENGTH ? q.substring(0, MAX_QUERY_LENGTH) : q;
+    }
+
+    // Sorted and de-duplicated so "title,key" and "key,title" share a cache entry
+    private static String normalizeFields(String fields) {
+        if (fields == null || fields.isBlank()) return DEFAULT_SEARCH_FIELDS;
+        return String.join(",", Arrays.stream(fields.toLowerCase(Locale.ROOT).split(","))
+                .map(String::trim)
+                .filter(f -> !f.isEmpty())
+                .map(f -> requireMatch(FIELD, f, "field"))
+                .distinct()
+                .sorted()
+                .toList());
+    }
+
+    private static int resolveLimit(Integer limit) {
+        if (limit == null) return DEFAULT_LIMIT;
+        if (limit < 1) throw new InvalidRequestException("limit must be at least 1");
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    private static String requireMatch(Pattern pattern, String value, String name) {
+        if (!pattern.matcher(value).matches()) throw new InvalidRequestException("Invalid " + name + ": " + value);
+        return value;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null) cause = cause.getCause();
+        return cause.getClass().getSimpleName() + ": " + cause.getMessage();
+    }
+
+    // Upstream 404; not a failure for the breaker
+    private static final class NotFound extends RuntimeException {
+        NotFound() {
+            super("HTTP 404", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.noveltea.backend.service;
+
+import com.noveltea.backend.exception.ServiceBusyException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bulkhead for BCrypt work (login, register, password change).
+ *
+ * Rules:
+ *   - Hashing runs on its own fixed pool with a bounded queue, so a login storm can use at most
+ *     `threads` cores and never ties up every request thread with CPU-heavy work.
+ *   - When the pool and queue are full, callers are rejected immediately with ServiceBusyException (503).
+ *   - A caller waits at most waitTimeoutMs for its hash; a job that times out is cancelled.
+ *   - Queue depth, rejections and hash latency are exposed for metrics.
+ */
+@Slf4j
+@Component
+public class PasswordHasher {
+
+    // Shared by sign-in, registration and password change, so it names none of them
+    static final String BUSY_MESSAGE = "The server is busy right now. Please try again shortly.";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long waitTimeoutMs;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalHashNanos = new LongAdder();
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          @Value("${app.auth.hashThreads:0}") int threads,
+                          @Value("${app.auth.hashQueueCapacity:64}") int queueCapacity,
+                          @Value("${app.auth.hashWaitTimeoutMs:5000}") long waitTimeoutMs) {
+        this.passwordEncoder = passwordEncoder;
+        this.waitTimeoutMs = waitTimeoutMs;
+
+        // 0 = half the cores (at least one), leaving the rest for regular request work
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "password-hasher-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public String encode(String rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String hashedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, hashedPassword));
+    }
+
+    // ----- METRICS -----
+
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int activeCount() {
+        return executor.getActiveCount();
+    }
+
+    public long completedCount() {
+        return completed.sum();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    public long totalHashNanos() {
+        return totalHashNanos.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ----- HELPERS -----
+
+    private <T> T run(Callable<T> hash) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                try {
+                    return hash.call();
+                } finally {
+                    totalHashNanos.add(System.nanoTime() - started);
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceBusyException(BUSY_MESSAGE);
+        }
+
+        try {
+            return future.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new ServiceBusyException(BUSY_MESSAGE);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Request interrupted while hashing the password.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
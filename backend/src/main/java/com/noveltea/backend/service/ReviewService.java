@@ -1,5 +1,6 @@
 package com.noveltea.backend.service;
 
+import com.noveltea.backend.dto.CursorPage;
 import com.noveltea.backend.dto.ReviewDto;
 
 import java.util.List;
@@ -12,15 +13,29 @@ public interface ReviewService {
     // logged in: returns public + your own private reviews for that book
     List<ReviewDto.Response> getByBookId(Long userIdOrNull, String bookId);
 
+    // Keyset-paginated version of getByBookId; same visibility rules
+    CursorPage<ReviewDto.Response> getPageByBookId(Long userIdOrNull, String bookId,
+                                                   ReviewDto.Sort sort, String cursor, Integer size);
+
+    // The user's own review of the book, or null if they have not reviewed it
+    ReviewDto.Response getMine(Long userId, String bookId);
+
     ReviewDto.Response update(Long userId, Long reviewId, ReviewDto.UpdateRequest request);
 
     void delete(Long userId, Long reviewId);
 
     long countByUserId(Long userId);
 
+    // Own profile: counts all reviews; other users / guests: public only
+    long countVisibleByUserId(Long requesterId, Long targetUserId);
+
     // Own profile: returns all reviews; other users / guests: public only
     List<ReviewDto.Response> getByUserId(Long requesterId, Long targetUserId);
 
+    // Keyset-paginated version of getByUserId; same visibility rules
+    CursorPage<ReviewDto.Response> getPageByUserId(Long requesterId, Long targetUserId,
+                                                   ReviewDto.Sort sort, String cursor, Integer size);
+
     ReviewDto.Response likeReview(Long userId, Long reviewId);
 
     ReviewDto.Response unlikeReview(Long userId, Long reviewId);
@@ -1,7 +1,9 @@
 package com.noveltea.backend.service;
 
+import com.noveltea.backend.dto.CursorPage;
 import com.noveltea.backend.dto.ReviewDto;
 import com.noveltea.backend.exception.ForbiddenException;
+import com.noveltea.backend.exception.InvalidRequestException;
 import com.noveltea.backend.exception.ResourceNotFoundException;
 import com.noveltea.backend.model.Book;
 import com.noveltea.backend.model.Review;
@@ -9,11 +11,17 @@ import com.noveltea.backend.model.User;
 import com.noveltea.backend.repository.ReviewRepository;
 import com.noveltea.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.noveltea.backend.model.ReviewLike;
 import com.noveltea.backend.repository.ReviewLikeRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 @Service
@@ -25,6 +33,21 @@ public class ReviewServiceImpl implements ReviewService {
     private final BookService bookService;
     private final ReviewLikeRepository reviewLikeRepository;
     private final GamificationService gamificationService;
+    private final TrendingService trendingService;
+
+    // First-page sentinels: greater than any real value, so the keyset condition matches every row
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+    private static final BigDecimal MAX_RATING = new BigDecimal("9.9");
+    // Stand-in viewer ID for anonymous requests (matches no review owner)
+    private static final Long NO_VIEWER = -1L;
+    // IDs bound per like-status query; the unpaged listings can hold more reviews than Postgres has parameters
+    static final int LIKED_ID_CHUNK = 1_000;
+
+    @Value("${app.reviews.pageSize:20}")
+    private int defaultPageSize;
+
+    @Value("${app.reviews.maxPageSize:100}")
+    private int maxPageSize;
 
     // ---------------- CREATE ----------------
 
@@ -59,10 +82,15 @@ public class ReviewServiceImpl implements ReviewService {
         gamificationService.awardPoints(userId, GamificationService.POINTS_FOR_REVIEW_CREATED);
         gamificationService.updateDailyStreak(userId);
 
-        // rating recalc after create
-        bookService.recalculateRating(book.getBookId());
+        // fold the new rating into the book's running aggregate
+        bookService.applyRatingDelta(book.getBookId(), saved.getRating(), 1);
+
+        if (!Boolean.FALSE.equals(saved.getVisibility())) {
+            trendingService.record(book.getBookId(), TrendingService.Signal.REVIEW);
+        }
 
-        return toResponse(saved, userId);
+        // brand-new review — nobody has liked it yet
+        return toResponse(saved, false);
     }
 
     // ---------------- PUBLIC VIEW ----------------
@@ -85,9 +113,38 @@ public class ReviewServiceImpl implements ReviewService {
             );
         }
 
-        return results.stream()
-            .map(review -> toResponse(review, userIdOrNull))
-            .toList();
+        return toResponses(results, userIdOrNull);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ReviewDto.Response> getPageByBookId(Long userIdOrNull, String bookId,
+                                                          ReviewDto.Sort sort, String cursor, Integer size) {
+        int pageSize = KeysetCursor.pageSize(size, defaultPageSize, maxPageSize);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Long viewerId = userIdOrNull == null ? NO_VIEWER : userIdOrNull;
+        Long afterId = after == null ? Long.MAX_VALUE : after.id();
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<Review> rows = switch (sort) {
+            case NEWEST -> reviewRepository.findBookPageNewest(
+                    bookId, viewerId, afterDate(after), afterId, limit);
+            case MOST_LIKED -> reviewRepository.findBookPageMostLiked(
+                    bookId, viewerId, afterLikes(after), afterId, limit);
+            case HIGHEST_RATED -> reviewRepository.findBookPageHighestRated(
+                    bookId, viewerId, afterRating(after), afterId, limit);
+        };
+
+        return toPage(rows, pageSize, sort, userIdOrNull);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReviewDto.Response getMine(Long userId, String bookId) {
+        // Owners cannot like their own reviews
+        return reviewRepository.findFirstByUser_UserIdAndBook_BookId(userId, bookId)
+                .map(review -> toResponse(review, false))
+                .orElse(null);
     }
 
     // ---------------- UPDATE ----------------
@@ -104,6 +161,8 @@ public class ReviewServiceImpl implements ReviewService {
         }
 
         boolean ratingChanged = false;
+        BigDecimal previousRating = review.getRating();
+        boolean wasPublic = !Boolean.FALSE.equals(review.getVisibility());
 
         if (request.getRating() != null) {
             review.setRating(request.getRating());
@@ -119,10 +178,26 @@ public class ReviewServiceImpl implements ReviewService {
         Review saved = reviewRepository.save(review);
 
         if (ratingChanged) {
-            bookService.recalculateRating(saved.getBook().getBookId());
+            bookService.applyRatingDelta(
+                    saved.getBook().getBookId(), saved.getRating().subtract(previousRating), 0);
+        }
+
+        // A review and its likes only count towards trending while the review is public
+        boolean isPublic = !Boolean.FALSE.equals(saved.getVisibility());
+        if (wasPublic != isPublic) {
+            String bookId = saved.getBook().getBookId();
+            int likes = saved.getLikes() == null ? 0 : saved.getLikes();
+            if (isPublic) {
+                trendingService.record(bookId, TrendingService.Signal.REVIEW);
+                trendingService.record(bookId, TrendingService.Signal.REVIEW_LIKE, likes);
+            } else {
+                trendingService.retract(bookId, TrendingService.Signal.REVIEW);
+                trendingService.retract(bookId, TrendingService.Signal.REVIEW_LIKE, likes);
+            }
         }
 
-        return toResponse(saved, userId);
+        // Owners cannot like their own reviews
+        return toResponse(saved, false);
     }
 
     // ---------------- DELETE ----------------
@@ -139,11 +214,20 @@ public class ReviewServiceImpl implements ReviewService {
         }
 
         String bookId = review.getBook().getBookId();
+        BigDecimal rating = review.getRating();
+        boolean wasPublic = !Boolean.FALSE.equals(review.getVisibility());
+        int likes = review.getLikes() == null ? 0 : review.getLikes();
         gamificationService.removePoints(userId, GamificationService.POINTS_REMOVED_WHEN_REVIEW_DELETED);
         reviewRepository.delete(review);
 
-        // rating recalc after delete
-        bookService.recalculateRating(bookId);
+        // take the deleted rating back out of the book's running aggregate
+        bookService.applyRatingDelta(bookId, rating.negate(), -1);
+
+        // A public review and its likes were counted towards trending; take them back
+        if (wasPublic) {
+            trendingService.retract(bookId, TrendingService.Signal.REVIEW);
+            trendingService.retract(bookId, TrendingService.Signal.REVIEW_LIKE, likes);
+        }
     }
 
     // ---------------- BY USER ----------------
@@ -157,9 +241,30 @@ public class ReviewServiceImpl implements ReviewService {
         } else {
             reviews = reviewRepository.findByUser_UserIdAndVisibilityTrue(targetUserId);
         }
-        return reviews.stream()
-            .map(review -> toResponse(review, requesterId))
-            .toList();    }
+        return toResponses(reviews, requesterId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ReviewDto.Response> getPageByUserId(Long requesterId, Long targetUserId,
+                                                          ReviewDto.Sort sort, String cursor, Integer size) {
+        int pageSize = KeysetCursor.pageSize(size, defaultPageSize, maxPageSize);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        boolean includePrivate = requesterId != null && requesterId.equals(targetUserId);
+        Long afterId = after == null ? Long.MAX_VALUE : after.id();
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<Review> rows = switch (sort) {
+            case NEWEST -> reviewRepository.findUserPageNewest(
+                    targetUserId, includePrivate, afterDate(after), afterId, limit);
+            case MOST_LIKED -> reviewRepository.findUserPageMostLiked(
+                    targetUserId, includePrivate, afterLikes(after), afterId, limit);
+            case HIGHEST_RATED -> reviewRepository.findUserPageHighestRated(
+                    targetUserId, includePrivate, afterRating(after), afterId, limit);
+        };
+
+        return toPage(rows, pageSize, sort, requesterId);
+    }
 
     // ---------------- COUNT ----------------
 
@@ -169,34 +274,117 @@ public class ReviewServiceImpl implements ReviewService {
         return reviewRepository.countByUser_UserId(userId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public long countVisibleByUserId(Long requesterId, Long targetUserId) {
+        if (requesterId != null && requesterId.equals(targetUserId)) {
+            return reviewRepository.countByUser_UserId(targetUserId);
+        }
+        return reviewRepository.countByUser_UserIdAndVisibilityTrue(targetUserId);
+    }
+
+    // ---------------- PAGINATION HELPERS ----------------
+
+    // Rows were fetched with one extra to detect whether another page exists
+    private CursorPage<ReviewDto.Response> toPage(List<Review> rows, int pageSize,
+                                                  ReviewDto.Sort sort, Long currentUserIdOrNull) {
+        boolean hasMore = rows.size() > pageSize;
+        List<Review> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            Review last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(sortValue(last, sort), last.getReviewId()).encode();
+        }
+
+        return CursorPage.<ReviewDto.Response>builder()
+                .items(toResponses(page, currentUserIdOrNull))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private String sortValue(Review r, ReviewDto.Sort sort) {
+        return switch (sort) {
+            case NEWEST -> r.getCreationDate().toString();
+            case MOST_LIKED -> String.valueOf(r.getLikes());
+            case HIGHEST_RATED -> r.getRating().toPlainString();
+        };
+    }
+
+    private LocalDate afterDate(KeysetCursor after) {
+        if (after == null) return MAX_DATE;
+        try {
+            return LocalDate.parse(after.value());
+        } catch (DateTimeParseException e) {
+            throw new InvalidRequestException("Cursor does not match sort NEWEST");
+        }
+    }
+
+    private Integer afterLikes(KeysetCursor after) {
+        if (after == null) return Integer.MAX_VALUE;
+        try {
+            return Integer.parseInt(after.value());
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("Cursor does not match sort MOST_LIKED");
+        }
+    }
+
+    private BigDecimal afterRating(KeysetCursor after) {
+        if (after == null) return MAX_RATING;
+        try {
+            return new BigDecimal(after.value());
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("Cursor does not match sort HIGHEST_RATED");
+        }
+    }
+
     // ---------------- DTO MAPPING ----------------
 
-    private ReviewDto.Response toResponse(Review r, Long currentUserId) {
-    boolean likedByCurrentUser = false;
+    /**
+     * Maps a page of reviews, resolving the viewer's like status with one query per LIKED_ID_CHUNK
+     * reviews (a single query for any keyset page). Liked IDs are kept as a sorted primitive array and
+     * probed with binary search.
+     */
+    private List<ReviewDto.Response> toResponses(List<Review> reviews, Long currentUserIdOrNull) {
+        long[] likedIds = likedReviewIds(reviews, currentUserIdOrNull);
+        return reviews.stream()
+                .map(r -> toResponse(r, Arrays.binarySearch(likedIds, r.getReviewId()) >= 0))
+                .toList();
+    }
 
-    if (currentUserId != null) {
-        likedByCurrentUser = reviewLikeRepository.existsByUser_UserIdAndReview_ReviewId(
-                currentUserId,
-                r.getReviewId()
-        );
+    private long[] likedReviewIds(List<Review> reviews, Long currentUserIdOrNull) {
+        if (currentUserIdOrNull == null || reviews.isEmpty()) {
+            return new long[0];
+        }
+
+        List<Long> reviewIds = reviews.stream().map(Review::getReviewId).toList();
+        List<Long> liked = new ArrayList<>();
+        for (int from = 0; from < reviewIds.size(); from += LIKED_ID_CHUNK) {
+            List<Long> chunk = reviewIds.subList(from, Math.min(from + LIKED_ID_CHUNK, reviewIds.size()));
+            liked.addAll(reviewLikeRepository.findLikedReviewIds(currentUserIdOrNull, chunk));
+        }
+        long[] sorted = liked.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return sorted;
     }
 
-    return ReviewDto.Response.builder()
-            .reviewId(r.getReviewId())
-            .userId(r.getUser().getUserId())
-            .username(r.getUser().getUsername())
-            .bookId(r.getBook().getBookId())
-            .bookTitle(r.getBook().getTitle())
-            .bookAuthor(r.getBook().getAuthor())
-            .coverImageUrl(r.getBook().getCoverImageUrl())
-            .rating(r.getRating())
-            .reviewText(r.getReviewText())
-            .likes(r.getLikes())
-            .likedByCurrentUser(likedByCurrentUser)
-            .visibility(r.getVisibility())
-            .creationDate(r.getCreationDate())
-            .build();
-}
+    ReviewDto.Response toResponse(Review r, boolean likedByCurrentUser) {
+        return ReviewDto.Response.builder()
+                .reviewId(r.getReviewId())
+                .userId(r.getUser().getUserId())
+                .username(r.getUser().getUsername())
+                .bookId(r.getBook().getBookId())
+                .bookTitle(r.getBook().getTitle())
+                .bookAuthor(r.getBook().getAuthor())
+                .coverImageUrl(r.getBook().getCoverImageUrl())
+                .rating(r.getRating())
+                .reviewText(r.getReviewText())
+                .likes(r.getLikes())
+                .likedByCurrentUser(likedByCurrentUser)
+                .visibility(r.getVisibility())
+                .creationDate(r.getCreationDate())
+                .build();
+    }
 
         // ---------------- Like Reviews ----------------
 
@@ -220,7 +408,7 @@ public class ReviewServiceImpl implements ReviewService {
 
         boolean alreadyLiked = reviewLikeRepository.existsByUserAndReview(user, review);
         if (alreadyLiked) {
-            return toResponse(review, userId);
+            return toResponse(review, true);
         }
 
         ReviewLike reviewLike = ReviewLike.builder()
@@ -237,7 +425,9 @@ public class ReviewServiceImpl implements ReviewService {
         review.setLikes((int) reviewLikeRepository.countByReview(review));
         Review savedReview = reviewRepository.save(review);
 
-        return toResponse(savedReview, userId); 
+        trendingService.record(review.getBook().getBookId(), TrendingService.Signal.REVIEW_LIKE);
+
+        return toResponse(savedReview, true);
     }
     // ---------------- Unlike Reviews ----------------
 
@@ -263,6 +453,11 @@ public class ReviewServiceImpl implements ReviewService {
         review.setLikes((int) reviewLikeRepository.countByReview(review));
         Review savedReview = reviewRepository.save(review);
 
-        return toResponse(savedReview, userId);
+        // Only likes on public reviews were counted, so only those are taken back
+        if (!Boolean.FALSE.equals(review.getVisibility())) {
+            trendingService.retract(review.getBook().getBookId(), TrendingService.Signal.REVIEW_LIKE);
+        }
+
+        return toResponse(savedReview, false);
     }
 }
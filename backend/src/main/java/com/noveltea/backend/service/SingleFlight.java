@@ -0,0 +1,40 @@
+package com.noveltea.backend.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key into one call.
+ *
+ * The first caller for a key starts the load; everyone who asks for that key before it finishes
+ * gets the same future. The key is released as soon as the load completes, successfully or not,
+ * so the next caller starts a fresh one.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public CompletableFuture<V> run(K key, Supplier<CompletableFuture<V>> loader) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) return existing;
+
+        try {
+            loader.get().whenComplete((value, error) -> {
+                inFlight.remove(key, created);
+                if (error != null) created.completeExceptionally(error);
+                else created.complete(value);
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(e);
+        }
+        return created;
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
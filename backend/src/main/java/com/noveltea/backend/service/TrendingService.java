@@ -0,0 +1,308 @@
+package com.noveltea.backend.service;
+
+import com.noveltea.backend.dto.BookDto;
+import com.noveltea.backend.model.TrendingCheckpoint;
+import com.noveltea.backend.repository.TrendingCheckpointRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trending books, computed from activity inside the app.
+ *
+ * Rules:
+ *   - Each event adds its signal's weight to the book's score: a review 3, a like on a review 1,
+ *     an add to a list 2, an add to a club's shelf 5. Events count once their transaction commits.
+ *     Private reviews and private lists are not counted. Undoing an event (unliking, deleting a review,
+ *     removing a book from a list or shelf, deleting the list or club, making a review or list private)
+ *     subtracts its weight again, so repeating an action and its undo adds nothing.
+ *   - Scores decay exponentially with a half-life of halfLifeHours. They are stored forward-decayed
+ *     (weight * e^((t - landmark) / tau)), so recording is one map merge and existing scores are
+ *     never rewritten; the landmark moves forward, rescaling every score, before the factor gets
+ *     large enough to lose precision.
+ *   - Books whose score has decayed below MIN_SCORE are dropped, and at most MAX_TRACKED books are
+ *     kept (weakest dropped first), so memory follows recent activity, not catalog size.
+ *   - GET /books/trending reads a top-K snapshot that is rebuilt within REFRESH_MS of a change and
+ *     every MAX_AGE_MS (to pick up rating changes), so a request costs O(K).
+ *   - Scores are checkpointed every checkpointMinutes and at shutdown, and reloaded at startup
+ *     decayed by the downtime. Each instance counts its own events; the checkpoint is last writer wins.
+ */
+@Slf4j
+@Service
+public class TrendingService {
+
+    public enum Signal {
+        REVIEW(3.0),
+        REVIEW_LIKE(1.0),
+        LIST_ADD(2.0),
+        CLUB_ADD(5.0);
+
+        private final double weight;
+
+        Signal(double weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final long CHECKPOINT_ID = 1L;
+    private static final long REFRESH_MS = 30_000L;
+    private static final long MAX_AGE_MS = 5 * 60 * 1000L;
+    static final int MAX_TRACKED = 50_000;
+    static final double MIN_SCORE = 0.05;
+    // e^40 (~2e17) is far from overflow; with a 24 h half-life the landmark moves about every 8 weeks
+    static final double MAX_EXPONENT = 40.0;
+
+    private static final Comparator<Map.Entry<String, Double>> HIGHER_SCORE = Map.Entry.<String, Double>comparingByValue()
+            .reversed()
+            .thenComparing(Map.Entry.comparingByKey());
+
+    private final BookService bookService;
+    private final TrendingCheckpointRepository checkpointRepository;
+    private final int size;
+    // Mean lifetime in ms: halfLife / ln 2
+    private final double tauMs;
+
+    private final Map<String, Double> scores = new ConcurrentHashMap<>();
+    // Recording holds the read lock; rescaling and pruning take the write lock
+    private final ReentrantReadWriteLock scoresLock = new ReentrantReadWriteLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    private final AtomicBoolean unsaved = new AtomicBoolean(false);
+    private volatile long landmarkMs = System.currentTimeMillis();
+    private volatile Snapshot snapshot = new Snapshot(List.of(), 0L);
+
+    private record Snapshot(List<BookDto.Response> books, long builtAt) {}
+
+    public TrendingService(BookService bookService,
+                           TrendingCheckpointRepository checkpointRepository,
+                           @Value("${app.trending.size:50}") int size,
+                           @Value("${app.trending.halfLifeHours:24}") double halfLifeHours) {
+        this.bookService = bookService;
+        this.checkpointRepository = checkpointRepository;
+        this.size = size;
+        this.tauMs = TimeUnit.HOURS.toMillis(1) * halfLifeHours / Math.log(2);
+    }
+
+    /**
+     * Top trending books, best first (at most app.trending.size).
+     */
+    public List<BookDto.Response> getTrending(Integer limit) {
+        List<BookDto.Response> books = snapshot.books;
+        int max = limit == null || limit <= 0 ? size : Math.min(limit, size);
+        return books.size() <= max ? books : books.subList(0, max);
+    }
+
+    /**
+     * Counts one event for the book, once the surrounding transaction commits.
+     */
+    public void record(String bookId, Signal signal) {
+        record(bookId, signal, 1);
+    }
+
+    public void record(String bookId, Signal signal, int times) {
+        if (times <= 0) return;
+        AfterCommit.run(() -> add(bookId, signal.weight * times, System.currentTimeMillis()));
+    }
+
+    /**
+     * Takes back events counted earlier, once the surrounding transaction commits. The full current
+     * weight is subtracted, so an old event is over-corrected rather than left behind.
+     */
+    public void retract(String bookId, Signal signal) {
+        retract(bookId, signal, 1);
+    }
+
+    public void retract(String bookId, Signal signal, int times) {
+        if (times <= 0) return;
+        AfterCommit.run(() -> add(bookId, -signal.weight * times, System.currentTimeMillis()));
+    }
+
+    public int trackedBooks() {
+        return scores.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            checkpointRepository.findById(CHECKPOINT_ID).ifPresent(this::restore);
+        } catch (RuntimeException e) {
+            // Start from empty scores; they fill up again as activity comes in
+            log.warn("TrendingService: checkpoint restore failed ({})", e.getMessage());
+        }
+        rebuild();
+    }
+
+    @Scheduled(fixedDelay = REFRESH_MS)
+    public void refresh() {
+        prune(System.currentTimeMillis());
+        if (dirty.get() || System.currentTimeMillis() - snapshot.builtAt >= MAX_AGE_MS) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.trending.checkpointMinutes:5}",
+               initialDelayString = "${app.trending.checkpointMinutes:5}",
+               timeUnit = TimeUnit.MINUTES)
+    public void checkpoint() {
+        if (!unsaved.getAndSet(false)) return;
+        try {
+            long now = System.currentTimeMillis();
+            StringBuilder payload = new StringBuilder();
+            scoresLock.readLock().lock();
+            try {
+                double toNow = Math.exp(-(now - landmarkMs) / tauMs);
+                scores.forEach((bookId, score) ->
+                        payload.append(bookId).append('\t').append(score * toNow).append('\n'));
+            } finally {
+                scoresLock.readLock().unlock();
+            }
+
+            checkpointRepository.save(TrendingCheckpoint.builder()
+                    .id(CHECKPOINT_ID)
+                    .takenAt(Instant.ofEpochMilli(now))
+                    .payload(payload.toString())
+                    .build());
+        } catch (RuntimeException e) {
+            unsaved.set(true);
+            log.warn("TrendingService: checkpoint failed ({})", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        checkpoint();
+    }
+
+    // ----- HELPERS -----
+
+    // Package-private (like prune, restore and score) so tests can drive the clock
+    void add(String bookId, double weight, long nowMs) {
+        scoresLock.readLock().lock();
+        try {
+            double value = weight * Math.exp((nowMs - landmarkMs) / tauMs);
+            if (value > 0) {
+                scores.merge(bookId, value, Double::sum);
+            } else {
+                // A retraction never creates a score, and one taken to zero or below is dropped
+                scores.computeIfPresent(bookId, (id, score) -> score + value > 0 ? score + value : null);
+            }
+        } finally {
+            scoresLock.readLock().unlock();
+        }
+        dirty.set(true);
+        unsaved.set(true);
+    }
+
+    // Moves the landmark forward when due, then drops decayed and surplus books
+    void prune(long nowMs) {
+        scoresLock.writeLock().lock();
+        try {
+            double exponent = (nowMs - landmarkMs) / tauMs;
+            if (exponent > MAX_EXPONENT) {
+                double factor = Math.exp(-exponent);
+                scores.replaceAll((bookId, score) -> score * factor);
+                landmarkMs = nowMs;
+                exponent = 0;
+            }
+
+            int before = scores.size();
+            // MIN_SCORE as of now, in forward-decayed units
+            double floor = MIN_SCORE * Math.exp(exponent);
+            scores.values().removeIf(score -> score < floor);
+            if (scores.size() > MAX_TRACKED) {
+                Set<String> keep = new HashSet<>(topIds(MAX_TRACKED));
+                scores.keySet().retainAll(keep);
+            }
+            if (scores.size() != before) {
+                dirty.set(true);
+            }
+        } finally {
+            scoresLock.writeLock().unlock();
+        }
+    }
+
+    // Single rebuilder; a change recorded during the rebuild re-marks it for the next pass
+    private void rebuild() {
+        if (!rebuildLock.tryLock()) return;
+        try {
+            dirty.set(false);
+            // Forward decay keeps relative order, so the raw stored scores rank correctly
+            List<BookDto.Response> books = bookService.getBooksInOrder(topIds(size));
+            snapshot = new Snapshot(books, System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            // Keep serving the previous snapshot
+            dirty.set(true);
+            log.warn("TrendingService: rebuild failed ({})", e.getMessage());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // Bounded heap of the best k entries; its head is the worst one kept
+    private List<String> topIds(int k) {
+        PriorityQueue<Map.Entry<String, Double>> heap = new PriorityQueue<>(k + 1, HIGHER_SCORE.reversed());
+        for (Map.Entry<String, Double> e : scores.entrySet()) {
+            heap.add(Map.entry(e.getKey(), e.getValue()));
+            if (heap.size() > k) heap.poll();
+        }
+
+        List<Map.Entry<String, Double>> ranked = new ArrayList<>(heap);
+        ranked.sort(HIGHER_SCORE);
+        return ranked.stream().map(Map.Entry::getKey).toList();
+    }
+
+    // Current (decayed) score of a book, 0 if it is not tracked
+    double score(String bookId, long nowMs) {
+        scoresLock.readLock().lock();
+        try {
+            return scores.getOrDefault(bookId, 0.0) * Math.exp(-(nowMs - landmarkMs) / tauMs);
+        } finally {
+            scoresLock.readLock().unlock();
+        }
+    }
+
+    long landmarkMs() {
+        return landmarkMs;
+    }
+
+    private void restore(TrendingCheckpoint checkpoint) {
+        restore(checkpoint, System.currentTimeMillis());
+    }
+
+    void restore(TrendingCheckpoint checkpoint, long now) {
+        long elapsedMs = Math.max(0L, now - checkpoint.getTakenAt().toEpochMilli());
+        double decay = Math.exp(-elapsedMs / tauMs);
+
+        boolean hadUnsaved = unsaved.get();
+        int restored = 0;
+        for (String line : checkpoint.getPayload().split("\n")) {
+            int tab = line.indexOf('\t');
+            if (tab <= 0) continue;
+            double score = Double.parseDouble(line.substring(tab + 1)) * decay;
+            if (score < MIN_SCORE) continue;
+            add(line.substring(0, tab), score, now);
+            restored++;
+        }
+        // Restored scores are already in the checkpoint
+        if (!hadUnsaved) unsaved.set(false);
+        log.info("TrendingService: restored {} score(s) from checkpoint taken at {}", restored, checkpoint.getTakenAt());
+    }
+}
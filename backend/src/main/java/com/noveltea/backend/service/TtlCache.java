@@ -0,0 +1,56 @@
+package com.noveltea.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Size-bounded in-memory cache with a per-entry TTL.
+ *
+ * Rules:
+ *   - Holds at most maxSize entries; inserting past that evicts the entry least likely to be used
+ *     again (Caffeine's frequency-and-recency policy).
+ *   - Expired entries are still returned by get() (marked not fresh) so callers can serve stale
+ *     data while they refresh, or fall back to it when the origin is down.
+ *   - Reads take no lock, so concurrent lookups (every authenticated request goes through the
+ *     JwtService cache) never queue behind each other.
+ */
+public class TtlCache<K, V> {
+
+    public record Entry<V>(V value, long expiresAt) {
+
+        public boolean isFresh() {
+            return System.currentTimeMillis() < expiresAt;
+        }
+    }
+
+    // Expiry is kept in the entry rather than in Caffeine, so expired entries stay readable
+    private final Cache<K, Entry<V>> entries;
+
+    public TtlCache(int maxSize) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * The entry for {@code key}, fresh or expired, or null if absent.
+     */
+    public Entry<V> get(K key) {
+        return entries.getIfPresent(key);
+    }
+
+    public void put(K key, V value, Duration ttl) {
+        putUntil(key, value, System.currentTimeMillis() + ttl.toMillis());
+    }
+
+    public void putUntil(K key, V value, long expiresAt) {
+        entries.put(key, new Entry<>(value, expiresAt));
+    }
+
+    // Approximate: evictions are applied in batches
+    public int size() {
+        return (int) entries.estimatedSize();
+    }
+}
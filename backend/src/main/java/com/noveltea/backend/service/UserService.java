@@ -1,16 +1,20 @@
 package com.noveltea.backend.service;
 
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.noveltea.backend.dto.UserDto;
 import com.noveltea.backend.exception.ForbiddenException;
 import com.noveltea.backend.exception.InvalidRequestException;
 import com.noveltea.backend.exception.ResourceNotFoundException;
+import com.noveltea.backend.model.BookClub;
 import com.noveltea.backend.model.User;
+import com.noveltea.backend.repository.BookClubRepository;
 import com.noveltea.backend.repository.FollowerRepository;
 import com.noveltea.backend.repository.UserRepository;
 
@@ -19,12 +23,23 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final FollowerRepository followerRepository;
-    private final PasswordEncoder passwordEncoder;
-
-    public UserService(UserRepository userRepository, FollowerRepository followerRepository, PasswordEncoder passwordEncoder) {
+    private final PasswordHasher passwordHasher;
+    private final BookClubRepository bookClubRepository;
+    private final LeaderboardService leaderboardService;
+    private final UsernameIndex usernameIndex;
+    private final EntityCacheEvictor entityCacheEvictor;
+
+    public UserService(UserRepository userRepository, FollowerRepository followerRepository,
+                       PasswordHasher passwordHasher, BookClubRepository bookClubRepository,
+                       LeaderboardService leaderboardService, UsernameIndex usernameIndex,
+                       EntityCacheEvictor entityCacheEvictor) {
         this.userRepository = userRepository;
         this.followerRepository = followerRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
+        this.bookClubRepository = bookClubRepository;
+        this.leaderboardService = leaderboardService;
+        this.usernameIndex = usernameIndex;
+        this.entityCacheEvictor = entityCacheEvictor;
     }
 
     // GET /users/{id} — public read, no ownership check needed
@@ -58,6 +73,7 @@ public class UserService {
     }
 
     // PUT /users/{id} — user themselves or an admin can update a profile
+    @Transactional
     public UserDto.Response updateUser(Long requestingUserId, Long targetId, UserDto.UpdateRequest dto) {
         if (!requestingUserId.equals(targetId) && !isAdmin(requestingUserId)) {
             throw new ForbiddenException("Not authorized to update this user's profile.");
@@ -66,23 +82,16 @@ public class UserService {
         User user = userRepository.findById(targetId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found: " + targetId));
 
-        if (dto.getUsername() != null) user.setUsername(dto.getUsername());
-        if (dto.getBio() != null) user.setBio(dto.getBio());
-        if (dto.getPrivacy() != null) user.setPrivacy(dto.getPrivacy());
-
-        return toResponse(userRepository.save(user));
+        return toResponse(applyProfileUpdate(user, dto));
     }
 
     // PATCH /users/profile — self-service update via JWT identity
+    @Transactional
     public UserDto.Response updateMyProfile(Long userId, UserDto.UpdateRequest dto) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found: " + userId));
 
-        if (dto.getUsername() != null) user.setUsername(dto.getUsername());
-        if (dto.getBio() != null) user.setBio(dto.getBio());
-        if (dto.getPrivacy() != null) user.setPrivacy(dto.getPrivacy());
-
-        return toResponse(userRepository.save(user));
+        return toResponse(applyProfileUpdate(user, dto));
     }
 
     // PATCH /users/password — change own password
@@ -90,11 +99,11 @@ public class UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found: " + userId));
 
-        if (!passwordEncoder.matches(dto.getCurrentPassword(), user.getHashedPassword())) {
+        if (!passwordHasher.matches(dto.getCurrentPassword(), user.getHashedPassword())) {
             throw new InvalidRequestException("Current password is incorrect.");
         }
 
-        user.setHashedPassword(passwordEncoder.encode(dto.getNewPassword()));
+        user.setHashedPassword(passwordHasher.encode(dto.getNewPassword()));
         userRepository.save(user);
     }
 
@@ -105,17 +114,24 @@ public class UserService {
         return getPublicProfile(requestingUserId, target.getUserId());
     }
 
-    // GET /users/search?username= — public users only, startsWith sorted first
-    public List<UserDto.PublicResponse> searchUsers(String query) {
-        String lower = query.toLowerCase();
-        return userRepository.findByUsernameContainingIgnoreCase(query).stream()
-                .filter(u -> !u.getPrivacy())
-                .sorted(Comparator.comparingInt(u -> u.getUsername().toLowerCase().startsWith(lower) ? 0 : 1))
+    // GET /users/search?username=&limit= — public users only, startsWith sorted first.
+    // Matching runs in UsernameIndex; only the matched rows are loaded, in the index's order.
+    public List<UserDto.PublicResponse> searchUsers(String query, Integer limit) {
+        List<Long> ids = usernameIndex.search(query, limit);
+        if (ids.isEmpty()) return List.of();
+
+        Map<Long, User> byId = userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                // Guards against a change the index has not seen yet (e.g. made private on another instance)
+                .filter(u -> u != null && !u.getPrivacy())
                 .map(this::toPublicResponse)
                 .toList();
     }
 
     // DELETE /users/{id} — user themselves or an admin can delete an account
+    @Transactional
     public void deleteUser(Long requestingUserId, Long targetId) {
         if (!requestingUserId.equals(targetId) && !isAdmin(requestingUserId)) {
             throw new ForbiddenException("Not authorized to delete this user's account.");
@@ -126,6 +142,27 @@ public class UserService {
         }
 
         userRepository.deleteById(targetId);
+        AfterCommit.run(leaderboardService::markDirty);
+        usernameIndex.onDeleted(targetId);
+    }
+
+    // Shared by both profile update paths; also renames the user in denormalized club owner columns.
+    // Callers are @Transactional: the rename is a bulk update and commits or rolls back with the save.
+    private User applyProfileUpdate(User user, UserDto.UpdateRequest dto) {
+        String oldUsername = user.getUsername();
+
+        if (dto.getUsername() != null) user.setUsername(dto.getUsername());
+        if (dto.getBio() != null) user.setBio(dto.getBio());
+        if (dto.getPrivacy() != null) user.setPrivacy(dto.getPrivacy());
+
+        User saved = userRepository.save(user);
+        AfterCommit.run(leaderboardService::markDirty);
+        usernameIndex.onSaved(saved.getUserId(), saved.getUsername(), saved.getPrivacy());
+        if (!saved.getUsername().equals(oldUsername)) {
+            bookClubRepository.renameOwner(oldUsername, saved.getUsername());
+            entityCacheEvictor.evictAllAfterCommit(BookClub.class);
+        }
+        return saved;
     }
 
     private boolean isAdmin(Long userId) {
@@ -169,9 +206,13 @@ public class UserService {
                 .build();
     }
 
-    public List<UserDto.PublicResponse> getLeaderboard() {
-        return userRepository.findAllByOrderByPointsDesc().stream()
-                .map(this::toPublicResponse)
-                .toList();
+    // GET /users/leaderboard — served from the materialized top-K snapshot
+    public List<UserDto.PublicResponse> getLeaderboard(int page, Integer size) {
+        return leaderboardService.getPage(page, size);
+    }
+
+    // GET /users/leaderboard/me
+    public UserDto.RankResponse getMyRank(Long userId) {
+        return leaderboardService.getRank(userId);
     }
 }
@@ -0,0 +1,402 @@
+package com.noveltea.backend.service;
+
+import com.noveltea.backend.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongPredicate;
+
+/**
+ * In-memory autocomplete index of public usernames.
+ *
+ * Rules:
+ *   - Only public users are indexed. Names are compared lower-cased.
+ *   - The bulk of the index is an immutable snapshot: a sorted array of names (prefix matches are
+ *     one binary search, returned alphabetically, so an exact match comes first) plus a suffix
+ *     array over those names (substring matches are one more binary search).
+ *   - Registrations, renames, privacy changes and deletions go into a small pending map, applied
+ *     once the transaction commits. Queries scan it next to the snapshot; a compaction folds it into
+ *     a new snapshot on a background thread once it exceeds MAX_PENDING entries, or on the next
+ *     scheduled pass. Requests only ever write the pending map.
+ *   - Compaction is incremental: surviving names and suffixes keep their sorted order and only the
+ *     changed names are sorted, then merged in, so its cost is linear in the index size.
+ *   - Results are user IDs: prefix matches first, then substring matches, at most limit of them.
+ *   - Reloaded from the database every rebuildMinutes to pick up other instances' changes.
+ */
+@Slf4j
+@Component
+public class UsernameIndex {
+
+    private static final int LOAD_BATCH = 10_000;
+    private static final int MAX_PENDING = 256;
+    // Bounds the suffix-range walk for very short, very common substrings
+    private static final int MAX_SUBSTRING_SCAN = 2_000;
+    // Pending value for a user who is no longer searchable (deleted or made private)
+    private static final String REMOVED = "";
+
+    private final UserRepository userRepository;
+    private final int defaultLimit;
+    private final ReentrantLock compactLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private final Map<Long, String> pending = new ConcurrentHashMap<>();
+
+    // Runs the compactions triggered by a full pending map, off the request thread
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "username-index-compact");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean compactQueued = new AtomicBoolean(false);
+
+    public UsernameIndex(UserRepository userRepository,
+                         @Value("${app.users.search.limit:20}") int defaultLimit) {
+        this.userRepository = userRepository;
+        this.defaultLimit = defaultLimit;
+    }
+
+    /**
+     * IDs of public users whose username starts with, then contains, the query.
+     */
+    public List<Long> search(String query, Integer limit) {
+        String q = normalize(query);
+        int max = limit == null || limit <= 0 ? defaultLimit : Math.min(limit, defaultLimit);
+        if (q.isEmpty()) return List.of();
+
+        Snapshot current = snapshot;
+        // Pending changes win over the snapshot for the users they mention
+        LongPredicate notPending = id -> !pending.containsKey(id);
+
+        List<Hit> pendingPrefix = new ArrayList<>();
+        List<Hit> pendingSubstring = new ArrayList<>();
+        for (Map.Entry<Long, String> e : pending.entrySet()) {
+            String name = e.getValue();
+            if (name.startsWith(q)) pendingPrefix.add(new Hit(name, e.getKey()));
+            else if (!name.equals(REMOVED) && name.contains(q)) pendingSubstring.add(new Hit(name, e.getKey()));
+        }
+
+        List<Long> ids = new ArrayList<>(max);
+        merge(current.prefixMatches(q, max, notPending), pendingPrefix, max, ids);
+        if (ids.size() < max) {
+            merge(current.substringMatches(q, max, notPending), pendingSubstring, max, ids);
+        }
+        return ids;
+    }
+
+    /**
+     * Records a user's current username and privacy, once the surrounding transaction commits.
+     */
+    public void onSaved(Long userId, String username, boolean isPrivate) {
+        String value = isPrivate ? REMOVED : normalize(username);
+        AfterCommit.run(() -> stage(userId, value));
+    }
+
+    public void onDeleted(Long userId) {
+        AfterCommit.run(() -> stage(userId, REMOVED));
+    }
+
+    public int size() {
+        return snapshot.ids.length;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${app.users.search.rebuildMinutes:30}",
+               initialDelayString = "${app.users.search.rebuildMinutes:30}",
+               timeUnit = TimeUnit.MINUTES)
+    public void refresh() {
+        reload();
+    }
+
+    @Scheduled(fixedDelay = 30, timeUnit = TimeUnit.SECONDS)
+    public void compact() {
+        if (pending.isEmpty() || !compactLock.tryLock()) return;
+        try {
+            Map<Long, String> changes = new HashMap<>(pending);
+            snapshot = Snapshot.apply(snapshot, changes);
+            // Only drop entries that did not change again while the snapshot was being built
+            changes.forEach(pending::remove);
+        } finally {
+            compactLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        compactor.shutdownNow();
+    }
+
+    // ----- HELPERS -----
+
+    private void reload() {
+        compactLock.lock();
+        try {
+            Map<Long, String> loaded = new HashMap<>();
+            long after = 0L;
+            while (true) {
+                List<Object[]> rows = userRepository.findPublicUsernamesAfter(after, Limit.of(LOAD_BATCH));
+                for (Object[] row : rows) loaded.put((Long) row[0], normalize((String) row[1]));
+                if (rows.size() < LOAD_BATCH) break;
+                after = (Long) rows.get(rows.size() - 1)[0];
+            }
+            // Pending entries stay: they may be newer than what was just read
+            snapshot = Snapshot.apply(Snapshot.EMPTY, loaded);
+            log.info("UsernameIndex: indexed {} public username(s)", loaded.size());
+        } catch (RuntimeException e) {
+            // Keep serving the previous snapshot
+            log.warn("UsernameIndex: reload failed ({})", e.getMessage());
+        } finally {
+            compactLock.unlock();
+        }
+    }
+
+    private void stage(Long userId, String value) {
+        pending.put(userId, value);
+        if (pending.size() > MAX_PENDING && compactQueued.compareAndSet(false, true)) {
+            try {
+                compactor.execute(() -> {
+                    compactQueued.set(false);
+                    compact();
+                });
+            } catch (RejectedExecutionException e) {
+                // Shutting down; the pending map keeps serving the change
+            }
+        }
+    }
+
+    // Appends both name-ordered lists, merged, to out until it holds max distinct ids
+    private static void merge(List<Hit> indexed, List<Hit> staged, int max, List<Long> out) {
+        staged.sort(Comparator.comparing(Hit::name));
+        int i = 0;
+        int j = 0;
+        while (out.size() < max && (i < indexed.size() || j < staged.size())) {
+            boolean takeIndexed = j >= staged.size()
+                    || (i < indexed.size() && indexed.get(i).name().compareTo(staged.get(j).name()) <= 0);
+            Hit hit = takeIndexed ? indexed.get(i++) : staged.get(j++);
+            if (!out.contains(hit.id())) out.add(hit.id());
+        }
+    }
+
+    private static String normalize(String username) {
+        return username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // ----- SNAPSHOT -----
+
+    private record Hit(String name, long id) {}
+
+    // names[i] belongs to ids[i]; suffix k starts at character suffixOffset[k] of names[suffixName[k]]
+    private record Snapshot(String[] names, long[] ids, int[] suffixName, int[] suffixOffset) {
+
+        static final Snapshot EMPTY = new Snapshot(new String[0], new long[0], new int[0], new int[0]);
+
+        /**
+         * A new snapshot with the changes applied: an ID mapped to REMOVED drops out, any other
+         * value replaces (or adds) that user's name. Only the changed names and their suffixes are
+         * sorted; everything else is merged across in its existing order.
+         */
+        static Snapshot apply(Snapshot base, Map<Long, String> changes) {
+            // Changed names, sorted like the snapshot: by name, then ID
+            List<Hit> added = new ArrayList<>(changes.size());
+            changes.forEach((id, name) -> {
+                if (!name.equals(REMOVED)) added.add(new Hit(name, id));
+            });
+            added.sort(Comparator.comparing(Hit::name).thenComparingLong(Hit::id));
+
+            int kept = 0;
+            for (long id : base.ids) {
+                if (!changes.containsKey(id)) kept++;
+            }
+
+            // Merge the names; remember where each old and each added name ended up (-1 = gone)
+            int size = kept + added.size();
+            String[] names = new String[size];
+            long[] ids = new long[size];
+            int[] oldToNew = new int[base.names.length];
+            int[] addedToNew = new int[added.size()];
+            int i = 0;
+            int j = 0;
+            for (int n = 0; n < size; n++) {
+                while (i < base.ids.length && changes.containsKey(base.ids[i])) oldToNew[i++] = -1;
+                boolean takeOld = j >= added.size()
+                        || (i < base.ids.length && compare(base.names[i], base.ids[i], added.get(j)) < 0);
+                if (takeOld) {
+                    names[n] = base.names[i];
+                    ids[n] = base.ids[i];
+                    oldToNew[i++] = n;
+                } else {
+                    names[n] = added.get(j).name();
+                    ids[n] = added.get(j).id();
+                    addedToNew[j++] = n;
+                }
+            }
+            while (i < base.ids.length) oldToNew[i++] = -1;
+
+            // Suffixes from offset 1 on; offset 0 is the name itself, already covered by the prefix search
+            int addedSuffixes = 0;
+            for (Hit hit : added) addedSuffixes += Math.max(hit.name().length() - 1, 0);
+            int[] newName = new int[addedSuffixes];
+            int[] newOffset = new int[addedSuffixes];
+            int k = 0;
+            for (int a = 0; a < added.size(); a++) {
+                for (int o = 1; o < added.get(a).name().length(); o++) {
+                    newName[k] = addedToNew[a];
+                    newOffset[k] = o;
+                    k++;
+                }
+            }
+            sortSuffixes(names, newName, newOffset);
+
+            int keptSuffixes = 0;
+            for (int s = 0; s < base.suffixName.length; s++) {
+                if (oldToNew[base.suffixName[s]] >= 0) keptSuffixes++;
+            }
+
+            // Merge the surviving suffixes (already in order) with the sorted new ones
+            int total = keptSuffixes + addedSuffixes;
+            int[] suffixName = new int[total];
+            int[] suffixOffset = new int[total];
+            int s = 0;
+            int t = 0;
+            for (int out = 0; out < total; out++) {
+                while (s < base.suffixName.length && oldToNew[base.suffixName[s]] < 0) s++;
+                boolean takeOld = t >= addedSuffixes
+                        || (s < base.suffixName.length
+                            && compareSuffixes(names, oldToNew[base.suffixName[s]], base.suffixOffset[s],
+                                               newName[t], newOffset[t]) <= 0);
+                if (takeOld) {
+                    suffixName[out] = oldToNew[base.suffixName[s]];
+                    suffixOffset[out] = base.suffixOffset[s];
+                    s++;
+                } else {
+                    suffixName[out] = newName[t];
+                    suffixOffset[out] = newOffset[t];
+                    t++;
+                }
+            }
+            return new Snapshot(names, ids, suffixName, suffixOffset);
+        }
+
+        // Alphabetical, so an exact match comes first
+        List<Hit> prefixMatches(String q, int max, LongPredicate include) {
+            List<Hit> hits = new ArrayList<>();
+            for (int i = lowerBound(q); i < names.length && hits.size() < max && names[i].startsWith(q); i++) {
+                if (include.test(ids[i])) hits.add(new Hit(names[i], ids[i]));
+            }
+            return hits;
+        }
+
+        // Names containing q past their first character, in suffix order (a name can appear twice)
+        List<Hit> substringMatches(String q, int max, LongPredicate include) {
+            List<Hit> hits = new ArrayList<>();
+            int lo = 0;
+            int hi = suffixName.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (compareSuffix(mid, q) < 0) lo = mid + 1;
+                else hi = mid;
+            }
+
+            int end = Math.min(suffixName.length, lo + MAX_SUBSTRING_SCAN);
+            for (int s = lo; s < end && hits.size() < max; s++) {
+                String name = names[suffixName[s]];
+                if (!name.startsWith(q, suffixOffset[s])) break;
+                long id = ids[suffixName[s]];
+                if (include.test(id)) hits.add(new Hit(name, id));
+            }
+            return hits;
+        }
+
+        private int lowerBound(String q) {
+            int lo = 0;
+            int hi = names.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (names[mid].compareTo(q) < 0) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        private int compareSuffix(int s, String q) {
+            return compareFrom(names[suffixName[s]], suffixOffset[s], q, 0);
+        }
+
+        private static int compare(String name, long id, Hit hit) {
+            int byName = name.compareTo(hit.name());
+            return byName != 0 ? byName : Long.compare(id, hit.id());
+        }
+
+        // By suffix text, then by name position, so equal suffixes always come out in the same order
+        private static int compareSuffixes(String[] names, int nameA, int offsetA, int nameB, int offsetB) {
+            int byText = compareFrom(names[nameA], offsetA, names[nameB], offsetB);
+            return byText != 0 ? byText : Integer.compare(nameA, nameB);
+        }
+
+        // Bottom-up merge sort of the parallel (name, offset) arrays by suffix text, on primitives only
+        private static void sortSuffixes(String[] names, int[] nameOf, int[] offsetOf) {
+            int n = nameOf.length;
+            int[] srcName = nameOf;
+            int[] srcOffset = offsetOf;
+            int[] dstName = new int[n];
+            int[] dstOffset = new int[n];
+            for (int width = 1; width < n; width *= 2) {
+                for (int lo = 0; lo < n; lo += 2 * width) {
+                    int mid = Math.min(lo + width, n);
+                    int hi = Math.min(lo + 2 * width, n);
+                    int a = lo;
+                    int b = mid;
+                    for (int out = lo; out < hi; out++) {
+                        boolean takeA = b >= hi
+                                || (a < mid && compareSuffixes(names, srcName[a], srcOffset[a], srcName[b], srcOffset[b]) <= 0);
+                        int from = takeA ? a++ : b++;
+                        dstName[out] = srcName[from];
+                        dstOffset[out] = srcOffset[from];
+                    }
+                }
+                int[] swapName = srcName;
+                int[] swapOffset = srcOffset;
+                srcName = dstName;
+                srcOffset = dstOffset;
+                dstName = swapName;
+                dstOffset = swapOffset;
+            }
+            if (srcName != nameOf) {
+                System.arraycopy(srcName, 0, nameOf, 0, n);
+                System.arraycopy(srcOffset, 0, offsetOf, 0, n);
+            }
+        }
+
+        // Compares a.substring(aFrom) with b.substring(bFrom) without allocating either
+        private static int compareFrom(String a, int aFrom, String b, int bFrom) {
+            int len = Math.min(a.length() - aFrom, b.length() - bFrom);
+            for (int i = 0; i < len; i++) {
+                int diff = a.charAt(aFrom + i) - b.charAt(bFrom + i);
+                if (diff != 0) return diff;
+            }
+            return (a.length() - aFrom) - (b.length() - bFrom);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.noveltea.backend.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import javax.sql.DataSource;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Three in-memory H2 databases stand in for the primary and two replicas; each holds its own name
+class ReplicaRoutingDataSourceTest {
+
+    private ReadYourWritesGuard guard;
+    private LazyConnectionDataSourceProxy dataSource;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        List<DataSource> replicas = List.of(database("replica-a"), database("replica-b"));
+        guard = new ReadYourWritesGuard(60_000);
+
+        dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replicas, guard));
+
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void readOnlyTransactionsAreSpreadOverReplicas() {
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            seen.add(readOnly.execute(status -> whoAmI()));
+        }
+        assertEquals(Set.of("replica-a", "replica-b"), seen);
+    }
+
+    @Test
+    void readWriteTransactionsUseThePrimary() {
+        assertEquals("primary", readWrite.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void readOnlyWorkInsideAWriteTransactionStaysOnThePrimary() {
+        String inner = readWrite.execute(status -> {
+            jdbc.update("UPDATE whoami SET name = name");
+            return readOnly.execute(nested -> whoAmI());
+        });
+        assertEquals("primary", inner);
+    }
+
+    @Test
+    void readsAfterAWriteStayOnThePrimaryForThatUserOnly() {
+        guard.recordWrite(7L);
+
+        actAs(7L);
+        assertEquals("primary", readOnly.execute(status -> whoAmI()));
+
+        actAs(8L);
+        assertEquals("replica", readOnly.execute(status -> whoAmI()).substring(0, 7));
+    }
+
+    // The app's own path: Hibernate with JpaTransactionManager, not plain JDBC
+    @Test
+    void jpaReadOnlyTransactionsReachTheReplicas() {
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setPackagesToScan(ReplicaRoutingDataSourceTest.class.getPackageName());
+        factory.setJpaPropertyMap(Map.of("hibernate.dialect", "org.hibernate.dialect.H2Dialect"));
+        factory.afterPropertiesSet();
+        EntityManagerFactory emf = factory.getObject();
+        try {
+            EntityManager em = SharedEntityManagerCreator.createSharedEntityManager(emf);
+            JpaTransactionManager transactionManager = new JpaTransactionManager(emf);
+            TransactionTemplate jpaReadWrite = new TransactionTemplate(transactionManager);
+            TransactionTemplate jpaReadOnly = new TransactionTemplate(transactionManager);
+            jpaReadOnly.setReadOnly(true);
+
+            Set<String> seen = new HashSet<>();
+            for (int i = 0; i < 4; i++) {
+                seen.add(jpaReadOnly.execute(status -> whoAmI(em)));
+            }
+            assertEquals(Set.of("replica-a", "replica-b"), seen);
+            assertEquals("primary", jpaReadWrite.execute(status -> whoAmI(em)));
+        } finally {
+            factory.destroy();
+        }
+    }
+
+    private String whoAmI() {
+        return jdbc.queryForObject("SELECT name FROM whoami", String.class);
+    }
+
+    private static String whoAmI(EntityManager em) {
+        return (String) em.createNativeQuery("SELECT name FROM whoami").getSingleResult();
+    }
+
+    private static void actAs(Long userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute("userId", String.valueOf(userId));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate setup = new JdbcTemplate(dataSource);
+        setup.execute("CREATE TABLE IF NOT EXISTS whoami (name VARCHAR(20))");
+        setup.execute("DELETE FROM whoami");
+        setup.update("INSERT INTO whoami (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,194 @@
+package com.noveltea.backend.controller;
+
+import com.noveltea.backend.model.Book;
+import com.noveltea.backend.model.BookClub;
+import com.noveltea.backend.model.BookList;
+import com.noveltea.backend.model.ChatMessage;
+import com.noveltea.backend.model.ChatRoom;
+import com.noveltea.backend.model.ListItem;
+import com.noveltea.backend.model.Review;
+import com.noveltea.backend.model.User;
+import com.noveltea.backend.repository.BookClubRepository;
+import com.noveltea.backend.repository.BookListRepository;
+import com.noveltea.backend.repository.BookRepository;
+import com.noveltea.backend.repository.ChatMessageRepository;
+import com.noveltea.backend.repository.ListItemRepository;
+import com.noveltea.backend.repository.ReviewRepository;
+import com.noveltea.backend.repository.UserRepository;
+import com.noveltea.backend.service.JwtService;
+import com.noveltea.backend.support.QueryCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Query budgets for the read endpoints that render lists of rows.
+ *
+ * Each test seeds ROWS rows, each touching a different user, so a per-row lookup (an N+1)
+ * pushes the count well past the budget. Budgets are the statements the endpoint needs today;
+ * raise one only together with the change that legitimately needs the extra query.
+ */
+@SpringBootTest
+class QueryBudgetTest {
+
+    private static final int ROWS = 12;
+    private static final AtomicInteger SEQ = new AtomicInteger();
+
+    @Autowired private WebApplicationContext context;
+    @Autowired private JwtService jwtService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private BookRepository bookRepository;
+    @Autowired private ReviewRepository reviewRepository;
+    @Autowired private BookListRepository bookListRepository;
+    @Autowired private ListItemRepository listItemRepository;
+    @Autowired private BookClubRepository bookClubRepository;
+    @Autowired private ChatMessageRepository chatMessageRepository;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+    }
+
+    // ----- LISTS -----
+
+    @Test
+    void listsByUserCountBooksInOneQuery() throws Exception {
+        User owner = user();
+        Book book = book();
+        for (int i = 0; i < ROWS; i++) {
+            BookList list = bookListRepository.save(BookList.builder().creator(owner).title("List " + i).build());
+            listItemRepository.save(ListItem.builder().bookList(list).book(book).sortOrder(1).build());
+        }
+
+        // target user + lists (creator fetched) + one grouped count
+        assertBudget(3, get("/lists/user/" + owner.getUserId()).header("Authorization", bearer(user())));
+    }
+
+    @Test
+    void listSearchFetchesCreatorsWithTheLists() throws Exception {
+        String title = "Search" + SEQ.incrementAndGet();
+        for (int i = 0; i < ROWS; i++) {
+            bookListRepository.save(BookList.builder().creator(user()).title(title + " " + i).build());
+        }
+
+        // lists (creator fetched) + one grouped count
+        assertBudget(2, get("/lists/search").param("title", title).header("Authorization", bearer(user())));
+    }
+
+    // ----- REVIEWS -----
+
+    @Test
+    void reviewsByBookResolveAuthorsAndLikesInBulk() throws Exception {
+        Book book = seedReviewedBook();
+
+        // public reviews + viewer's private reviews + viewer's likes
+        assertBudget(3, get("/reviews/book/" + book.getBookId()).header("Authorization", bearer(user())));
+    }
+
+    @Test
+    void reviewPageByBookResolvesAuthorsAndLikesInBulk() throws Exception {
+        Book book = seedReviewedBook();
+
+        // keyset page + viewer's likes
+        assertBudget(2, get("/reviews/book/" + book.getBookId() + "/page")
+                .param("size", String.valueOf(ROWS))
+                .header("Authorization", bearer(user())));
+    }
+
+    // ----- CLUBS -----
+
+    @Test
+    void clubSearchIsOneQuery() throws Exception {
+        String name = "Club" + SEQ.incrementAndGet();
+        for (int i = 0; i < ROWS; i++) {
+            bookClubRepository.save(BookClub.builder().name(name + " " + i).ownerUsername(user().getUsername()).build());
+        }
+
+        assertBudget(1, get("/clubs/search").param("name", name).header("Authorization", bearer(user())));
+    }
+
+    @Test
+    void chatHistoryFetchesSendersWithTheMessages() throws Exception {
+        BookClub club = bookClubRepository.save(BookClub.builder().name("Chat" + SEQ.incrementAndGet()).build());
+        for (int i = 0; i < ROWS; i++) {
+            chatMessageRepository.save(ChatMessage.builder()
+                    .bookClub(club)
+                    .sender(user())
+                    .room(ChatRoom.GENERAL)
+                    .content("message " + i)
+                    .build());
+        }
+
+        // club + requesting user + one window load (sender and club fetched); later requests hit the buffer
+        assertBudget(3, get("/clubs/" + club.getBookClubId() + "/chat/GENERAL").header("Authorization", bearer(user())));
+    }
+
+    // ----- HELPERS -----
+
+    private void assertBudget(int budget, MockHttpServletRequestBuilder request) throws Exception {
+        QueryCounter.start();
+        List<String> statements;
+        try {
+            mockMvc.perform(request).andExpect(status().isOk());
+        } finally {
+            statements = QueryCounter.stop();
+        }
+        assertTrue(statements.size() <= budget,
+                "Expected at most " + budget + " statement(s), got " + statements.size() + ":\n  "
+                        + String.join("\n  ", statements));
+    }
+
+    // One review per distinct author, so an author lookup per row would show up as ROWS extra queries
+    private Book seedReviewedBook() {
+        Book book = book();
+        for (int i = 0; i < ROWS; i++) {
+            reviewRepository.save(Review.builder()
+                    .user(user())
+                    .book(book)
+                    .rating(BigDecimal.valueOf(4))
+                    .reviewText("review " + i)
+                    .build());
+        }
+        return book;
+    }
+
+    private User user() {
+        int n = SEQ.incrementAndGet();
+        return userRepository.save(User.builder()
+                .username("budget" + n)
+                .email("budget" + n + "@test.local")
+                .hashedPassword("unused")
+                .role("standard")
+                .build());
+    }
+
+    private Book book() {
+        int n = SEQ.incrementAndGet();
+        return bookRepository.save(Book.builder()
+                .bookId("budget-" + n)
+                .title("Budget Book " + n)
+                .author("Author " + n)
+                .build());
+    }
+
+    private String bearer(User user) {
+        return "Bearer " + jwtService.generateAccessToken(user.getUserId(), user.getEmail(), LocalDate.of(1990, 1, 1));
+    }
+}
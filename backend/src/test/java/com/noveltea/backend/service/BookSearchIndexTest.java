@@ -0,0 +1,188 @@
+package com.noveltea.backend.service;
+
+import com.noveltea.backend.repository.BookRepository;
+import com.noveltea.backend.service.BookSearchIndex.Field;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Books are added directly unless a test loads them through a rebuild from the mocked repository
+class BookSearchIndexTest {
+
+    private final BookRepository bookRepository = mock(BookRepository.class);
+    private final BookSearchIndex index = new BookSearchIndex(bookRepository, 1_000);
+
+    // ----- withinOneEdit -----
+
+    @Test
+    void withinOneEditAcceptsEachKindOfSingleEdit() {
+        assertTrue(BookSearchIndex.withinOneEdit("hobbit", "hobbit"));
+        assertTrue(BookSearchIndex.withinOneEdit("hobbit", "hobbot"));   // substitution
+        assertTrue(BookSearchIndex.withinOneEdit("hobit", "hobbit"));    // insertion
+        assertTrue(BookSearchIndex.withinOneEdit("hobbitt", "hobbit"));  // deletion
+        assertTrue(BookSearchIndex.withinOneEdit("hobbti", "hobbit"));   // adjacent swap
+        assertTrue(BookSearchIndex.withinOneEdit("ohbbit", "hobbit"));   // swap at the start
+        assertTrue(BookSearchIndex.withinOneEdit("hobbi", "hobbit"));    // missing last letter
+    }
+
+    @Test
+    void withinOneEditRejectsTwoEdits() {
+        assertFalse(BookSearchIndex.withinOneEdit("hobbit", "hobxiy"));
+        assertFalse(BookSearchIndex.withinOneEdit("hobt", "hobbit"));
+        assertFalse(BookSearchIndex.withinOneEdit("bohbti", "hobbit"));
+        assertFalse(BookSearchIndex.withinOneEdit("hboibt", "hobbit"));
+    }
+
+    // ----- tokenize -----
+
+    @Test
+    void tokenizeFoldsCaseAndAccentsAndSplitsOnPunctuation() {
+        assertEquals(List.of("les", "miserables", "tome", "1"), BookSearchIndex.tokenize("Les Misérables — Tome 1"));
+        assertEquals(List.of("the", "hobbit"), BookSearchIndex.tokenize("The Hobbit, the"));
+        assertEquals(List.of(), BookSearchIndex.tokenize("  "));
+    }
+
+    // ----- search -----
+
+    @Test
+    void matchesExactPrefixAndTypoInThatOrder() {
+        index.add("exact", "Harry", null);
+        index.add("prefix", "Harrying", null);
+        index.add("typo", "Hardy", null);
+
+        assertEquals(List.of("exact", "prefix", "typo"), index.search("harry", Field.ANY, 0, 10));
+    }
+
+    @Test
+    void everyQueryWordMustMatch() {
+        index.add("both", "The Hobbit", "J. R. R. Tolkien");
+        index.add("title-only", "The Hobbit Companion", "David Day");
+        index.add("author-only", "The Silmarillion", "J. R. R. Tolkien");
+
+        assertEquals(List.of("both"), index.search("hobbit tolkien", Field.ANY, 0, 10));
+        assertEquals(List.of(), index.search("hobbit dune", Field.ANY, 0, 10));
+    }
+
+    @Test
+    void fieldRestrictsWhereWordsMayMatch() {
+        index.add("by-king", "Misery", "Stephen King");
+        index.add("about-king", "The King Must Die", "Mary Renault");
+
+        assertEquals(List.of("about-king"), index.search("king", Field.TITLE, 0, 10));
+        assertEquals(List.of("by-king"), index.search("king", Field.AUTHOR, 0, 10));
+        // Title hits weigh double
+        assertEquals(List.of("about-king", "by-king"), index.search("king", Field.ANY, 0, 10));
+    }
+
+    @Test
+    void prefixExpansionIsCapped() {
+        for (int i = 0; i < 100; i++) {
+            index.add("book-" + i, String.format("Term%03d", i), null);
+        }
+
+        assertEquals(64, index.search("term", Field.ANY, 0, 1_000).size());
+        // An exact term is not subject to the cap (its one-edit neighbours still match, ranked below it)
+        assertEquals("book-42", index.search("term042", Field.ANY, 0, 1_000).get(0));
+    }
+
+    @Test
+    void pagesFollowTheRankingWithoutGapsOrRepeats() {
+        // Same score for all; ties go to the shorter title, then the book ID
+        for (int i = 0; i < 25; i++) {
+            index.add(String.format("b%02d", i), "Dune " + "x".repeat(i), null);
+        }
+
+        List<String> all = index.search("dune", Field.ANY, 0, 25);
+        assertEquals(25, all.size());
+        assertEquals("b00", all.get(0));
+
+        List<String> paged = new ArrayList<>();
+        paged.addAll(index.search("dune", Field.ANY, 0, 10));
+        paged.addAll(index.search("dune", Field.ANY, 10, 10));
+        paged.addAll(index.search("dune", Field.ANY, 20, 10));
+        assertEquals(all, paged);
+        assertEquals(List.of(), index.search("dune", Field.ANY, 30, 10));
+    }
+
+    @Test
+    void reAddingABookIsANoOp() {
+        index.add("dune", "Dune", "Frank Herbert");
+        index.add("dune", "Dune", "Frank Herbert");
+
+        assertEquals(1, index.size());
+        assertEquals(List.of("dune"), index.search("dune", Field.ANY, 0, 10));
+    }
+
+    // ----- rebuild -----
+
+    @Test
+    void rebuiltSnapshotMatchesLikeAddedBooks() {
+        loadFromDatabase(
+                row("/works/OL1W", "The Hobbit", "J. R. R. Tolkien"),
+                row("/works/OL2W", "The Hobbit Companion", "David Day"),
+                row("/works/OL3W", "Harry Potter", "J. K. Rowling"),
+                row("/works/OL4W", "Harrying", null));
+
+        assertEquals(4, index.size());
+        assertEquals(List.of("/works/OL1W"), index.search("hobbit tolkien", Field.ANY, 0, 10));
+        assertEquals(List.of("/works/OL3W", "/works/OL4W"), index.search("harry", Field.ANY, 0, 10));
+        assertEquals(List.of("/works/OL1W", "/works/OL2W"), index.search("hobbti", Field.TITLE, 0, 10));
+        assertEquals(List.of("/works/OL2W"), index.search("day", Field.AUTHOR, 0, 10));
+    }
+
+    @Test
+    void booksAddedAfterARebuildAreSearchedNextToTheSnapshot() {
+        loadFromDatabase(row("/works/OL1W", "Dune", "Frank Herbert"));
+
+        index.add("/works/OL1W", "Dune", "Frank Herbert");
+        index.add("/works/OL2W", "Dune Messiah", "Frank Herbert");
+
+        assertEquals(2, index.size());
+        assertEquals(List.of("/works/OL1W", "/works/OL2W"), index.search("dune herbert", Field.ANY, 0, 10));
+        assertEquals(List.of("/works/OL2W"), index.search("dune", Field.ANY, 1, 10));
+    }
+
+    @Test
+    void prefixExpansionIsCappedInTheSnapshot() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            rows.add(row(String.format("book-%03d", i), String.format("Term%03d", i), null));
+        }
+        loadFromDatabase(rows.toArray(new Object[0][]));
+
+        assertEquals(64, index.search("term", Field.ANY, 0, 1_000).size());
+        assertEquals("book-042", index.search("term042", Field.ANY, 0, 1_000).get(0));
+    }
+
+    @Test
+    void rebuildStopsAtMaxBooks() {
+        BookSearchIndex small = new BookSearchIndex(bookRepository, 2);
+        when(bookRepository.findSearchFieldsAfter(anyString(), any())).thenReturn(List.of(
+                row("a", "Alpha", null), row("b", "Beta", null), row("c", "Gamma", null)));
+        small.warmUp();
+
+        assertEquals(2, small.size());
+        assertEquals(List.of(), small.search("gamma", Field.ANY, 0, 10));
+    }
+
+    // ----- HELPERS -----
+
+    // One batch, smaller than a full one, so the rebuild stops after it
+    private void loadFromDatabase(Object[]... rows) {
+        when(bookRepository.findSearchFieldsAfter(anyString(), any())).thenReturn(List.of(rows));
+        index.warmUp();
+    }
+
+    private static Object[] row(String bookId, String title, String author) {
+        return new Object[]{bookId, title, author};
+    }
+}
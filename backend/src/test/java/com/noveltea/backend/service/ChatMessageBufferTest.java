@@ -0,0 +1,92 @@
+package com.noveltea.backend.service;
+
+import com.noveltea.backend.dto.ChatMessageDto;
+import com.noveltea.backend.model.ChatRoom;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// The "DB" is a sorted map; loads counts the queries the buffer makes
+class ChatMessageBufferTest {
+
+    private final ChatMessageBuffer buffer = new ChatMessageBuffer(true);
+    private final TreeMap<Long, ChatMessageDto.Response> db = new TreeMap<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final ChatMessageBuffer.RoomSource source = () -> {
+        loads.incrementAndGet();
+        List<ChatMessageDto.Response> all = List.copyOf(db.values());
+        return all.subList(Math.max(0, all.size() - ChatMessageBuffer.CAPACITY), all.size());
+    };
+
+    @Test
+    void warmWindowServesReadsWithoutQueries() {
+        sendHere(1);
+        sendHere(2);
+        assertEquals(List.of(1L, 2L), ids(buffer.since(1L, ChatRoom.GENERAL, 0L, source)));
+        assertEquals(1, loads.get());
+
+        sendHere(3);
+        assertEquals(List.of(3L), ids(buffer.since(1L, ChatRoom.GENERAL, 2L, source)));
+        assertEquals(List.of(1L, 2L, 3L), ids(buffer.recent(1L, ChatRoom.GENERAL, 50, source)));
+        assertEquals(List.of(1L, 2L), ids(buffer.before(1L, ChatRoom.GENERAL, 3L, 50, source)));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void messagesCommittedBeforeTheFirstReadAreLoaded() {
+        db.put(1L, message(1));
+        db.put(2L, message(2));
+        sendHere(3);
+
+        assertEquals(List.of(1L, 2L, 3L), ids(buffer.recent(1L, ChatRoom.GENERAL, 50, source)));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void cursorBelowTheWindowGoesToTheDatabase() {
+        for (long id = 1; id <= ChatMessageBuffer.CAPACITY + 10; id++) {
+            sendHere(id);
+        }
+
+        assertNull(buffer.since(1L, ChatRoom.GENERAL, 5L, source));
+        assertNull(buffer.before(1L, ChatRoom.GENERAL, 20L, 50, source));
+        assertEquals(50, buffer.before(1L, ChatRoom.GENERAL, 100L, 50, source).size());
+    }
+
+    @Test
+    void disabledBufferLeavesEveryReadToTheDatabase() {
+        ChatMessageBuffer disabled = new ChatMessageBuffer(false);
+        db.put(1L, message(1));
+        disabled.append(message(1));
+
+        assertNull(disabled.since(1L, ChatRoom.GENERAL, 0L, source));
+        assertNull(disabled.before(1L, ChatRoom.GENERAL, 2L, 50, source));
+        assertEquals(List.of(1L), ids(disabled.recent(1L, ChatRoom.GENERAL, 50, source)));
+        assertEquals(List.of(1L), ids(disabled.recent(1L, ChatRoom.GENERAL, 50, source)));
+        assertEquals(2, loads.get());
+    }
+
+    private void sendHere(long id) {
+        db.put(id, message(id));
+        buffer.append(message(id));
+    }
+
+    private static ChatMessageDto.Response message(long id) {
+        return ChatMessageDto.Response.builder()
+                .messageId(id)
+                .clubId(1L)
+                .room(ChatRoom.GENERAL.name())
+                .content("message " + id)
+                .build();
+    }
+
+    private static List<Long> ids(List<ChatMessageDto.Response> messages) {
+        return messages.stream().map(ChatMessageDto.Response::getMessageId).toList();
+    }
+}
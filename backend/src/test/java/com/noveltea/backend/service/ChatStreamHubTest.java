@@ -0,0 +1,286 @@
+package com.noveltea.backend.service;
+
+import com.noveltea.backend.dto.ChatMessageDto;
+import com.noveltea.backend.model.ChatRoom;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+// Emitters are in-memory fakes: sends are recorded (or held at a gate), lifecycle callbacks captured
+class ChatStreamHubTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\d+)");
+
+    private final List<FakeEmitter> emitters = new CopyOnWriteArrayList<>();
+    // maxQueued 4, a write counts as stalled after 50 ms
+    private final ChatStreamHub hub = new ChatStreamHub(this::newEmitter, 4, 50);
+
+    @AfterEach
+    void tearDown() {
+        emitters.forEach(FakeEmitter::release);
+        hub.shutdown();
+    }
+
+    @Test
+    void publishReachesEverySubscriberOfTheRoomInOrder() {
+        FakeEmitter first = open(1L, ChatRoom.GENERAL, 10L, List.of(message(1L, 1)));
+        FakeEmitter second = open(1L, ChatRoom.GENERAL, 11L, List.of());
+        FakeEmitter otherRoom = open(1L, ChatRoom.BOOK_DISCUSSION, 12L, List.of());
+
+        hub.publish(message(1L, 2));
+        hub.publish(message(1L, 3));
+
+        await(() -> first.sent.size() == 3 && second.sent.size() == 2);
+        assertEquals(List.of(1L, 2L, 3L), first.sent);
+        assertEquals(List.of(2L, 3L), second.sent);
+        assertTrue(otherRoom.sent.isEmpty());
+    }
+
+    @Test
+    void messagesPublishedWhileTheBacklogLoadsFollowIt() {
+        FakeEmitter emitter = emitterFor(hub.open(1L, ChatRoom.GENERAL, 10L, () -> {
+            hub.publish(message(1L, 3));
+            return List.of(message(1L, 1), message(1L, 2));
+        }));
+
+        await(() -> emitter.sent.size() == 3);
+        assertEquals(List.of(1L, 2L, 3L), emitter.sent);
+    }
+
+    @Test
+    void messageCommittedAfterAHigherIdIsStillDelivered() {
+        FakeEmitter emitter = open(1L, ChatRoom.GENERAL, 10L, List.of());
+
+        // 11 committed first; 10 must not be mistaken for a duplicate
+        hub.publish(message(1L, 11));
+        hub.publish(message(1L, 10));
+
+        await(() -> emitter.sent.size() == 2);
+        assertEquals(List.of(11L, 10L), emitter.sent);
+    }
+
+    @Test
+    void liveMessageAlreadyInTheBacklogIsSentOnce() {
+        FakeEmitter emitter = emitterFor(hub.open(1L, ChatRoom.GENERAL, 10L, () -> {
+            // Committed before the backlog query, published after it started
+            hub.publish(message(1L, 2));
+            return List.of(message(1L, 1), message(1L, 2));
+        }));
+        hub.publish(message(1L, 2));
+        hub.publish(message(1L, 3));
+
+        await(() -> emitter.sent.size() == 3);
+        assertEquals(List.of(1L, 2L, 3L), emitter.sent);
+    }
+
+    @Test
+    void slowSubscriberDoesNotDelayOthers() {
+        FakeEmitter slow = open(1L, ChatRoom.GENERAL, 10L, List.of());
+        FakeEmitter fast = open(1L, ChatRoom.GENERAL, 11L, List.of());
+        slow.hold();
+
+        hub.publish(message(1L, 1));
+
+        await(() -> fast.sent.size() == 1);
+        assertTrue(slow.sent.isEmpty());
+
+        slow.release();
+        await(() -> slow.sent.size() == 1);
+    }
+
+    @Test
+    void subscriberWhoseQueueOverflowsIsDropped() {
+        FakeEmitter slow = open(1L, ChatRoom.GENERAL, 10L, List.of());
+        FakeEmitter fast = open(1L, ChatRoom.GENERAL, 11L, List.of());
+        slow.hold();
+
+        // One message is stuck in the write, four fill the queue, the sixth does not fit
+        for (long id = 1; id <= 6; id++) {
+            hub.publish(message(1L, id));
+        }
+
+        assertEquals(1, hub.subscriberCount());
+        await(() -> slow.completed);
+        await(() -> fast.sent.size() == 6);
+        assertFalse(fast.completed);
+    }
+
+    @Test
+    void heartbeatDropsSubscriberStuckInAWrite() throws InterruptedException {
+        FakeEmitter stuck = open(1L, ChatRoom.GENERAL, 10L, List.of());
+        FakeEmitter idle = open(1L, ChatRoom.GENERAL, 11L, List.of());
+        stuck.hold();
+        hub.publish(message(1L, 1));
+        await(() -> idle.sent.size() == 1);
+
+        Thread.sleep(100);
+        hub.heartbeat();
+
+        assertEquals(1, hub.subscriberCount());
+        await(() -> stuck.completed);
+        await(() -> idle.pings > 0);
+    }
+
+    @Test
+    void timedOutStreamIsUnregistered() {
+        FakeEmitter emitter = open(1L, ChatRoom.GENERAL, 10L, List.of());
+
+        emitter.timeoutCallback.run();
+
+        assertEquals(0, hub.subscriberCount());
+        await(() -> emitter.completed);
+        hub.publish(message(1L, 1));
+        assertTrue(emitter.sent.isEmpty());
+    }
+
+    @Test
+    void completedStreamIsUnregistered() {
+        FakeEmitter emitter = open(1L, ChatRoom.GENERAL, 10L, List.of());
+
+        emitter.completionCallback.run();
+
+        assertEquals(0, hub.subscriberCount());
+    }
+
+    @Test
+    void closeMemberEndsOnlyThatUsersStreamsInTheClub() {
+        FakeEmitter general = open(1L, ChatRoom.GENERAL, 10L, List.of());
+        FakeEmitter discussion = open(1L, ChatRoom.BOOK_DISCUSSION, 10L, List.of());
+        FakeEmitter otherUser = open(1L, ChatRoom.GENERAL, 11L, List.of());
+        FakeEmitter otherClub = open(2L, ChatRoom.GENERAL, 10L, List.of());
+
+        hub.closeMember(1L, 10L);
+
+        assertEquals(2, hub.subscriberCount());
+        await(() -> general.completed && discussion.completed);
+        assertFalse(otherUser.completed);
+        assertFalse(otherClub.completed);
+
+        hub.publish(message(1L, 1));
+        await(() -> otherUser.sent.size() == 1);
+        assertTrue(general.sent.isEmpty());
+    }
+
+    @Test
+    void closeClubEndsEveryStreamOfTheClub() {
+        open(1L, ChatRoom.GENERAL, 10L, List.of());
+        open(1L, ChatRoom.BOOK_DISCUSSION, 11L, List.of());
+        FakeEmitter otherClub = open(2L, ChatRoom.GENERAL, 10L, List.of());
+
+        hub.closeClub(1L);
+
+        assertEquals(1, hub.subscriberCount());
+        assertFalse(otherClub.completed);
+    }
+
+    // ── helpers ──────────────────────────────────────────────────────────────
+
+    private SseEmitter newEmitter() {
+        FakeEmitter emitter = new FakeEmitter();
+        emitters.add(emitter);
+        return emitter;
+    }
+
+    private FakeEmitter open(Long clubId, ChatRoom room, Long userId, List<ChatMessageDto.Response> backlog) {
+        return emitterFor(hub.open(clubId, room, userId, () -> backlog));
+    }
+
+    private static FakeEmitter emitterFor(SseEmitter emitter) {
+        return (FakeEmitter) emitter;
+    }
+
+    private static ChatMessageDto.Response message(Long clubId, long id) {
+        return ChatMessageDto.Response.builder()
+                .messageId(id)
+                .clubId(clubId)
+                .room(ChatRoom.GENERAL.name())
+                .content("message " + id)
+                .build();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) fail("condition not met within 5 s");
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("interrupted");
+            }
+        }
+    }
+
+    private static final class FakeEmitter extends SseEmitter {
+
+        private final List<Long> sent = new CopyOnWriteArrayList<>();
+        private volatile int pings = 0;
+        private volatile boolean completed = false;
+        private volatile CountDownLatch gate = null;
+        private Runnable timeoutCallback;
+        private Runnable completionCallback;
+
+        // Blocks every following send until release()
+        void hold() {
+            gate = new CountDownLatch(1);
+        }
+
+        void release() {
+            CountDownLatch current = gate;
+            if (current != null) current.countDown();
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            CountDownLatch current = gate;
+            if (current != null) {
+                try {
+                    current.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            String raw = builder.build().stream()
+                    .map(item -> String.valueOf(item.getData()))
+                    .collect(Collectors.joining());
+            Matcher id = EVENT_ID.matcher(raw);
+            if (id.find()) sent.add(Long.parseLong(id.group(1)));
+            else pings++;
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            completed = true;
+        }
+
+        @Override
+        public void onTimeout(Runnable callback) {
+            timeoutCallback = callback;
+        }
+
+        @Override
+        public void onCompletion(Runnable callback) {
+            completionCallback = callback;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.noveltea.backend.service;
+
+import com.noveltea.backend.config.CounterReconciliationJob;
+import com.noveltea.backend.dto.BookListDto;
+import com.noveltea.backend.dto.ListItemDto;
+import com.noveltea.backend.dto.ReviewDto;
+import com.noveltea.backend.model.Book;
+import com.noveltea.backend.model.BookClub;
+import com.noveltea.backend.model.User;
+import com.noveltea.backend.repository.BookClubRepository;
+import com.noveltea.backend.repository.BookRepository;
+import com.noveltea.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Book rating aggregates and user gamification counters, maintained by single-statement SQL
+ * updates, against the H2 test database. Each test uses its own books and users; counters are
+ * read back and drifted with plain SQL.
+ */
+@SpringBootTest
+class CounterMaintenanceTest {
+
+    private static final AtomicInteger SEQ = new AtomicInteger();
+
+    @Autowired private ReviewService reviewService;
+    @Autowired private BookListService bookListService;
+    @Autowired private ListItemService listItemService;
+    @Autowired private CounterReconciliationJob counterReconciliationJob;
+    @Autowired private BookRepository bookRepository;
+    @Autowired private BookClubRepository bookClubRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    // ----- BOOK RATINGS -----
+
+    @Test
+    void createUpdateAndDeleteKeepTheRatingAggregates() {
+        String bookId = book();
+        User first = user();
+        User second = user();
+
+        Long firstReview = review(first, bookId, "4.0");
+        assertRating(bookId, "4.0", 1, "4.0");
+
+        Long secondReview = review(second, bookId, "3.5");
+        // 7.5 / 2 = 3.75, rounded half up
+        assertRating(bookId, "7.5", 2, "3.8");
+
+        reviewService.update(first.getUserId(), firstReview,
+                ReviewDto.UpdateRequest.builder().rating(new BigDecimal("2.0")).build());
+        assertRating(bookId, "5.5", 2, "2.8");
+
+        reviewService.delete(second.getUserId(), secondReview);
+        assertRating(bookId, "2.0", 1, "2.0");
+
+        reviewService.delete(first.getUserId(), firstReview);
+        assertRating(bookId, "0.0", 0, "0.0");
+    }
+
+    @Test
+    void savingAStaleBookLeavesTheAggregatesAlone() {
+        String bookId = book();
+        review(user(), bookId, "4.0");
+        Book stale = bookRepository.findById(bookId).orElseThrow();
+
+        review(user(), bookId, "5.0");
+        stale.setTitle("Renamed " + bookId);
+        bookRepository.save(stale);
+
+        assertRating(bookId, "9.0", 2, "4.5");
+    }
+
+    // ----- USER COUNTERS -----
+
+    @Test
+    void likesAndUnlikesMoveTheAuthorsCounters() {
+        User author = user();
+        Long reviewId = review(author, book(), "4.0");
+        int points = userCounter(author, "points");
+
+        reviewService.likeReview(user().getUserId(), reviewId);
+        assertEquals(points + GamificationService.POINTS_FOR_RECEIVING_REVIEW_LIKE, userCounter(author, "points"));
+        assertEquals(1, userCounter(author, "review_likes_received"));
+    }
+
+    @Test
+    void unlikeNeverTakesCountersBelowZero() {
+        User author = user();
+        Long reviewId = review(author, book(), "4.0");
+        Long fan = user().getUserId();
+        Long otherFan = user().getUserId();
+
+        // Points spent elsewhere since the like: the unlike takes back what is left
+        reviewService.likeReview(fan, reviewId);
+        setUserCounter(author, "points", 1);
+        reviewService.unlikeReview(fan, reviewId);
+        assertEquals(0, userCounter(author, "points"));
+        assertEquals(0, userCounter(author, "review_likes_received"));
+
+        // A like counter already out of step
+        reviewService.likeReview(otherFan, reviewId);
+        setUserCounter(author, "review_likes_received", 0);
+        reviewService.unlikeReview(otherFan, reviewId);
+        assertEquals(0, userCounter(author, "review_likes_received"));
+        assertEquals(0, userCounter(author, "points"));
+    }
+
+    // ----- RECONCILIATION -----
+
+    @Test
+    void reconciliationRepairsDriftedRatings() {
+        String bookId = book();
+        review(user(), bookId, "4.0");
+        review(user(), bookId, "3.0");
+
+        jdbcTemplate.update("UPDATE books SET rating_sum = 99.0, review_count = 7, rating = 1.0 WHERE book_id = ?", bookId);
+        counterReconciliationJob.reconcile();
+        assertRating(bookId, "7.0", 2, "3.5");
+
+        // A rating out of step with otherwise correct aggregates
+        jdbcTemplate.update("UPDATE books SET rating = 0.5 WHERE book_id = ?", bookId);
+        counterReconciliationJob.reconcile();
+        assertRating(bookId, "7.0", 2, "3.5");
+    }
+
+    @Test
+    void reconciliationRepairsDriftedClubAndListCounters() {
+        BookClub club = bookClubRepository.save(BookClub.builder().name("Counter club " + SEQ.incrementAndGet()).build());
+        User owner = user();
+        Long listId = bookListService.createList(owner.getUserId(),
+                BookListDto.CreateRequest.builder().title("Counter list " + SEQ.incrementAndGet()).build()).getListId();
+        listItemService.addItem(owner.getUserId(), ListItemDto.Request.builder()
+                .listId(listId)
+                .bookId(book())
+                .title("Listed book")
+                .author("Author")
+                .build());
+
+        jdbcTemplate.update("UPDATE book_clubs SET member_count = 5 WHERE book_club_id = ?", club.getBookClubId());
+        jdbcTemplate.update("UPDATE book_lists SET item_count = 9, follower_count = 3 WHERE list_id = ?", listId);
+        counterReconciliationJob.reconcile();
+
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT member_count FROM book_clubs WHERE book_club_id = ?", Integer.class, club.getBookClubId()));
+        Map<String, Object> list = jdbcTemplate.queryForMap(
+                "SELECT item_count, follower_count FROM book_lists WHERE list_id = ?", listId);
+        assertEquals(1, ((Number) list.get("ITEM_COUNT")).intValue());
+        assertEquals(0, ((Number) list.get("FOLLOWER_COUNT")).intValue());
+    }
+
+    // ----- HELPERS -----
+
+    private void assertRating(String bookId, String ratingSum, int reviewCount, String rating) {
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT rating_sum, review_count, rating FROM books WHERE book_id = ?", bookId);
+        assertEquals(0, new BigDecimal(ratingSum).compareTo((BigDecimal) row.get("RATING_SUM")), "rating_sum " + row);
+        assertEquals(reviewCount, ((Number) row.get("REVIEW_COUNT")).intValue(), "review_count " + row);
+        assertEquals(0, new BigDecimal(rating).compareTo((BigDecimal) row.get("RATING")), "rating " + row);
+    }
+
+    private int userCounter(User user, String column) {
+        return jdbcTemplate.queryForObject(
+                "SELECT " + column + " FROM users WHERE user_id = ?", Integer.class, user.getUserId());
+    }
+
+    private void setUserCounter(User user, String column, int value) {
+        jdbcTemplate.update("UPDATE users SET " + column + " = ? WHERE user_id = ?", value, user.getUserId());
+    }
+
+    private static String book() {
+        return "OL" + SEQ.incrementAndGet() + "CNW";
+    }
+
+    private Long review(User author, String bookId, String rating) {
+        return reviewService.create(author.getUserId(), ReviewDto.CreateRequest.builder()
+                .bookId(bookId)
+                .title("Book " + bookId)
+                .author("Author")
+                .rating(new BigDecimal(rating))
+                .build()).getReviewId();
+    }
+
+    private User user() {
+        int n = SEQ.incrementAndGet();
+        return userRepository.save(User.builder()
+                .username("counter" + n)
+                .email("counter" + n + "@test.local")
+                .hashedPassword("unused")
+                .role("standard")
+                .build());
+    }
+}
@@ -0,0 +1,200 @@
+package com.noveltea.backend.service;
+
+import com.noveltea.backend.dto.BookClubDto;
+import com.noveltea.backend.dto.BookClubMemberDto;
+import com.noveltea.backend.dto.BookListDto;
+import com.noveltea.backend.dto.BookListFollowerDto;
+import com.noveltea.backend.dto.CursorPage;
+import com.noveltea.backend.dto.ListItemDto;
+import com.noveltea.backend.model.BookClub;
+import com.noveltea.backend.model.User;
+import com.noveltea.backend.repository.BookClubRepository;
+import com.noveltea.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counter maintenance and keyset discovery for clubs and lists, against the H2 test database.
+ *
+ * Other tests share the database, so feeds are checked for their ordering and for containing
+ * this test's rows, not for exact contents. Counters are read back with plain SQL.
+ */
+@SpringBootTest
+class DiscoveryTest {
+
+    private static final AtomicInteger SEQ = new AtomicInteger();
+
+    @Autowired private BookClubService bookClubService;
+    @Autowired private BookClubMemberService bookClubMemberService;
+    @Autowired private BookListService bookListService;
+    @Autowired private BookListFollowerService bookListFollowerService;
+    @Autowired private ListItemService listItemService;
+    @Autowired private BookClubRepository bookClubRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    // ----- COUNTERS -----
+
+    @Test
+    void joinAndLeaveMaintainTheMemberCount() {
+        BookClub club = club();
+        User first = user();
+        User second = user();
+
+        bookClubMemberService.joinClub(first.getUserId(), join(club));
+        bookClubMemberService.joinClub(second.getUserId(), join(club));
+        assertEquals(2, memberCount(club.getBookClubId()));
+
+        bookClubMemberService.leaveClub(first.getUserId(), club.getBookClubId());
+        assertEquals(1, memberCount(club.getBookClubId()));
+    }
+
+    @Test
+    void followsAndItemsMaintainTheListCounters() {
+        User owner = user();
+        Long listId = list(owner);
+        User follower = user();
+
+        BookListFollowerDto.Response follow = bookListFollowerService.followList(
+                follower.getUserId(), BookListFollowerDto.Request.builder().listId(listId).build());
+        ListItemDto.Response item = listItemService.addItem(owner.getUserId(), item(listId, "counter-" + SEQ.incrementAndGet()));
+        listItemService.addItem(owner.getUserId(), item(listId, "counter-" + SEQ.incrementAndGet()));
+        assertEquals(1, listCounter(listId, "follower_count"));
+        assertEquals(2, listCounter(listId, "item_count"));
+
+        bookListFollowerService.unfollowList(follower.getUserId(), follow.getListFollowerId());
+        listItemService.removeItem(owner.getUserId(), item.getListItemId());
+        assertEquals(0, listCounter(listId, "follower_count"));
+        assertEquals(1, listCounter(listId, "item_count"));
+    }
+
+    // ----- KEYSET PAGES -----
+
+    @Test
+    void clubPagesFollowMemberCountWithoutGapsOrRepeats() {
+        List<Long> seeded = new ArrayList<>();
+        for (int members = 0; members < 5; members++) {
+            BookClub club = club();
+            for (int i = 0; i < members; i++) {
+                bookClubMemberService.joinClub(user().getUserId(), join(club));
+            }
+            seeded.add(club.getBookClubId());
+        }
+        // A tie on member count is broken by ID, newest first
+        BookClub tied = club();
+        bookClubMemberService.joinClub(user().getUserId(), join(tied));
+        bookClubMemberService.joinClub(user().getUserId(), join(tied));
+
+        List<BookClubDto.Response> feed = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<BookClubDto.Response> page = bookClubService.discoverPublicClubs(BookClubDto.Sort.MOST_MEMBERS, cursor, 2);
+            assertTrue(page.getItems().size() <= 2);
+            feed.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertOrderedWithoutRepeats(feed, BookClubDto.Response::getMemberCount, BookClubDto.Response::getBookClubId);
+        List<Long> ids = feed.stream().map(BookClubDto.Response::getBookClubId).toList();
+        assertTrue(ids.indexOf(seeded.get(4)) < ids.indexOf(seeded.get(3)));
+        assertTrue(ids.indexOf(tied.getBookClubId()) < ids.indexOf(seeded.get(2)));
+        assertTrue(ids.indexOf(seeded.get(1)) < ids.indexOf(seeded.get(0)));
+    }
+
+    @Test
+    void listPagesFollowItemCountWithoutGapsOrRepeats() {
+        User owner = user();
+        List<Long> seeded = new ArrayList<>();
+        for (int items = 0; items < 4; items++) {
+            Long listId = list(owner);
+            for (int i = 0; i < items; i++) {
+                listItemService.addItem(owner.getUserId(), item(listId, "page-" + SEQ.incrementAndGet()));
+            }
+            seeded.add(listId);
+        }
+
+        List<BookListDto.Response> feed = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<BookListDto.Response> page = bookListService.discoverPublicLists(BookListDto.Sort.MOST_BOOKS, cursor, 3);
+            feed.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertOrderedWithoutRepeats(feed, BookListDto.Response::getBookCount, BookListDto.Response::getListId);
+        List<Long> ids = feed.stream().map(BookListDto.Response::getListId).toList();
+        for (int i = 1; i < seeded.size(); i++) {
+            assertTrue(ids.indexOf(seeded.get(i)) < ids.indexOf(seeded.get(i - 1)));
+        }
+    }
+
+    // ----- HELPERS -----
+
+    // Descending by (count, id), each row once
+    private static <T> void assertOrderedWithoutRepeats(List<T> feed, ToLongFunction<T> count, ToLongFunction<T> id) {
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < feed.size(); i++) {
+            assertTrue(seen.add(id.applyAsLong(feed.get(i))), "repeated row " + id.applyAsLong(feed.get(i)));
+            if (i == 0) continue;
+            long prevCount = count.applyAsLong(feed.get(i - 1));
+            long curCount = count.applyAsLong(feed.get(i));
+            assertTrue(prevCount > curCount
+                    || (prevCount == curCount && id.applyAsLong(feed.get(i - 1)) > id.applyAsLong(feed.get(i))),
+                    "out of order at " + i);
+        }
+    }
+
+    private int memberCount(Long clubId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT member_count FROM book_clubs WHERE book_club_id = ?", Integer.class, clubId);
+    }
+
+    private int listCounter(Long listId, String column) {
+        return jdbcTemplate.queryForObject(
+                "SELECT " + column + " FROM book_lists WHERE list_id = ?", Integer.class, listId);
+    }
+
+    private BookClub club() {
+        return bookClubRepository.save(BookClub.builder().name("Discovery club " + SEQ.incrementAndGet()).build());
+    }
+
+    private Long list(User owner) {
+        return bookListService.createList(owner.getUserId(),
+                BookListDto.CreateRequest.builder().title("Discovery list " + SEQ.incrementAndGet()).build()).getListId();
+    }
+
+    private static BookClubMemberDto.JoinRequest join(BookClub club) {
+        return BookClubMemberDto.JoinRequest.builder().bookClubId(club.getBookClubId()).build();
+    }
+
+    private static ListItemDto.Request item(Long listId, String bookId) {
+        return ListItemDto.Request.builder()
+                .listId(listId)
+                .bookId(bookId)
+                .title("Book " + bookId)
+                .author("Author")
+                .build();
+    }
+
+    private User user() {
+        int n = SEQ.incrementAndGet();
+        return userRepository.save(User.builder()
+                .username("discovery" + n)
+                .email("discovery" + n + "@test.local")
+                .hashedPassword("unused")
+                .role("standard")
+                .build());
+    }
+}
@@ -0,0 +1,61 @@
+package com.noveltea.backend.service;
+
+import com.noveltea.backend.model.BookClub;
+import com.noveltea.backend.model.User;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// No transaction is active, so AfterCommit runs each eviction straight away
+class EntityCacheEvictorTest {
+
+    private final Cache cache = mock(Cache.class);
+    private EntityCacheEvictor evictor;
+
+    @AfterEach
+    void tearDown() {
+        if (evictor != null) evictor.shutdown();
+    }
+
+    @Test
+    void withReplicasTheEvictionIsRepeatedAfterTheLagWindow() {
+        evictor = new EntityCacheEvictor(factory(), true, 50);
+
+        evictor.evictAfterCommit(User.class, 7L);
+
+        verify(cache, times(1)).evict(User.class, 7L);
+        verify(cache, timeout(2_000).times(2)).evict(User.class, 7L);
+    }
+
+    @Test
+    void bulkEvictionIsRepeatedToo() {
+        evictor = new EntityCacheEvictor(factory(), true, 50);
+
+        evictor.evictAllAfterCommit(BookClub.class);
+
+        verify(cache, timeout(2_000).times(2)).evict(BookClub.class);
+    }
+
+    @Test
+    void withoutReplicasOneEvictionIsEnough() {
+        evictor = new EntityCacheEvictor(factory(), false, 50);
+
+        evictor.evictAfterCommit(User.class, 7L);
+
+        verify(cache, after(200).times(1)).evict(User.class, 7L);
+    }
+
+    private EntityManagerFactory factory() {
+        EntityManagerFactory factory = mock(EntityManagerFactory.class);
+        when(factory.getCache()).thenReturn(cache);
+        return factory;
+    }
+}
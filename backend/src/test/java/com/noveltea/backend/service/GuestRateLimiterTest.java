@@ -0,0 +1,28 @@
+package com.noveltea.backend.service;
+
+import com.noveltea.backend.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GuestRateLimiterTest {
+
+    private final GuestRateLimiter limiter = new GuestRateLimiter(3);
+
+    @Test
+    void clientIsCutOffOnceItsBudgetIsSpent() {
+        for (int i = 0; i < 3; i++) {
+            limiter.check("10.0.0.1");
+        }
+        assertThrows(TooManyRequestsException.class, () -> limiter.check("10.0.0.1"));
+    }
+
+    @Test
+    void clientsHaveSeparateBudgets() {
+        for (int i = 0; i < 3; i++) {
+            limiter.check("10.0.0.1");
+        }
+        assertDoesNotThrow(() -> limiter.check("10.0.0.2"));
+    }
+}
@@ -0,0 +1,51 @@
+package com.noveltea.backend.service;
+
+import com.noveltea.backend.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTest {
+
+    @Test
+    void encodeAndDecodeRoundTrip() {
+        KeysetCursor cursor = new KeysetCursor("2025-06-01T12:00", 42L);
+        assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void valueMayContainTheSeparator() {
+        KeysetCursor cursor = new KeysetCursor("a|b", 7L);
+        assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void missingCursorMeansFirstPage() {
+        assertNull(KeysetCursor.decode(null));
+        assertNull(KeysetCursor.decode("  "));
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThrows(InvalidRequestException.class, () -> KeysetCursor.decode("not base64!"));
+        assertThrows(InvalidRequestException.class, () -> KeysetCursor.decode(encode("no-separator")));
+        assertThrows(InvalidRequestException.class, () -> KeysetCursor.decode(encode("12|not-an-id")));
+    }
+
+    @Test
+    void pageSizeDefaultsAndCaps() {
+        assertEquals(20, KeysetCursor.pageSize(null, 20, 100));
+        assertEquals(5, KeysetCursor.pageSize(5, 20, 100));
+        assertEquals(100, KeysetCursor.pageSize(500, 20, 100));
+        assertThrows(InvalidRequestException.class, () -> KeysetCursor.pageSize(0, 20, 100));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
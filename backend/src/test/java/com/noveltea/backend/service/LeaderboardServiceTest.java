@@ -0,0 +1,102 @@
+package com.noveltea.backend.service;
+
+import com.noveltea.backend.dto.UserDto;
+import com.noveltea.backend.model.User;
+import com.noveltea.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Board of K = 2 over six users with points 50, 30, 20, 20, 10, 0
+class LeaderboardServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final LeaderboardService leaderboard = new LeaderboardService(userRepository, 2);
+
+    LeaderboardServiceTest() {
+        when(userRepository.findByOrderByPointsDescUserIdAsc(any())).thenReturn(List.of(user(1L, 50), user(2L, 30)));
+        when(userRepository.countByPoints()).thenReturn(List.of(
+                row(50, 1), row(30, 1), row(20, 2), row(10, 1), row(0, 1)));
+    }
+
+    @Test
+    void usersInTheTopKAreRankedFromTheSnapshot() {
+        assertEquals(1L, leaderboard.getRank(1L).getRank());
+        assertEquals(2L, leaderboard.getRank(2L).getRank());
+        verify(userRepository, times(0)).findById(any());
+    }
+
+    @Test
+    void usersOutsideTheTopKAreRankedFromTheHistogram() {
+        stubUser(3L, 20);
+        stubUser(4L, 20);
+        stubUser(5L, 10);
+        stubUser(6L, 0);
+
+        // Ties share the competition rank
+        assertEquals(3L, leaderboard.getRank(3L).getRank());
+        assertEquals(3L, leaderboard.getRank(4L).getRank());
+        assertEquals(5L, leaderboard.getRank(5L).getRank());
+        assertEquals(6L, leaderboard.getRank(6L).getRank());
+
+        // One build serves every request
+        verify(userRepository, times(1)).countByPoints();
+    }
+
+    @Test
+    void pointsEarnedSinceTheRebuildAreRankedAgainstTheHistogram() {
+        UserDto.RankResponse between = stubbedRank(7L, 25);
+        assertEquals(25, between.getPoints());
+        assertEquals(3L, between.getRank());
+
+        assertEquals(7L, stubbedRank(8L, -1).getRank());
+        assertEquals(1L, stubbedRank(9L, 99).getRank());
+    }
+
+    @Test
+    void histogramCountsUsersStrictlyAbove() {
+        LeaderboardService.Histogram histogram = LeaderboardService.Histogram.of(List.of(row(7, 2), row(3, 4)));
+
+        assertEquals(0L, histogram.countAbove(7));
+        assertEquals(0L, histogram.countAbove(8));
+        assertEquals(2L, histogram.countAbove(5));
+        assertEquals(2L, histogram.countAbove(3));
+        assertEquals(6L, histogram.countAbove(0));
+        assertEquals(0L, LeaderboardService.Histogram.of(List.of()).countAbove(0));
+    }
+
+    // ----- HELPERS -----
+
+    private UserDto.RankResponse stubbedRank(Long userId, int points) {
+        stubUser(userId, points);
+        return leaderboard.getRank(userId);
+    }
+
+    private void stubUser(Long userId, int points) {
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user(userId, points)));
+    }
+
+    private static User user(Long userId, int points) {
+        User user = User.builder()
+                .username("user" + userId)
+                .email("user" + userId + "@example.com")
+                .hashedPassword("unused")
+                .role("standard")
+                .points(points)
+                .build();
+        user.setUserId(userId);
+        return user;
+    }
+
+    private static Object[] row(int points, long users) {
+        return new Object[]{points, users};
+    }
+}
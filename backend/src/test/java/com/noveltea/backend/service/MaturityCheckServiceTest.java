@@ -0,0 +1,129 @@
+package com.noveltea.backend.service;
+
+import com.noveltea.backend.model.MaturityRating;
+import com.noveltea.backend.repository.MaturityRatingRepository;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Google Books is replaced by a local JDK HttpServer; the persistent tier by a Mockito mock
+class MaturityCheckServiceTest {
+
+    private static final String MATURE_BODY =
+            "{\"totalItems\":1,\"items\":[{\"volumeInfo\":{\"maturityRating\":\"MATURE\"}}]}";
+
+    private HttpServer server;
+    private final AtomicInteger hits = new AtomicInteger();
+    private volatile int status = 200;
+    private volatile long delayMs = 0;
+
+    private MaturityRatingRepository repository;
+    private MaturityCheckService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/volumes", exchange -> {
+            hits.incrementAndGet();
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = MATURE_BODY.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        repository = mock(MaturityRatingRepository.class);
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/volumes";
+        service = new MaturityCheckService(repository, baseUrl, 500, 300, 100, 24, 60, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void concurrentMissesShareOneLookupAndPersistIt() throws Exception {
+        delayMs = 100;
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return service.getMaturityRating("9780000000001");
+            }));
+        }
+        start.countDown();
+        for (Future<String> result : results) {
+            assertEquals("MATURE", result.get());
+        }
+        pool.shutdown();
+
+        assertEquals(1, hits.get());
+        assertEquals("MATURE", service.getMaturityRating("9780000000001"));
+        assertEquals(1, hits.get());
+        verify(repository).save(any(MaturityRating.class));
+    }
+
+    @Test
+    void failuresFailOpenAndAreCached() {
+        status = 503;
+
+        assertEquals("NOT_MATURE", service.getMaturityRating("9780000000002"));
+        assertEquals("NOT_MATURE", service.getMaturityRating("9780000000002"));
+        assertEquals(1, hits.get());
+    }
+
+    @Test
+    void slowUpstreamIsCutOffByReadTimeout() {
+        delayMs = 3_000;
+
+        long started = System.nanoTime();
+        assertEquals("NOT_MATURE", service.getMaturityRating("9780000000003"));
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        assertTrue(elapsedMs < 2_000, "lookup took " + elapsedMs + " ms");
+    }
+
+    @Test
+    void storedRatingsAreServedWithoutCallingUpstream() {
+        when(repository.findById("9780000000004")).thenReturn(Optional.of(MaturityRating.builder()
+                .isbn("9780000000004")
+                .rating("MATURE")
+                .fetchedAt(Instant.now())
+                .build()));
+
+        assertEquals("MATURE", service.getMaturityRating("9780000000004"));
+        assertEquals(0, hits.get());
+    }
+}
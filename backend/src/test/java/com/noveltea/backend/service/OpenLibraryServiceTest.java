@@ -0,0 +1,198 @@
+package com.noveltea.backend.service;
+
+import com.noveltea.backend.dto.BookDto;
+import com.noveltea.backend.exception.ResourceNotFoundException;
+import com.noveltea.backend.exception.ServiceBusyException;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Open Library is replaced by a local JDK HttpServer; BookService by a Mockito mock
+class OpenLibraryServiceTest {
+
+    private static final String SEARCH_BODY = """
+            {"numFound":2,"docs":[
+              {"key":"/works/OL1W","title":"The Hobbit","author_name":["J.R.R. Tolkien"],"cover_i":42},
+              {"key":"/works/OL2W","title":"Untitled draft"}
+            ]}""";
+
+    private HttpServer server;
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private volatile int status = 200;
+    private volatile long delayMs = 0;
+
+    private BookService bookService;
+    private OpenLibraryService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            requests.add(exchange.getRequestURI().toString());
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = SEARCH_BODY.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        bookService = mock(BookService.class);
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        // failureThreshold 3, breaker open for 60 s
+        service = new OpenLibraryService(bookService, baseUrl, 500, 300, 100, 60, 3, 60, true, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        service.shutdown();
+    }
+
+    @Test
+    void concurrentIdenticalSearchesShareOneUpstreamCall() throws Exception {
+        delayMs = 100;
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return service.search("the hobbit", 20, null, null, true);
+            }));
+        }
+        start.countDown();
+        for (Future<String> result : results) {
+            assertEquals(SEARCH_BODY, result.get());
+        }
+        pool.shutdown();
+
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void equivalentQueriesShareOneCacheEntry() {
+        service.search("  The   Hobbit ", 20, "title,key", null, true);
+        service.search("the hobbit", 20, "key,title,key", null, true);
+
+        assertEquals(1, requests.size());
+        assertTrue(requests.get(0).startsWith("/search.json?q=the+hobbit&limit=20&fields=key%2Ctitle"), requests.get(0));
+    }
+
+    @Test
+    void searchResultsPrepopulateBooksWithTitleAndAuthor() {
+        service.search("hobbit", null, null, null, true);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BookDto.Request>> books = ArgumentCaptor.forClass(List.class);
+        verify(bookService, timeout(1_000)).ensureBooksExist(books.capture());
+        assertEquals(1, books.getValue().size());
+        assertEquals("/works/OL1W", books.getValue().get(0).getBookId());
+        assertEquals("https://covers.openlibrary.org/b/id/42-M.jpg", books.getValue().get(0).getCoverImageUrl());
+    }
+
+    @Test
+    void prepopulationRunsOffTheHttpClientThreads() {
+        AtomicReference<String> thread = new AtomicReference<>();
+        when(bookService.ensureBooksExist(anyList())).thenAnswer(invocation -> {
+            thread.set(Thread.currentThread().getName());
+            return 1;
+        });
+
+        service.search("hobbit", null, null, null, true);
+
+        verify(bookService, timeout(1_000)).ensureBooksExist(anyList());
+        assertEquals("openlibrary-prepopulate", thread.get());
+    }
+
+    @Test
+    void guestSearchesNeverPrepopulate() {
+        assertEquals(SEARCH_BODY, service.search("hobbit", null, null, null, false));
+
+        verify(bookService, after(300).never()).ensureBooksExist(anyList());
+    }
+
+    @Test
+    void breakerOpensAfterConsecutiveFailures() {
+        status = 503;
+
+        for (int i = 0; i < 3; i++) {
+            String query = "query " + i;
+            assertThrows(ServiceBusyException.class, () -> service.search(query, 20, null, null, true));
+        }
+        assertTrue(service.isCircuitOpen());
+
+        // Open: misses fail fast without reaching the upstream
+        assertThrows(ServiceBusyException.class, () -> service.search("another", 20, null, null, true));
+        assertEquals(3, requests.size());
+        verify(bookService, never()).ensureBooksExist(anyList());
+    }
+
+    @Test
+    void cachedResponsesAreStillServedWhileTheBreakerIsOpen() {
+        assertEquals(SEARCH_BODY, service.search("hobbit", 20, null, null, true));
+
+        status = 503;
+        for (int i = 0; i < 3; i++) {
+            String query = "query " + i;
+            assertThrows(ServiceBusyException.class, () -> service.search(query, 20, null, null, true));
+        }
+
+        assertEquals(SEARCH_BODY, service.search("hobbit", 20, null, null, true));
+        assertEquals(4, requests.size());
+    }
+
+    @Test
+    void upstreamNotFoundIsPassedThroughWithoutTrippingTheBreaker() {
+        status = 404;
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(ResourceNotFoundException.class, () -> service.author("OL1A"));
+        }
+        assertFalse(service.isCircuitOpen());
+    }
+
+    @Test
+    void slowUpstreamIsCutOffByReadTimeout() {
+        delayMs = 3_000;
+
+        long started = System.nanoTime();
+        assertThrows(ServiceBusyException.class, () -> service.subject("fantasy", 5, null));
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        assertTrue(elapsedMs < 2_000, "lookup took " + elapsedMs + " ms");
+    }
+}
@@ -0,0 +1,90 @@
+package com.noveltea.backend.service;
+
+import com.noveltea.backend.exception.GlobalExceptionHandler;
+import com.noveltea.backend.exception.ServiceBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// One hashing thread and a queue of one; the encoder blocks until the test releases it
+class PasswordHasherTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch hashing = new CountDownLatch(1);
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    private PasswordHasher hasher;
+
+    PasswordHasherTest() {
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> {
+            hashing.countDown();
+            release.await();
+            return "hashed";
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        hasher.shutdown();
+    }
+
+    @Test
+    void fullPoolAndQueueRejectWithServiceBusy() throws Exception {
+        hasher = new PasswordHasher(passwordEncoder, 1, 1, 5_000);
+        Future<String> running = callers.submit(() -> hasher.encode("first"));
+        assertTrue(hashing.await(1, TimeUnit.SECONDS));
+        Future<String> queued = callers.submit(() -> hasher.encode("second"));
+        waitForQueueDepth(1);
+
+        ServiceBusyException busy = assertThrows(ServiceBusyException.class, () -> hasher.encode("third"));
+        assertEquals(PasswordHasher.BUSY_MESSAGE, busy.getMessage());
+        assertEquals(1, hasher.rejectedCount());
+
+        ResponseEntity<Map<String, Object>> response = new GlobalExceptionHandler().handleServiceBusy(busy);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst("Retry-After"));
+
+        // The admitted callers still complete
+        release.countDown();
+        assertEquals("hashed", running.get(1, TimeUnit.SECONDS));
+        assertEquals("hashed", queued.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void waitingPastTheTimeoutRejectsWithServiceBusy() throws Exception {
+        hasher = new PasswordHasher(passwordEncoder, 1, 1, 100);
+
+        ServiceBusyException busy = assertThrows(ServiceBusyException.class, () -> hasher.encode("slow"));
+        assertEquals(PasswordHasher.BUSY_MESSAGE, busy.getMessage());
+        assertEquals(1, hasher.rejectedCount());
+    }
+
+    // ----- HELPERS -----
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 1_000;
+        while (hasher.queueDepth() < depth && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(depth, hasher.queueDepth());
+    }
+}
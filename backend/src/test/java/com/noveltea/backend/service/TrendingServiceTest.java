@@ -0,0 +1,150 @@
+package com.noveltea.backend.service;
+
+import com.noveltea.backend.dto.BookDto;
+import com.noveltea.backend.model.TrendingCheckpoint;
+import com.noveltea.backend.repository.TrendingCheckpointRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Half-life of 24 h; events are added at explicit times relative to the service's starting landmark
+class TrendingServiceTest {
+
+    private static final long HALF_LIFE_MS = TimeUnit.HOURS.toMillis(24);
+    private static final double TAU_MS = HALF_LIFE_MS / Math.log(2);
+    private static final double EPSILON = 1e-9;
+
+    private final BookService bookService = mock(BookService.class);
+    private final TrendingCheckpointRepository checkpointRepository = mock(TrendingCheckpointRepository.class);
+    private final TrendingService trending = new TrendingService(bookService, checkpointRepository, 10, 24);
+    private final long t0 = trending.landmarkMs();
+
+    @Test
+    void scoresHalveEveryHalfLife() {
+        trending.add("a", 8.0, t0);
+
+        assertEquals(8.0, trending.score("a", t0), EPSILON);
+        assertEquals(4.0, trending.score("a", t0 + HALF_LIFE_MS), EPSILON);
+        assertEquals(2.0, trending.score("a", t0 + 2 * HALF_LIFE_MS), EPSILON);
+    }
+
+    @Test
+    void laterEventsOutrankOlderHeavierOnes() {
+        when(bookService.getBooksInOrder(anyList())).thenAnswer(invocation -> {
+            List<String> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> BookDto.Response.builder().bookId(id).build()).toList();
+        });
+        trending.add("old", 3.0, t0);
+        // Two half-lives later the old event is worth 0.75
+        trending.add("new", 1.0, t0 + 2 * HALF_LIFE_MS);
+
+        trending.refresh();
+
+        assertEquals(List.of("new", "old"), trending.getTrending(null).stream().map(BookDto.Response::getBookId).toList());
+    }
+
+    @Test
+    void retractionTakesTheWeightBackWithoutCreatingScores() {
+        trending.add("a", 1.0, t0);
+        trending.add("a", -1.0, t0);
+        trending.add("b", -1.0, t0);
+
+        assertEquals(0, trending.trackedBooks());
+    }
+
+    @Test
+    void likeAndUnlikeLoopsAddNothing() {
+        trending.add("a", 3.0, t0);
+        for (int i = 1; i <= 100; i++) {
+            trending.add("a", 1.0, t0 + i * 1_000L);
+            trending.add("a", -1.0, t0 + i * 1_000L);
+        }
+
+        assertEquals(3.0, trending.score("a", t0), EPSILON);
+    }
+
+    @Test
+    void landmarkMovesForwardWithoutChangingScores() {
+        long late = t0 + (long) ((TrendingService.MAX_EXPONENT + 1) * TAU_MS);
+        trending.add("a", 2.0, late);
+        double before = trending.score("a", late);
+
+        trending.prune(late);
+
+        assertEquals(late, trending.landmarkMs());
+        assertEquals(before, trending.score("a", late), 1e-6);
+        trending.add("a", 1.0, late);
+        assertEquals(3.0, trending.score("a", late), 1e-6);
+        assertEquals(1.5, trending.score("a", late + HALF_LIFE_MS), 1e-6);
+    }
+
+    @Test
+    void pruneDropsDecayedBooks() {
+        trending.add("faded", 1.0, t0);
+        trending.add("recent", 1.0, t0 + 4 * HALF_LIFE_MS);
+
+        // faded is at 1/32, below MIN_SCORE; recent is at 1/2
+        trending.prune(t0 + 5 * HALF_LIFE_MS);
+
+        assertEquals(0.0, trending.score("faded", t0 + 5 * HALF_LIFE_MS));
+        assertEquals(0.5, trending.score("recent", t0 + 5 * HALF_LIFE_MS), EPSILON);
+        assertEquals(1, trending.trackedBooks());
+    }
+
+    @Test
+    void pruneKeepsOnlyTheStrongestBooks() {
+        int surplus = 10;
+        for (int i = 0; i < TrendingService.MAX_TRACKED + surplus; i++) {
+            trending.add("book-" + i, 1.0 + i, t0);
+        }
+
+        trending.prune(t0);
+
+        assertEquals(TrendingService.MAX_TRACKED, trending.trackedBooks());
+        assertEquals(0.0, trending.score("book-" + (surplus - 1), t0));
+        assertEquals(1.0 + surplus, trending.score("book-" + surplus, t0), EPSILON);
+    }
+
+    @Test
+    void restoreDecaysByTheTimeSinceTheCheckpoint() {
+        long now = t0 + 3 * HALF_LIFE_MS;
+        TrendingCheckpoint checkpoint = TrendingCheckpoint.builder()
+                .id(1L)
+                .takenAt(Instant.ofEpochMilli(now - HALF_LIFE_MS))
+                .payload("a\t8.0\nfaded\t0.06\nnot a line\n")
+                .build();
+
+        trending.restore(checkpoint, now);
+
+        assertEquals(4.0, trending.score("a", now), EPSILON);
+        // 0.03 after a half-life, below MIN_SCORE
+        assertEquals(1, trending.trackedBooks());
+    }
+
+    @Test
+    void checkpointRoundTrips() {
+        trending.add("a", 2.0, System.currentTimeMillis());
+        trending.checkpoint();
+
+        ArgumentCaptor<TrendingCheckpoint> saved = ArgumentCaptor.forClass(TrendingCheckpoint.class);
+        verify(checkpointRepository).save(saved.capture());
+        TrendingCheckpoint checkpoint = saved.getValue();
+
+        TrendingService restarted = new TrendingService(bookService, checkpointRepository, 10, 24);
+        long takenAt = checkpoint.getTakenAt().toEpochMilli();
+        restarted.restore(checkpoint, takenAt);
+
+        double score = restarted.score("a", takenAt);
+        assertTrue(score > 1.99 && score <= 2.0 + EPSILON, "restored score " + score);
+    }
+}
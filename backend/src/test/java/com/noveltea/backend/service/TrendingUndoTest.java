@@ -0,0 +1,190 @@
+package com.noveltea.backend.service;
+
+import com.noveltea.backend.dto.BookClubDto;
+import com.noveltea.backend.dto.BookClubItemDto;
+import com.noveltea.backend.dto.BookListDto;
+import com.noveltea.backend.dto.ListItemDto;
+import com.noveltea.backend.dto.ReviewDto;
+import com.noveltea.backend.model.User;
+import com.noveltea.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Every action that counts towards trending is taken back by its undo, so repeating the pair
+ * cannot push a book up. Each test uses its own book, so scores are not shared between tests.
+ */
+@SpringBootTest
+class TrendingUndoTest {
+
+    private static final AtomicInteger SEQ = new AtomicInteger();
+    private static final double EPSILON = 1e-3;
+
+    @Autowired private TrendingService trendingService;
+    @Autowired private ReviewService reviewService;
+    @Autowired private ListItemService listItemService;
+    @Autowired private BookListService bookListService;
+    @Autowired private BookClubService bookClubService;
+    @Autowired private BookClubItemService bookClubItemService;
+    @Autowired private UserRepository userRepository;
+
+    @Test
+    void deletingAReviewTakesBackItAndItsLikes() {
+        String bookId = book();
+        User author = user();
+        Long reviewId = review(author, bookId);
+        reviewService.likeReview(user().getUserId(), reviewId);
+        reviewService.likeReview(user().getUserId(), reviewId);
+        assertEquals(5.0, score(bookId), EPSILON);
+
+        reviewService.delete(author.getUserId(), reviewId);
+
+        assertEquals(0.0, score(bookId));
+    }
+
+    @Test
+    void likeAndUnlikeLoopsAddNothing() {
+        String bookId = book();
+        Long reviewId = review(user(), bookId);
+        Long fan = user().getUserId();
+        for (int i = 0; i < 5; i++) {
+            reviewService.likeReview(fan, reviewId);
+            reviewService.unlikeReview(fan, reviewId);
+        }
+
+        assertEquals(3.0, score(bookId), EPSILON);
+    }
+
+    @Test
+    void privateReviewStopsCounting() {
+        String bookId = book();
+        User author = user();
+        Long reviewId = review(author, bookId);
+
+        reviewService.update(author.getUserId(), reviewId, ReviewDto.UpdateRequest.builder().visibility(false).build());
+        assertEquals(0.0, score(bookId));
+
+        reviewService.update(author.getUserId(), reviewId, ReviewDto.UpdateRequest.builder().visibility(true).build());
+        assertEquals(3.0, score(bookId), EPSILON);
+    }
+
+    @Test
+    void removingAListItemTakesTheAddBack() {
+        String bookId = book();
+        User owner = user();
+        Long listId = list(owner);
+        ListItemDto.Response item = listItemService.addItem(owner.getUserId(), listItem(listId, bookId));
+        assertEquals(2.0, score(bookId), EPSILON);
+
+        listItemService.removeItem(owner.getUserId(), item.getListItemId());
+
+        assertEquals(0.0, score(bookId));
+    }
+
+    @Test
+    void deletingOrHidingAListTakesItsAddsBack() {
+        String bookId = book();
+        User owner = user();
+        Long listId = list(owner);
+        listItemService.addItem(owner.getUserId(), listItem(listId, bookId));
+
+        bookListService.updateList(owner.getUserId(), listId, BookListDto.UpdateRequest.builder().visibility(false).build());
+        assertEquals(0.0, score(bookId));
+        bookListService.updateList(owner.getUserId(), listId, BookListDto.UpdateRequest.builder().visibility(true).build());
+        assertEquals(2.0, score(bookId), EPSILON);
+
+        bookListService.deleteList(owner.getUserId(), listId);
+        assertEquals(0.0, score(bookId));
+    }
+
+    @Test
+    void removingAClubBookTakesTheAddBack() {
+        String bookId = book();
+        User owner = user();
+        Long clubId = club(owner);
+        BookClubItemDto.Response item = bookClubItemService.addBook(owner.getUserId(), clubItem(clubId, bookId));
+        assertEquals(5.0, score(bookId), EPSILON);
+
+        bookClubItemService.removeBook(owner.getUserId(), item.getClubItemId());
+
+        assertEquals(0.0, score(bookId));
+    }
+
+    @Test
+    void deletingAClubTakesItsShelfBack() {
+        String bookId = book();
+        User owner = user();
+        Long clubId = club(owner);
+        bookClubItemService.addBook(owner.getUserId(), clubItem(clubId, bookId));
+
+        bookClubService.deleteClub(owner.getUserId(), clubId);
+
+        assertEquals(0.0, score(bookId));
+    }
+
+    // ----- HELPERS -----
+
+    private double score(String bookId) {
+        double score = trendingService.score(bookId, System.currentTimeMillis());
+        assertTrue(score >= 0.0);
+        return score;
+    }
+
+    private static String book() {
+        return "OL" + SEQ.incrementAndGet() + "TRW";
+    }
+
+    private Long review(User author, String bookId) {
+        return reviewService.create(author.getUserId(), ReviewDto.CreateRequest.builder()
+                .bookId(bookId)
+                .title("Book " + bookId)
+                .author("Author")
+                .rating(new BigDecimal("4.0"))
+                .build()).getReviewId();
+    }
+
+    private Long list(User owner) {
+        return bookListService.createList(owner.getUserId(),
+                BookListDto.CreateRequest.builder().title("Trending list " + SEQ.incrementAndGet()).build()).getListId();
+    }
+
+    private static ListItemDto.Request listItem(Long listId, String bookId) {
+        return ListItemDto.Request.builder()
+                .listId(listId)
+                .bookId(bookId)
+                .title("Book " + bookId)
+                .author("Author")
+                .build();
+    }
+
+    private Long club(User owner) {
+        return bookClubService.createClub(owner.getUserId(),
+                BookClubDto.CreateRequest.builder().name("Trending club " + SEQ.incrementAndGet()).build()).getBookClubId();
+    }
+
+    private static BookClubItemDto.AddRequest clubItem(Long clubId, String bookId) {
+        return BookClubItemDto.AddRequest.builder()
+                .bookClubId(clubId)
+                .bookId(bookId)
+                .title("Book " + bookId)
+                .author("Author")
+                .build();
+    }
+
+    private User user() {
+        int n = SEQ.incrementAndGet();
+        return userRepository.save(User.builder()
+                .username("trending" + n)
+                .email("trending" + n + "@test.local")
+                .hashedPassword("unused")
+                .role("standard")
+                .build());
+    }
+}
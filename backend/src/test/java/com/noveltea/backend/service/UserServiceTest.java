@@ -0,0 +1,88 @@
+package com.noveltea.backend.service;
+
+import com.noveltea.backend.dto.UserDto;
+import com.noveltea.backend.model.BookClub;
+import com.noveltea.backend.model.User;
+import com.noveltea.backend.repository.BookClubRepository;
+import com.noveltea.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Runs against the H2 test database; the club owner column is read back with plain SQL, past any cache
+@SpringBootTest
+class UserServiceTest {
+
+    private static final AtomicInteger SEQ = new AtomicInteger();
+
+    @Autowired private UserService userService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private BookClubRepository bookClubRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void renamingAUserRenamesTheirClubs() {
+        User owner = user();
+        BookClub club = bookClubRepository.save(BookClub.builder()
+                .name("Rename club " + SEQ.incrementAndGet())
+                .ownerUsername(owner.getUsername())
+                .build());
+        String newUsername = "renamed" + SEQ.incrementAndGet();
+
+        userService.updateMyProfile(owner.getUserId(), UserDto.UpdateRequest.builder().username(newUsername).build());
+
+        assertEquals(newUsername, ownerColumn(club));
+        assertEquals(newUsername, bookClubRepository.findById(club.getBookClubId()).orElseThrow().getOwnerUsername());
+    }
+
+    @Test
+    void adminUpdateRenamesTheClubsToo() {
+        User admin = user();
+        admin.setRole("admin");
+        userRepository.save(admin);
+        User owner = user();
+        BookClub club = bookClubRepository.save(BookClub.builder()
+                .name("Rename club " + SEQ.incrementAndGet())
+                .ownerUsername(owner.getUsername())
+                .build());
+        String newUsername = "renamed" + SEQ.incrementAndGet();
+
+        userService.updateUser(admin.getUserId(), owner.getUserId(),
+                UserDto.UpdateRequest.builder().username(newUsername).build());
+
+        assertEquals(newUsername, ownerColumn(club));
+    }
+
+    @Test
+    void profileUpdateWithoutRenameLeavesClubsAlone() {
+        User owner = user();
+        BookClub club = bookClubRepository.save(BookClub.builder()
+                .name("Rename club " + SEQ.incrementAndGet())
+                .ownerUsername(owner.getUsername())
+                .build());
+
+        userService.updateMyProfile(owner.getUserId(), UserDto.UpdateRequest.builder().bio("new bio").build());
+
+        assertEquals(owner.getUsername(), ownerColumn(club));
+    }
+
+    private String ownerColumn(BookClub club) {
+        return jdbcTemplate.queryForObject(
+                "SELECT owner_username FROM book_clubs WHERE book_club_id = ?", String.class, club.getBookClubId());
+    }
+
+    private User user() {
+        int n = SEQ.incrementAndGet();
+        return userRepository.save(User.builder()
+                .username("owner" + n)
+                .email("owner" + n + "@test.local")
+                .hashedPassword("unused")
+                .role("standard")
+                .build());
+    }
+}
@@ -0,0 +1,181 @@
+package com.noveltea.backend.service;
+
+import com.noveltea.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// No transaction is active, so onSaved/onDeleted stage their change straight away; each index is
+// loaded from a mocked repository holding the given public usernames
+class UsernameIndexTest {
+
+    private static final int LIMIT = 1_000;
+
+    private final List<UsernameIndex> indexes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        indexes.forEach(UsernameIndex::shutdown);
+    }
+
+    @Test
+    void prefixMatchesComeFirstThenSubstringMatches() {
+        UsernameIndex index = loaded(Map.of(1L, "Alice", 2L, "malice", 3L, "bob", 4L, "alicia"));
+
+        assertEquals(List.of(1L, 4L, 2L), index.search("ali", LIMIT));
+        assertEquals(List.of(2L), index.search("mal", LIMIT));
+        assertEquals(Set.of(1L, 2L, 4L), Set.copyOf(index.search("lic", LIMIT)));
+        assertEquals(List.of(), index.search("zed", LIMIT));
+    }
+
+    @Test
+    void pendingChangesAreMergedWithTheSnapshot() {
+        UsernameIndex index = loaded(Map.of(1L, "anna", 2L, "annabel", 3L, "joanna"));
+
+        index.onSaved(4L, "annab", false);
+        assertEquals(List.of(1L, 4L, 2L, 3L), index.search("anna", LIMIT));
+
+        // A rename hides the old name straight away
+        index.onSaved(2L, "zed", false);
+        assertEquals(List.of(1L, 4L, 3L), index.search("anna", LIMIT));
+        assertEquals(List.of(2L), index.search("ze", LIMIT));
+
+        index.compact();
+        assertEquals(List.of(1L, 4L, 3L), index.search("anna", LIMIT));
+        assertEquals(List.of(2L), index.search("ze", LIMIT));
+    }
+
+    @Test
+    void privateAndDeletedUsersDropOut() {
+        UsernameIndex index = loaded(Map.of(1L, "reader", 2L, "proofreader", 3L, "readerfan"));
+
+        index.onSaved(1L, "reader", true);
+        index.onDeleted(2L);
+        assertEquals(List.of(3L), index.search("reader", LIMIT));
+
+        index.compact();
+        assertEquals(List.of(3L), index.search("reader", LIMIT));
+        assertEquals(1, index.size());
+
+        // Back to public
+        index.onSaved(1L, "reader", false);
+        assertEquals(List.of(1L, 3L), index.search("reader", LIMIT));
+    }
+
+    @Test
+    void limitIsApplied() {
+        UsernameIndex index = loaded(Map.of(1L, "sam", 2L, "samantha", 3L, "samuel", 4L, "isam"));
+
+        assertEquals(List.of(1L, 2L), index.search("sam", 2));
+    }
+
+    @Test
+    void incrementalCompactionMatchesAFullReload() {
+        Random random = new Random(42);
+        Map<Long, String> model = new TreeMap<>();
+        for (long id = 1; id <= 120; id++) model.put(id, randomName(random));
+        UsernameIndex index = loaded(model);
+
+        for (int round = 0; round < 20; round++) {
+            for (int change = 0; change < 40; change++) {
+                long id = 1 + random.nextInt(150);
+                int kind = random.nextInt(4);
+                if (kind == 0) {
+                    index.onDeleted(id);
+                    model.remove(id);
+                } else if (kind == 1) {
+                    index.onSaved(id, randomName(random), true);
+                    model.remove(id);
+                } else {
+                    String name = randomName(random);
+                    index.onSaved(id, name, false);
+                    model.put(id, name);
+                }
+            }
+            index.compact();
+
+            UsernameIndex fresh = loaded(model);
+            for (String query : List.of("a", "ab", "ba", "cab", "aa", "c", "bca")) {
+                assertEquals(fresh.search(query, LIMIT), index.search(query, LIMIT), "query " + query);
+                assertMatchesContaining(model, query, index.search(query, LIMIT));
+            }
+        }
+    }
+
+    @Test
+    void manyChangesAreCompactedOffTheCallingThread() throws InterruptedException {
+        UsernameIndex index = loaded(Map.of());
+
+        for (long id = 1; id <= 300; id++) {
+            index.onSaved(id, "user" + id, false);
+        }
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (index.size() < 257) {
+            if (System.currentTimeMillis() > deadline) fail("background compaction did not run");
+            Thread.sleep(5);
+        }
+        assertEquals(300, index.search("user", LIMIT).size());
+    }
+
+    // ----- HELPERS -----
+
+    private UsernameIndex loaded(Map<Long, String> names) {
+        Map<Long, String> rows = new TreeMap<>(names);
+
+        UserRepository repository = mock(UserRepository.class);
+        when(repository.findPublicUsernamesAfter(anyLong(), any())).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            List<Object[]> page = new ArrayList<>();
+            rows.forEach((id, name) -> {
+                if (id > after) page.add(new Object[]{id, name});
+            });
+            return page;
+        });
+
+        UsernameIndex index = new UsernameIndex(repository, LIMIT);
+        indexes.add(index);
+        index.warmUp();
+        return index;
+    }
+
+    // Everything containing the query, with the prefix matches first and in name order
+    private static void assertMatchesContaining(Map<Long, String> model, String query, List<Long> found) {
+        Set<Long> expected = new HashSet<>();
+        int prefixCount = 0;
+        for (Map.Entry<Long, String> e : model.entrySet()) {
+            if (e.getValue().contains(query)) expected.add(e.getKey());
+            if (e.getValue().startsWith(query)) prefixCount++;
+        }
+        assertEquals(expected, Set.copyOf(found), "query " + query);
+        assertEquals(expected.size(), found.size(), "duplicates for query " + query);
+
+        for (int i = 0; i < prefixCount; i++) {
+            String name = model.get(found.get(i));
+            assertTrue(name.startsWith(query), "prefix match expected at " + i + " for " + query);
+            if (i > 0) assertTrue(model.get(found.get(i - 1)).compareTo(name) <= 0, "prefix order for " + query);
+        }
+    }
+
+    private static String randomName(Random random) {
+        StringBuilder name = new StringBuilder();
+        int length = 2 + random.nextInt(5);
+        for (int i = 0; i < length; i++) name.append((char) ('a' + random.nextInt(3)));
+        return name.toString();
+    }
+}
@@ -0,0 +1,39 @@
+package com.noveltea.backend.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records every SQL statement Hibernate prepares on the current thread while a recording is open.
+ *
+ * Registered for the whole test context through hibernate.session_factory.statement_inspector.
+ * Recording is per thread, so statements from scheduled jobs or other tests never leak into a
+ * count; MockMvc runs the request on the calling thread, so start/stop around perform() sees
+ * exactly the statements that request issued.
+ */
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> RECORDING = new ThreadLocal<>();
+
+    public static void start() {
+        RECORDING.set(new ArrayList<>());
+    }
+
+    // Ends the recording and returns the statements in the order they were issued
+    public static List<String> stop() {
+        List<String> statements = RECORDING.get();
+        RECORDING.remove();
+        return statements == null ? List.of() : statements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = RECORDING.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+}
@@ -31,6 +31,12 @@ export interface UserProfile {
   lastActiveDate?: string | null;
 }
 
+export interface LeaderboardRank {
+  userId: number;
+  points: number;
+  rank: number;
+}
+
 // Mirrors UserDto.PublicResponse (other users — no email)
 export interface PublicUserProfile {
   userId: number;
@@ -103,6 +109,7 @@ export interface BookList {
   visibility: boolean;
   creationDate: string; // "YYYY-MM-DD"
   bookCount: number;
+  followerCount: number;
 }
 
 // Mirrors ListItemDto.Response
@@ -217,8 +224,13 @@ export const usersApi = {
   search: (query: string, token: string) =>
     request<PublicUserProfile[]>(`/users/search?username=${encodeURIComponent(query)}`, { token }),
 
-  getLeaderboard: (token: string) =>
-    request<PublicUserProfile[]>('/users/leaderboard', { token }),
+  // Top of the leaderboard; size limits how many entries come back (default: the whole top K)
+  getLeaderboard: (token: string, size?: number) =>
+    request<PublicUserProfile[]>(`/users/leaderboard${size ? `?size=${size}` : ''}`, { token }),
+
+  // Caller's own rank, available even when they are outside the top K
+  getMyRank: (token: string) =>
+    request<LeaderboardRank>('/users/leaderboard/me', { token }),
 };
 
 // ---------------------------------------------------------------------------
@@ -279,6 +291,13 @@ export interface BookClubResponse {
   creationDate: string; // "YYYY-MM-DD"
   memberCount: number;
   ownerUsername: string | null;
+  lastActivityAt: string; // ISO local date-time of the latest chat activity
+}
+
+// Mirrors CursorPage — pass nextCursor back as ?cursor= for the next page (null on the last page)
+export interface CursorPage<T> {
+  items: T[];
+  nextCursor: string | null;
 }
 
 export interface BookClubMemberResponse {
@@ -319,8 +338,12 @@ export interface ClubJoinRequestResponse {
 }
 
 export const clubsApi = {
-  getPublicClubs: (token: string) =>
-    request<BookClubResponse[]>('/clubs', { token }),
+  // One page of the ranked discovery feed (most members first); pass the previous page's nextCursor
+  getPublicClubs: (token: string, cursor?: string | null) =>
+    request<CursorPage<BookClubResponse>>(
+      `/clubs/discover?sort=MOST_MEMBERS${cursor ? `&cursor=${encodeURIComponent(cursor)}` : ''}`,
+      { token },
+    ),
 
   searchPublicClubs: (name: string, token: string) =>
     request<BookClubResponse[]>(`/clubs/search?name=${encodeURIComponent(name)}`, { token }),
@@ -532,9 +555,16 @@ export const reviewsApi = {
   getMyCount: (token: string) =>
     request<number>('/reviews/me/count', { token }),
 
-  // Returns reviews by a user — public only for others, all for own profile
-  getUserReviews: (userId: number, token: string) =>
-    request<ReviewResponse[]>(`/reviews/user/${userId}`, { token }),
+  // One page of a user's reviews, newest first — public only for others, all for own profile
+  getUserReviews: (userId: number, token: string, cursor?: string | null) =>
+    request<CursorPage<ReviewResponse>>(
+      `/reviews/user/${userId}/page${cursor ? `?cursor=${encodeURIComponent(cursor)}` : ''}`,
+      { token }
+    ),
+
+  // Number of a user's reviews, with the same visibility rules as getUserReviews
+  getUserReviewCount: (userId: number, token: string) =>
+    request<number>(`/reviews/user/${userId}/count`, { token }),
 };
 
 // ---------------------------------------------------------------------------
@@ -575,4 +605,48 @@ export const chatApi = {
       token,
       body: JSON.stringify({ room, content }),
     }),
-};
\ No newline at end of file
+};
+// ─── Books ────────────────────────────────────────────────────────────────────
+
+// Mirrors BookDto.Response
+export interface BookResponse {
+  bookId: string;        // OpenLibrary key e.g. "/works/OL1234W"
+  title: string;
+  author: string | null;
+  rating: number | null;
+  description: string | null;
+  coverImageUrl: string | null;
+}
+
+export const booksApi = {
+  // Ranked by recent in-app reviews, likes, list and club adds
+  // Public; guests see trending too
+  getTrending: (token?: string | null, limit = 20) =>
+    request<BookResponse[]>(`/books/trending?limit=${limit}`, { token: token ?? undefined }),
+};
+
+// ─── Open Library (through the backend proxy) ────────────────────────────────
+// Same JSON as openlibrary.org, served from the backend's shared cache. Guests may call it without a
+// token (rate limited per client by the backend).
+
+export const openLibraryApi = {
+  search: (q: string, token?: string | null, opts: { limit?: number; fields?: string; sort?: string } = {}) =>
+    request<any>(
+      `/openlibrary/search?q=${encodeURIComponent(q)}` +
+        (opts.limit ? `&limit=${opts.limit}` : '') +
+        (opts.fields ? `&fields=${encodeURIComponent(opts.fields)}` : '') +
+        (opts.sort ? `&sort=${encodeURIComponent(opts.sort)}` : ''),
+      { token: token ?? undefined }
+    ),
+
+  // authorKey without the "/authors/" prefix, e.g. "OL23919A"
+  getAuthor: (authorKey: string, token?: string | null) =>
+    request<any>(`/openlibrary/authors/${encodeURIComponent(authorKey)}`, { token: token ?? undefined }),
+
+  getSubject: (subject: string, token?: string | null, opts: { limit?: number; sort?: string } = {}) =>
+    request<any>(
+      `/openlibrary/subjects/${encodeURIComponent(subject)}?limit=${opts.limit ?? 20}` +
+        (opts.sort ? `&sort=${encodeURIComponent(opts.sort)}` : ''),
+      { token: token ?? undefined }
+    ),
+};
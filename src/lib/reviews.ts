@@ -1,3 +1,5 @@
+import type { CursorPage } from "@/src/api/client";
+
 const API_URL = process.env.EXPO_PUBLIC_API_URL || "http://10.0.2.2:8080";
 
 export type ReviewResponse = {
@@ -16,17 +18,38 @@ export type ReviewResponse = {
   creationDate: string; // LocalDate serialized
 };
 
-export async function getReviewsByBook(bookId: string, token?: string): Promise<ReviewResponse[]> {
-  const res = await fetch(`${API_URL}/reviews/book/${bookId}`, {
+// One page of a book's reviews, newest first; pass nextCursor back for the next page
+export async function getReviewPageByBook(
+  bookId: string,
+  token?: string,
+  cursor?: string | null
+): Promise<CursorPage<ReviewResponse>> {
+  const query = cursor ? `?cursor=${encodeURIComponent(cursor)}` : "";
+  const res = await fetch(`${API_URL}/reviews/book/${bookId}/page${query}`, {
     method: "GET",
     headers: token ? { Authorization: `Bearer ${token}` } : undefined,
   });
 
-  const data = await res.json().catch(() => []);
+  const data = await res.json().catch(() => null);
   if (!res.ok) {
     throw new Error(data?.message || "Failed to load reviews");
   }
-  return Array.isArray(data) ? data : [];
+  return { items: Array.isArray(data?.items) ? data.items : [], nextCursor: data?.nextCursor ?? null };
+}
+
+// The signed-in user's own review of a book, or null if they have not reviewed it
+export async function getMyReviewForBook(bookId: string, token: string): Promise<ReviewResponse | null> {
+  const res = await fetch(`${API_URL}/reviews/book/${bookId}/me`, {
+    method: "GET",
+    headers: { Authorization: `Bearer ${token}` },
+  });
+
+  if (res.status === 204) return null;
+  const data = await res.json().catch(() => null);
+  if (!res.ok) {
+    throw new Error(data?.message || "Failed to load your review");
+  }
+  return data;
 }
 
 export type CreateReviewPayload = {